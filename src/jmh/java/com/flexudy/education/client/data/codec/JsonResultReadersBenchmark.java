@@ -0,0 +1,60 @@
+package com.flexudy.education.client.data.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flexudy.education.client.data.quiz.ClozeQuestion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state cost of parsing a quiz result with the low-footprint streaming reader and with {@code ObjectMapper}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonResultReadersBenchmark {
+
+    private static final TypeReference<List<ClozeQuestion>> CLOZE_QUESTIONS = new TypeReference<List<ClozeQuestion>>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] response;
+
+    @Setup
+    public void setUp() {
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 20; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"questionAnswer\":\"Question ").append(i)
+                .append(" asks for the capital of France, which is @_Paris_@.\"}");
+        }
+        response = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<ClozeQuestion> streamingReader() throws IOException {
+        return JsonResultReaders.CLOZE_QUESTIONS.read(new ByteArrayInputStream(response));
+    }
+
+    @Benchmark
+    public List<ClozeQuestion> objectMapper() throws IOException {
+        return objectMapper.readValue(new ByteArrayInputStream(response), CLOZE_QUESTIONS);
+    }
+}
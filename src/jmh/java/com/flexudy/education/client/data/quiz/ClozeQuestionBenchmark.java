@@ -0,0 +1,71 @@
+package com.flexudy.education.client.data.quiz;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cost of turning a generated question into its display question and answer. {@code regex} is the parser the class
+ * used before the single-pass scanner, {@code scanner} is the current one on a freshly deserialized question.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClozeQuestionBenchmark {
+
+    private static final Pattern QUESTION_URN_PATTERN = Pattern.compile("(@_)((?!_@|@_).)*(_@)");
+    private static final Pattern WRAP_TEXT_PATTERN = Pattern.compile("(-\n).");
+    private static final Pattern NEXT_LINE_PATTERN = Pattern.compile("\n");
+    private static final String DEFAULT_BLANK_SYMBOL = "______";
+
+    @Param({"short", "long"})
+    private String size;
+
+    private String questionAnswer;
+
+    @Setup
+    public void setUp() {
+        final String sentence = "The capital of France is @_Paris_@, which lies on the Seine and is home to the "
+                + "Louvre, one of the world's most vis-\nited museums.\n";
+        questionAnswer = "short".equals(size) ? sentence : StringUtils.repeat(sentence, 20);
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        blackhole.consume(StringUtils.normalizeSpace(NEXT_LINE_PATTERN.matcher(
+                WRAP_TEXT_PATTERN.matcher(QUESTION_URN_PATTERN.matcher(questionAnswer)
+                                                              .replaceAll(DEFAULT_BLANK_SYMBOL))
+                                 .replaceAll(StringUtils.EMPTY)).replaceAll(StringUtils.SPACE)));
+        final Matcher matcher = QUESTION_URN_PATTERN.matcher(questionAnswer);
+        String answer = StringUtils.EMPTY;
+        if (matcher.find()) {
+            answer = questionAnswer.substring(matcher.start(), matcher.end()).replace("@_", StringUtils.EMPTY)
+                                   .replace("_@", StringUtils.EMPTY);
+        }
+        blackhole.consume(answer);
+    }
+
+    @Benchmark
+    public void scanner(Blackhole blackhole) {
+        final ClozeQuestion question = new ClozeQuestion(questionAnswer);
+        blackhole.consume(question.getQuestion());
+        blackhole.consume(question.getAnswer());
+    }
+}
@@ -0,0 +1,55 @@
+package com.flexudy.education.client.service;
+
+import com.flexudy.education.client.service.transport.HttpTransport;
+import com.flexudy.education.client.service.transport.TransportRequest;
+import com.flexudy.education.client.service.transport.TransportResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport that answers every request with the same successful body, so benchmarks measure the client and not the
+ * network.
+ */
+final class ImmediateTransport implements HttpTransport {
+
+    private final byte[] responseBody;
+
+    ImmediateTransport(byte[] responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) {
+        return new TransportResponse() {
+            @Override
+            public int getStatusCode() {
+                return 200;
+            }
+
+            @Override
+            public String getHeader(String name) {
+                return null;
+            }
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(responseBody);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+        return CompletableFuture.completedFuture(execute(request));
+    }
+
+    @Override
+    public void close() {
+    }
+}
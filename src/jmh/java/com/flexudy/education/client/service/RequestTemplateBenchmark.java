@@ -0,0 +1,100 @@
+package com.flexudy.education.client.service;
+
+import com.flexudy.education.client.data.common.ContentType;
+import com.flexudy.education.client.data.common.CommonRequestData.SimpleCommonRequestData;
+import com.flexudy.education.client.data.quiz.ClozeQuestion;
+import com.flexudy.education.client.service.transport.HttpTransport;
+import com.flexudy.education.client.service.transport.MultipartForm;
+import com.flexudy.education.client.service.transport.TransportRequest;
+import okhttp3.HttpUrl;
+import okhttp3.MultipartBody;
+import okhttp3.Request;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of sending many small text requests. {@code legacyRequest} builds a request the way the client did
+ * before request templates, {@code templateRequest} the way it does now, and {@code generateClozeQuiz} runs a
+ * whole call against a transport that answers immediately. Run with {@code -prof gc} to compare allocations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RequestTemplateBenchmark {
+
+    private static final String BASE_URL = "https://gateway.flexudy.com";
+    private static final String API_PATH = "/api/v1/cloze-quiz/generate";
+    private static final String LICENSE_KEY = "benchmark-license-key";
+    private static final String TEXT_CONTENT = "The capital of France is Paris. It lies on the Seine.";
+    private static final byte[] RESPONSE = "[{\"questionAnswer\":\"The capital of France is @_Paris_@\"}]"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private RequestTemplate template;
+    private MultipartForm.Part contentTypePart;
+    private FlexudyClient client;
+
+    @Setup
+    public void setUp() {
+        template = new RequestTemplate(BASE_URL, API_PATH, LICENSE_KEY);
+        contentTypePart = MultipartForm.Part.formData("contentType", ContentType.DOCUMENT.name());
+        client = new FlexudyClient(LICENSE_KEY, null, null, null, null) {
+            @Override
+            HttpTransport newTransport() {
+                return new ImmediateTransport(RESPONSE);
+            }
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public Request legacyRequest() {
+        final HttpUrl.Builder url = HttpUrl.parse(BASE_URL + API_PATH).newBuilder();
+        final MultipartBody body = new MultipartBody.Builder()
+                .setType(MultipartBody.FORM)
+                .addFormDataPart("contentType", ContentType.DOCUMENT.name())
+                .addFormDataPart("textContent", TEXT_CONTENT)
+                .addFormDataPart("partName", UUID.randomUUID().toString())
+                .build();
+        return new Request.Builder().url(url.toString()).header(FlexudyClient.LICENSE_KEY_HEADER_PARAM, LICENSE_KEY)
+                                    .post(body).build();
+    }
+
+    @Benchmark
+    public TransportRequest templateRequest() {
+        final MultipartForm body = MultipartForm.builder().addPart(contentTypePart)
+                                                .addFormDataPart("textContent", TEXT_CONTENT)
+                                                .addFormDataPart("partName", Long.toHexString(
+                                                        ThreadLocalRandom.current().nextLong()))
+                                                .build();
+        return template.post(body);
+    }
+
+    @Benchmark
+    public List<ClozeQuestion> generateClozeQuiz() {
+        return client.generateClozeQuiz(SimpleCommonRequestData.builder().textContent(TEXT_CONTENT).build());
+    }
+}
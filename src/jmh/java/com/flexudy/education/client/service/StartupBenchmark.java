@@ -0,0 +1,80 @@
+package com.flexudy.education.client.service;
+
+import com.flexudy.education.client.data.common.CommonRequestData.SimpleCommonRequestData;
+import com.flexudy.education.client.data.quiz.ClozeQuestion;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from building a client to holding the result of its first call, measured once per fresh JVM. The local server
+ * is the JDK's own, so none of the client's classes are loaded before the measured call.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private static final byte[] RESPONSE = "[{\"questionAnswer\":\"The capital of France is @_Paris_@\"}]"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(RESPONSE);
+            }
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public List<ClozeQuestion> defaultClient() {
+        return firstCall(false);
+    }
+
+    @Benchmark
+    public List<ClozeQuestion> lowFootprintClient() {
+        return firstCall(true);
+    }
+
+    private List<ClozeQuestion> firstCall(boolean lowFootprint) {
+        try (FlexudyClient client = FlexudyClient.builder().licenseKey("benchmark-license-key").baseUrl(baseUrl)
+                                                 .lowFootprint(lowFootprint).build()) {
+            return client.generateClozeQuiz(SimpleCommonRequestData.builder().textContent("Paris is in France.")
+                                                                   .build());
+        }
+    }
+}
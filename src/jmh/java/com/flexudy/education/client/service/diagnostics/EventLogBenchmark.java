@@ -0,0 +1,56 @@
+package com.flexudy.education.client.service.diagnostics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of debug logging on the request path while debug logging is off. {@code unguardedDebug} passes primitives and
+ * three arguments straight to the logger, which boxes them and allocates a varargs array; {@code guardedDebug} and
+ * {@code eventLog} do neither. Escape analysis is off because it only removes these allocations where the whole logger
+ * call is inlined, which a single-method benchmark guarantees and the client does not. Run with {@code -prof gc} and
+ * compare {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+@State(Scope.Thread)
+public class EventLogBenchmark {
+
+    private static final String PATH = "/api/v1/cloze-quiz/generate";
+
+    private final Logger logger = NOPLogger.NOP_LOGGER;
+    private final EventLog events = new EventLog(NOPLogger.NOP_LOGGER, 1);
+
+    private long durationMillis = 412;
+    private int statusCode = 200;
+
+    @Benchmark
+    public void unguardedDebug() {
+        logger.debug("event=request.succeeded path={} status={} durationMs={}", PATH, statusCode, durationMillis++);
+    }
+
+    @Benchmark
+    public void guardedDebug() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("event=request.succeeded path={} status={} durationMs={}", PATH, statusCode, durationMillis++);
+        }
+    }
+
+    @Benchmark
+    public void eventLog() {
+        events.record(ClientEvent.REQUEST_SUCCEEDED, PATH, statusCode, durationMillis++);
+    }
+}
@@ -0,0 +1,127 @@
+package com.flexudy.education.client.service.transport;
+
+import com.flexudy.education.client.service.HttpClientConfig;
+import com.flexudy.education.client.service.network.AddressResolver;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the OkHttp and JDK transports against a local server. {@code send} measures requests per millisecond over
+ * warm connections, {@code firstRequest} the time from building a transport to holding its first response, once per
+ * fresh JVM.
+ */
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TransportBenchmark {
+
+    private static final byte[] RESPONSE = "[{\"questionAnswer\":\"The capital of France is @_Paris_@\"}]"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"OKHTTP", "JDK"})
+    private TransportType transportType;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private TransportRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Without it the server's small writes wait for delayed ACKs and every request costs ~40 ms.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(RESPONSE);
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+        final MultipartForm body = MultipartForm.builder()
+                                                .addFormDataPart("contentType", "DOCUMENT")
+                                                .addFormDataPart("textContent", "Paris is in France.")
+                                                .build();
+        request = TransportRequest.builder().method(TransportRequest.POST)
+                                  .url(URI.create("http://localhost:" + server.getAddress().getPort() + "/"))
+                                  .headers(Map.of("license-key", "benchmark-license-key")).body(body).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public int send(WarmTransport warm) throws IOException {
+        try (TransportResponse response = warm.transport.execute(request)) {
+            return response.getBody().readAllBytes().length;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    @Threads(1)
+    public int firstRequest() throws IOException {
+        try (HttpTransport freshTransport = newTransport();
+             TransportResponse response = freshTransport.execute(request)) {
+            return response.getBody().readAllBytes().length;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class WarmTransport {
+
+        private HttpTransport transport;
+
+        @Setup
+        public void setUp(TransportBenchmark benchmark) {
+            transport = benchmark.newTransport();
+        }
+
+        @TearDown
+        public void tearDown() {
+            transport.close();
+        }
+    }
+
+    private HttpTransport newTransport() {
+        final HttpClientConfig config = HttpClientConfig.builder().transportType(transportType).build();
+        return transportType == TransportType.JDK ? new JdkHttpTransport(config)
+                : new OkHttpTransport(config, AddressResolver.SYSTEM);
+    }
+}
@@ -0,0 +1,170 @@
+package com.flexudy.education.client.data.codec;
+
+import com.flexudy.education.client.data.quiz.ClozeQuestion;
+import com.flexudy.education.client.data.quiz.OpenQuestion;
+import com.flexudy.education.client.data.quiz.WHQuestion;
+import com.flexudy.education.client.data.summary.Summary;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BinaryResultCodecs {
+
+    static final int FORMAT_VERSION = 1;
+
+    // Decoded sizes are untrusted, so buffers beyond these sizes only grow as the input actually delivers data
+    static final int MAX_PREALLOCATED_ELEMENTS = 1024;
+    static final int MAX_PREALLOCATED_BYTES = 64 * 1024;
+
+    public static final ResultCodec<ClozeQuestion> CLOZE_QUESTION = new ResultCodec<>() {
+        @Override
+        public void write(ClozeQuestion value, DataOutput output) throws IOException {
+            writeString(value.getQuestionAnswer(), output);
+        }
+
+        @Override
+        public ClozeQuestion read(DataInput input) throws IOException {
+            return new ClozeQuestion(readString(input));
+        }
+    };
+
+    public static final ResultCodec<WHQuestion> WH_QUESTION = new ResultCodec<>() {
+        @Override
+        public void write(WHQuestion value, DataOutput output) throws IOException {
+            writeString(value.getQuestion(), output);
+            writeString(value.getAnswer(), output);
+        }
+
+        @Override
+        public WHQuestion read(DataInput input) throws IOException {
+            return new WHQuestion(readString(input), readString(input));
+        }
+    };
+
+    public static final ResultCodec<OpenQuestion> OPEN_QUESTION = new ResultCodec<>() {
+        @Override
+        public void write(OpenQuestion value, DataOutput output) throws IOException {
+            writeString(value.getQuestion(), output);
+            writeString(value.getPassage(), output);
+        }
+
+        @Override
+        public OpenQuestion read(DataInput input) throws IOException {
+            return new OpenQuestion(readString(input), readString(input));
+        }
+    };
+
+    public static final ResultCodec<Summary> SUMMARY = new ResultCodec<>() {
+        @Override
+        public void write(Summary value, DataOutput output) throws IOException {
+            final List<String> facts = value.getFacts();
+            writeVarInt(facts == null ? 0 : facts.size() + 1, output);
+            if (facts != null) {
+                for (String fact : facts) {
+                    writeString(fact, output);
+                }
+            }
+        }
+
+        @Override
+        public Summary read(DataInput input) throws IOException {
+            final int size = readLength(input, "fact list") - 1;
+            if (size < 0) {
+                return new Summary(null);
+            }
+            final List<String> facts = new ArrayList<>(Math.min(size, MAX_PREALLOCATED_ELEMENTS));
+            for (int i = 0; i < size; i++) {
+                facts.add(readString(input));
+            }
+            return new Summary(facts);
+        }
+    };
+
+    public static <T> ResultCodec<List<T>> listOf(@NonNull ResultCodec<T> elementCodec) {
+        return new ResultCodec<>() {
+            @Override
+            public void write(List<T> values, DataOutput output) throws IOException {
+                writeVarInt(values.size(), output);
+                for (T value : values) {
+                    elementCodec.write(value, output);
+                }
+            }
+
+            @Override
+            public List<T> read(DataInput input) throws IOException {
+                final int size = readLength(input, "list");
+                final List<T> values = new ArrayList<>(Math.min(size, MAX_PREALLOCATED_ELEMENTS));
+                for (int i = 0; i < size; i++) {
+                    values.add(elementCodec.read(input));
+                }
+                return Collections.unmodifiableList(values);
+            }
+        };
+    }
+
+    static void writeString(String value, DataOutput output) throws IOException {
+        if (value == null) {
+            writeVarInt(0, output);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1, output);
+        output.write(bytes);
+    }
+
+    static String readString(DataInput input) throws IOException {
+        final int length = readLength(input, "string") - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[Math.min(length, MAX_PREALLOCATED_BYTES)];
+        int read = 0;
+        while (read < length) {
+            if (read == bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int) Math.min(length, bytes.length * 2L));
+            }
+            input.readFully(bytes, read, bytes.length - read);
+            read = bytes.length;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int readLength(DataInput input, String name) throws IOException {
+        final int length = readVarInt(input);
+        if (length < 0) {
+            throw new IOException(String.format("Invalid %s length %d", name, Integer.toUnsignedLong(length)));
+        }
+        return length;
+    }
+
+    static void writeVarInt(int value, DataOutput output) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+
+    static int readVarInt(DataInput input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final int current = input.readUnsignedByte();
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+}
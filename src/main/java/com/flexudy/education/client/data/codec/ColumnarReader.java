@@ -0,0 +1,107 @@
+package com.flexudy.education.client.data.codec;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads files written by {@link ColumnarSink} one row group at a time, decoding only the requested columns.
+ */
+public class ColumnarReader implements Closeable {
+
+    private final DataInputStream input;
+
+    @Getter
+    private final List<String> columns;
+
+    private boolean finished;
+
+    public ColumnarReader(@NonNull ReadableByteChannel channel) throws IOException {
+        this.input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        final byte[] magic = new byte[ColumnarSink.MAGIC.length];
+        input.readFully(magic);
+        final int version = input.readUnsignedByte();
+        if (!Arrays.equals(magic, ColumnarSink.MAGIC) || version != BinaryResultCodecs.FORMAT_VERSION) {
+            throw new IllegalArgumentException("The channel does not hold a supported columnar export");
+        }
+        final int columnCount = BinaryResultCodecs.readLength(input, "column list");
+        final List<String> names = new ArrayList<>(Math.min(columnCount, BinaryResultCodecs.MAX_PREALLOCATED_ELEMENTS));
+        for (int i = 0; i < columnCount; i++) {
+            names.add(BinaryResultCodecs.readString(input));
+        }
+        this.columns = Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Returns the rows of the next row group, or null at the end of the file. Columns that are not selected are
+     * skipped without decoding and read as null.
+     */
+    public List<String[]> readRowGroup(@NonNull Collection<String> selectedColumns) throws IOException {
+        if (finished) {
+            return null;
+        }
+        final int rows = BinaryResultCodecs.readLength(input, "row group");
+        if (rows == 0) {
+            finished = true;
+            return null;
+        }
+        if (columns.isEmpty()) {
+            throw new IOException("The columnar export has rows but no columns");
+        }
+        // Rows are only allocated once their column blocks have been read, as every value takes at least one byte
+        final List<String[]> rowGroup = new ArrayList<>(Math.min(rows, BinaryResultCodecs.MAX_PREALLOCATED_ELEMENTS));
+        for (int column = 0; column < columns.size(); column++) {
+            final int blockBytes = BinaryResultCodecs.readLength(input, "column block");
+            if (blockBytes < rows) {
+                throw new IOException(String.format("A column block of %d bytes cannot hold %d rows", blockBytes,
+                                                    rows));
+            }
+            if (!selectedColumns.contains(columns.get(column))) {
+                skipFully(blockBytes);
+                continue;
+            }
+            for (int row = 0; row < rows; row++) {
+                if (row == rowGroup.size()) {
+                    rowGroup.add(new String[columns.size()]);
+                }
+                rowGroup.get(row)[column] = BinaryResultCodecs.readString(input);
+            }
+        }
+        while (rowGroup.size() < rows) {
+            rowGroup.add(new String[columns.size()]);
+        }
+        return rowGroup;
+    }
+
+    public List<String[]> readRowGroup() throws IOException {
+        return readRowGroup(columns);
+    }
+
+    private void skipFully(int bytes) throws IOException {
+        int remaining = bytes;
+        while (remaining > 0) {
+            final int skipped = input.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new EOFException("The columnar export ends inside a column block");
+            }
+            remaining -= skipped;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
@@ -0,0 +1,131 @@
+package com.flexudy.education.client.data.codec;
+
+import com.google.common.base.Preconditions;
+import lombok.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * Writes rows column by column in row groups, so readers can skip the columns they do not need and values of the
+ * same column compress well. The file starts with a magic number, the format version and the column names. Each row
+ * group holds its row count followed by one length-prefixed block per column, and a row count of zero ends the file.
+ * Only one row group is held in memory at a time. {@link ColumnarReader} reads the format back.
+ */
+public class ColumnarSink<T> implements ResultSink<T> {
+
+    public static final int DEFAULT_ROW_GROUP_SIZE = 10_000;
+    static final byte[] MAGIC = {'F', 'X', 'C', 'L'};
+
+    private final WritableByteChannel channel;
+    private final ExportSchema<T> schema;
+    private final int rowGroupSize;
+    private final ByteArrayOutputStream[] columnBytes;
+    private final DataOutputStream[] columnOutputs;
+    private final ByteArrayOutputStream groupBytes = new ByteArrayOutputStream();
+    private final DataOutputStream groupOutput = new DataOutputStream(groupBytes);
+    private int groupRows;
+    private long rowCount;
+    private boolean headerWritten;
+
+    public ColumnarSink(WritableByteChannel channel, ExportSchema<T> schema) {
+        this(channel, schema, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    public ColumnarSink(@NonNull WritableByteChannel channel, @NonNull ExportSchema<T> schema, int rowGroupSize) {
+        Preconditions.checkArgument(rowGroupSize > 0, "The row group size must be positive");
+        this.channel = channel;
+        this.schema = schema;
+        this.rowGroupSize = rowGroupSize;
+        final int columns = schema.getColumns().size();
+        this.columnBytes = new ByteArrayOutputStream[columns];
+        this.columnOutputs = new DataOutputStream[columns];
+        for (int i = 0; i < columns; i++) {
+            columnBytes[i] = new ByteArrayOutputStream();
+            columnOutputs[i] = new DataOutputStream(columnBytes[i]);
+        }
+    }
+
+    @Override
+    public synchronized void write(@NonNull T value) throws IOException {
+        try {
+            schema.forEachRow(value, row -> {
+                try {
+                    for (int i = 0; i < columnOutputs.length; i++) {
+                        BinaryResultCodecs.writeString(row[i], columnOutputs[i]);
+                    }
+                    rowCount++;
+                    if (++groupRows == rowGroupSize) {
+                        writeRowGroup();
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (groupRows > 0) {
+            writeRowGroup();
+        }
+    }
+
+    @Override
+    public synchronized long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+            writeHeader();
+            BinaryResultCodecs.writeVarInt(0, groupOutput);
+            drainGroup();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeRowGroup() throws IOException {
+        writeHeader();
+        BinaryResultCodecs.writeVarInt(groupRows, groupOutput);
+        for (ByteArrayOutputStream column : columnBytes) {
+            BinaryResultCodecs.writeVarInt(column.size(), groupOutput);
+            column.writeTo(groupOutput);
+            column.reset();
+        }
+        groupRows = 0;
+        drainGroup();
+    }
+
+    private void writeHeader() throws IOException {
+        if (!headerWritten) {
+            headerWritten = true;
+            groupOutput.write(MAGIC);
+            groupOutput.writeByte(BinaryResultCodecs.FORMAT_VERSION);
+            final List<String> columns = schema.getColumns();
+            BinaryResultCodecs.writeVarInt(columns.size(), groupOutput);
+            for (String column : columns) {
+                BinaryResultCodecs.writeString(column, groupOutput);
+            }
+        }
+    }
+
+    private void drainGroup() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(groupBytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        groupBytes.reset();
+    }
+}
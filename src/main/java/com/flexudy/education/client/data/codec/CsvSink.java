@@ -0,0 +1,77 @@
+package com.flexudy.education.client.data.codec;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes RFC 4180 CSV, starting with a header row of the schema's column names. Null values are written as empty
+ * fields.
+ */
+public class CsvSink<T> extends TextChannelSink<T> {
+
+    private boolean headerWritten;
+
+    public CsvSink(WritableByteChannel channel, ExportSchema<T> schema) {
+        this(channel, schema, DEFAULT_BUFFER_BYTES);
+    }
+
+    public CsvSink(WritableByteChannel channel, ExportSchema<T> schema, int bufferBytes) {
+        super(channel, schema, bufferBytes);
+    }
+
+    @Override
+    public synchronized void write(T value) throws IOException {
+        writeHeader();
+        super.write(value);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writeHeader();
+        super.close();
+    }
+
+    @Override
+    void appendRow(StringBuilder line, String[] row) {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendField(line, row[i]);
+        }
+        line.append("\r\n");
+    }
+
+    private void writeHeader() throws IOException {
+        if (!headerWritten) {
+            headerWritten = true;
+            final StringBuilder header = new StringBuilder();
+            appendRow(header, getSchema().getColumns().toArray(new String[0]));
+            encode(header);
+        }
+    }
+
+    private static void appendField(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            final char character = value.charAt(i);
+            quoted = character == ',' || character == '"' || character == '\n' || character == '\r';
+        }
+        if (!quoted) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char character = value.charAt(i);
+            if (character == '"') {
+                line.append('"');
+            }
+            line.append(character);
+        }
+        line.append('"');
+    }
+}
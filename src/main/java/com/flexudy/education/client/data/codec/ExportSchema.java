@@ -0,0 +1,14 @@
+package com.flexudy.education.client.data.codec;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Flattens a result into rows of string columns for the export sinks. A result may produce several rows, a summary
+ * for instance produces one row per fact.
+ */
+public interface ExportSchema<T> {
+
+    List<String> getColumns();
+    void forEachRow(T value, Consumer<String[]> rowConsumer);
+}
@@ -0,0 +1,54 @@
+package com.flexudy.education.client.data.codec;
+
+import com.flexudy.education.client.data.quiz.ClozeQuestion;
+import com.flexudy.education.client.data.quiz.OpenQuestion;
+import com.flexudy.education.client.data.quiz.WHQuestion;
+import com.flexudy.education.client.data.summary.Summary;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ExportSchemas {
+
+    public static final ExportSchema<ClozeQuestion> CLOZE_QUESTION = singleRow(
+            List.of("question", "answer", "questionAnswer"),
+            question -> new String[]{question.getQuestion(), question.getAnswer(), question.getQuestionAnswer()});
+
+    public static final ExportSchema<WHQuestion> WH_QUESTION = singleRow(
+            List.of("question", "answer"), question -> new String[]{question.getQuestion(), question.getAnswer()});
+
+    public static final ExportSchema<OpenQuestion> OPEN_QUESTION = singleRow(
+            List.of("question", "passage"), question -> new String[]{question.getQuestion(), question.getPassage()});
+
+    public static final ExportSchema<Summary> SUMMARY = new ExportSchema<>() {
+        @Override
+        public List<String> getColumns() {
+            return List.of("fact");
+        }
+
+        @Override
+        public void forEachRow(Summary value, Consumer<String[]> rowConsumer) {
+            if (value.getFacts() != null) {
+                value.getFacts().forEach(fact -> rowConsumer.accept(new String[]{fact}));
+            }
+        }
+    };
+
+    private static <T> ExportSchema<T> singleRow(List<String> columns, Function<T, String[]> toRow) {
+        return new ExportSchema<>() {
+            @Override
+            public List<String> getColumns() {
+                return columns;
+            }
+
+            @Override
+            public void forEachRow(T value, Consumer<String[]> rowConsumer) {
+                rowConsumer.accept(toRow.apply(value));
+            }
+        };
+    }
+}
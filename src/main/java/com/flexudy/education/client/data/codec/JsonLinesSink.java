@@ -0,0 +1,75 @@
+package com.flexudy.education.client.data.codec;
+
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * Writes one JSON object per row and line, keyed by the schema's column names.
+ */
+public class JsonLinesSink<T> extends TextChannelSink<T> {
+
+    private final String[] keys;
+
+    public JsonLinesSink(WritableByteChannel channel, ExportSchema<T> schema) {
+        this(channel, schema, DEFAULT_BUFFER_BYTES);
+    }
+
+    public JsonLinesSink(WritableByteChannel channel, ExportSchema<T> schema, int bufferBytes) {
+        super(channel, schema, bufferBytes);
+        final List<String> columns = schema.getColumns();
+        this.keys = new String[columns.size()];
+        for (int i = 0; i < keys.length; i++) {
+            final StringBuilder key = new StringBuilder();
+            appendString(key, columns.get(i));
+            keys[i] = key.append(':').toString();
+        }
+    }
+
+    @Override
+    void appendRow(StringBuilder line, String[] row) {
+        line.append('{');
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(keys[i]);
+            if (row[i] == null) {
+                line.append("null");
+            } else {
+                appendString(line, row[i]);
+            }
+        }
+        line.append("}\n");
+    }
+
+    private static void appendString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char character = value.charAt(i);
+            switch (character) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (character < 0x20) {
+                        line.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        line.append(character);
+                    }
+            }
+        }
+        line.append('"');
+    }
+}
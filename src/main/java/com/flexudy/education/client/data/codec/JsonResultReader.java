@@ -0,0 +1,19 @@
+package com.flexudy.education.client.data.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@FunctionalInterface
+public interface JsonResultReader<T> {
+
+    T read(JsonParser parser) throws IOException;
+
+    default T read(InputStream input) throws IOException {
+        try (JsonParser parser = JsonResultReaders.JSON_FACTORY.createParser(input)) {
+            parser.nextToken();
+            return read(parser);
+        }
+    }
+}
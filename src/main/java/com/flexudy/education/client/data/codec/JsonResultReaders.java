@@ -0,0 +1,160 @@
+package com.flexudy.education.client.data.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.flexudy.education.client.data.common.JobId;
+import com.flexudy.education.client.data.common.JobProgress;
+import com.flexudy.education.client.data.quiz.ClozeQuestion;
+import com.flexudy.education.client.data.quiz.OpenQuestion;
+import com.flexudy.education.client.data.quiz.WHQuestion;
+import com.flexudy.education.client.data.summary.Summary;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written streaming readers for the API results. Unlike {@code ObjectMapper} they need neither bean
+ * introspection nor reflection, which keeps startup cheap and works in native images without extra configuration.
+ * Unknown properties are skipped.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JsonResultReaders {
+
+    static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String[] JOB_PROGRESS_FIELDS = {"queuePosition", "etaSeconds", "progress"};
+
+    public static final JsonResultReader<ClozeQuestion> CLOZE_QUESTION = parser -> {
+        final String[] fields = new String[1];
+        readObject(parser, (name, p) -> readString(name, p, fields, "questionAnswer"));
+        return new ClozeQuestion(fields[0]);
+    };
+
+    public static final JsonResultReader<WHQuestion> WH_QUESTION = parser -> {
+        final String[] fields = new String[2];
+        readObject(parser, (name, p) -> readString(name, p, fields, "question", "answer"));
+        return new WHQuestion(fields[0], fields[1]);
+    };
+
+    public static final JsonResultReader<OpenQuestion> OPEN_QUESTION = parser -> {
+        final String[] fields = new String[2];
+        readObject(parser, (name, p) -> readString(name, p, fields, "question", "passage"));
+        return new OpenQuestion(fields[0], fields[1]);
+    };
+
+    public static final JsonResultReader<Summary> SUMMARY = parser -> {
+        final List<List<String>> facts = new ArrayList<>(1);
+        readObject(parser, (name, p) -> {
+            if ("summary".equals(name)) {
+                facts.add(p.currentToken() == JsonToken.VALUE_NULL ? null : readList(p, JsonResultReaders::readText));
+                return true;
+            }
+            return false;
+        });
+        return new Summary(facts.isEmpty() ? null : facts.get(0));
+    };
+
+    public static final JsonResultReader<JobId> JOB_ID = parser -> {
+        final String[] fields = new String[1];
+        final Double[] hints = new Double[JOB_PROGRESS_FIELDS.length];
+        readObject(parser, (name, p) -> readString(name, p, fields, "jobId")
+                || readNumber(name, p, hints, JOB_PROGRESS_FIELDS));
+        return new JobId(fields[0], toInteger(hints[0]), hints[1], hints[2]);
+    };
+
+    public static final JsonResultReader<JobProgress> JOB_PROGRESS = parser -> {
+        final Double[] hints = new Double[JOB_PROGRESS_FIELDS.length];
+        readObject(parser, (name, p) -> readNumber(name, p, hints, JOB_PROGRESS_FIELDS));
+        return new JobProgress(toInteger(hints[0]), hints[1], hints[2]);
+    };
+
+    public static final JsonResultReader<List<ClozeQuestion>> CLOZE_QUESTIONS = listOf(CLOZE_QUESTION);
+    public static final JsonResultReader<List<WHQuestion>> WH_QUESTIONS = listOf(WH_QUESTION);
+    public static final JsonResultReader<List<OpenQuestion>> OPEN_QUESTIONS = listOf(OPEN_QUESTION);
+
+    public static <T> JsonResultReader<List<T>> listOf(JsonResultReader<T> elementReader) {
+        return parser -> readList(parser, elementReader);
+    }
+
+    private static <T> List<T> readList(JsonParser parser, JsonResultReader<T> elementReader) throws IOException {
+        expect(parser, JsonToken.START_ARRAY);
+        final List<T> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(parser.currentToken() == JsonToken.VALUE_NULL ? null : elementReader.read(parser));
+        }
+        return values;
+    }
+
+    private static void readObject(JsonParser parser, FieldReader fieldReader) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            parser.nextToken();
+            if (!fieldReader.read(name, parser)) {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static boolean readString(String name, JsonParser parser, String[] fields, String... fieldNames)
+            throws IOException {
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (fieldNames[i].equals(name)) {
+                fields[i] = readText(parser);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean readNumber(String name, JsonParser parser, Double[] fields, String... fieldNames)
+            throws IOException {
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (fieldNames[i].equals(name)) {
+                fields[i] = readDouble(parser);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Double readDouble(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!parser.currentToken().isNumeric()) {
+            throw new JsonParseException(parser, String.format("Expected a number but found %s",
+                                                               parser.currentToken()));
+        }
+        return parser.getDoubleValue();
+    }
+
+    private static Integer toInteger(Double value) {
+        return value == null ? null : value.intValue();
+    }
+
+    private static String readText(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            throw new JsonParseException(parser, String.format("Expected a scalar value but found %s",
+                                                               parser.currentToken()));
+        }
+        return parser.getValueAsString();
+    }
+
+    private static void expect(JsonParser parser, JsonToken token) throws IOException {
+        if (parser.currentToken() != token) {
+            throw new JsonParseException(parser, String.format("Expected %s but found %s", token,
+                                                               parser.currentToken()));
+        }
+    }
+
+    @FunctionalInterface
+    private interface FieldReader {
+        boolean read(String name, JsonParser parser) throws IOException;
+    }
+}
@@ -0,0 +1,39 @@
+package com.flexudy.education.client.data.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+public interface ResultCodec<T> {
+
+    void write(T value, DataOutput output) throws IOException;
+    T read(DataInput input) throws IOException;
+
+    default byte[] encode(T value) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(outputStream)) {
+            output.writeByte(BinaryResultCodecs.FORMAT_VERSION);
+            write(value, output);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return outputStream.toByteArray();
+    }
+
+    default T decode(byte[] bytes) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            final int version = input.readUnsignedByte();
+            if (version != BinaryResultCodecs.FORMAT_VERSION) {
+                throw new IllegalArgumentException(String.format("Unsupported binary format version %d", version));
+            }
+            return read(input);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+}
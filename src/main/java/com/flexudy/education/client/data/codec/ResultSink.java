@@ -0,0 +1,21 @@
+package com.flexudy.education.client.data.codec;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes results incrementally to a channel, holding at most one buffer or row group in memory. Sinks are thread-safe,
+ * so several jobs can write to the same sink as they complete.
+ */
+public interface ResultSink<T> extends Closeable {
+
+    void write(T value) throws IOException;
+    void flush() throws IOException;
+    long getRowCount();
+
+    default void writeAll(Iterable<? extends T> values) throws IOException {
+        for (T value : values) {
+            write(value);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.flexudy.education.client.data.codec;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ResultSinks {
+
+    public static <T> ResultSink<T> jsonLines(@NonNull Path path, @NonNull ExportSchema<T> schema) throws IOException {
+        return new JsonLinesSink<>(openForWriting(path), schema);
+    }
+
+    public static <T> ResultSink<T> csv(@NonNull Path path, @NonNull ExportSchema<T> schema) throws IOException {
+        return new CsvSink<>(openForWriting(path), schema);
+    }
+
+    public static <T> ResultSink<T> columnar(@NonNull Path path, @NonNull ExportSchema<T> schema) throws IOException {
+        return new ColumnarSink<>(openForWriting(path), schema);
+    }
+
+    private static FileChannel openForWriting(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                StandardOpenOption.WRITE);
+    }
+}
@@ -0,0 +1,95 @@
+package com.flexudy.education.client.data.codec;
+
+import com.google.common.base.Preconditions;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+abstract class TextChannelSink<T> implements ResultSink<T> {
+
+    static final int DEFAULT_BUFFER_BYTES = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ExportSchema<T> schema;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                                                                 .onMalformedInput(CodingErrorAction.REPLACE)
+                                                                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer buffer;
+    private final StringBuilder line = new StringBuilder();
+    private long rowCount;
+
+    TextChannelSink(@NonNull WritableByteChannel channel, @NonNull ExportSchema<T> schema, int bufferBytes) {
+        Preconditions.checkArgument(bufferBytes >= 16, "The buffer must hold at least 16 bytes");
+        this.channel = channel;
+        this.schema = schema;
+        this.buffer = ByteBuffer.allocateDirect(bufferBytes);
+    }
+
+    abstract void appendRow(StringBuilder line, String[] row);
+
+    ExportSchema<T> getSchema() {
+        return schema;
+    }
+
+    @Override
+    public synchronized void write(@NonNull T value) throws IOException {
+        try {
+            schema.forEachRow(value, row -> {
+                line.setLength(0);
+                appendRow(line, row);
+                try {
+                    encode(line);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                rowCount++;
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public synchronized long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    synchronized void encode(CharSequence text) throws IOException {
+        final CharBuffer chars = CharBuffer.wrap(text);
+        while (true) {
+            final CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                flush();
+            } else {
+                break;
+            }
+        }
+        encoder.reset();
+    }
+}
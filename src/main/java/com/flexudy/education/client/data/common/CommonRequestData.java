@@ -4,6 +4,7 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,12 +53,18 @@ public interface CommonRequestData {
 
         private Integer jobPollingWaitInterval;
         private String webHookUrl;
+        private Duration jobDeadline;
 
         @Override
         public Optional<String> getWebHookUrl() {
             return Optional.ofNullable(webHookUrl);
         }
 
+        @Override
+        public Optional<Duration> getJobDeadline() {
+            return Optional.ofNullable(jobDeadline);
+        }
+
         @Override
         public int getJobPollingWaitInterval() {
             return Optional.ofNullable(jobPollingWaitInterval).orElse(DEFAULT_JOB_POLL_SECONDS_WAIT);
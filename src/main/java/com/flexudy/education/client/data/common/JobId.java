@@ -1,8 +1,25 @@
 package com.flexudy.education.client.data.common;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
+@AllArgsConstructor
+@NoArgsConstructor
 @Getter
 public class JobId {
     private String jobId;
+    private Integer queuePosition;
+    private Double etaSeconds;
+    private Double progress;
+
+    public JobId(String jobId) {
+        this(jobId, null, null, null);
+    }
+
+    @JsonIgnore
+    public JobProgress getJobProgress() {
+        return new JobProgress(queuePosition, etaSeconds, progress);
+    }
 }
@@ -0,0 +1,30 @@
+package com.flexudy.education.client.data.common;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Progress hints the server may attach to a queued job: its position in the queue, the estimated seconds until its
+ * result is ready and the completed fraction between 0 and 1. Any of them may be absent.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class JobProgress {
+    private Integer queuePosition;
+    private Double etaSeconds;
+    private Double progress;
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return queuePosition == null && etaSeconds == null && progress == null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.flexudy.education.client.data.product;
+
+import com.flexudy.education.client.data.quiz.ClozeQuestion;
+import com.flexudy.education.client.data.quiz.OpenQuestion;
+import com.flexudy.education.client.data.quiz.WHQuestion;
+import com.flexudy.education.client.data.summary.Summary;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@EqualsAndHashCode
+@ToString
+public class MultiProductResult {
+
+    private final Map<Product, Object> results;
+    @EqualsAndHashCode.Exclude
+    private final Map<Product, RuntimeException> failures;
+
+    public MultiProductResult(@NonNull Map<Product, ?> results, @NonNull Map<Product, RuntimeException> failures) {
+        final Map<Product, Object> resultsCopy = new EnumMap<>(Product.class);
+        resultsCopy.putAll(results);
+        final Map<Product, RuntimeException> failuresCopy = new EnumMap<>(Product.class);
+        failuresCopy.putAll(failures);
+        this.results = Collections.unmodifiableMap(resultsCopy);
+        this.failures = Collections.unmodifiableMap(failuresCopy);
+    }
+
+    public Optional<Summary> getSummary() {
+        return Optional.ofNullable((Summary) results.get(Product.SUMMARY));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<List<ClozeQuestion>> getClozeQuestions() {
+        return Optional.ofNullable((List<ClozeQuestion>) results.get(Product.CLOZE_QUIZ));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<List<WHQuestion>> getWHQuestions() {
+        return Optional.ofNullable((List<WHQuestion>) results.get(Product.WH_QUIZ));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<List<OpenQuestion>> getOpenQuestions() {
+        return Optional.ofNullable((List<OpenQuestion>) results.get(Product.OPEN_QUIZ));
+    }
+
+    public Set<Product> getSucceededProducts() {
+        return results.keySet();
+    }
+
+    public Map<Product, RuntimeException> getFailures() {
+        return failures;
+    }
+
+    public Optional<RuntimeException> getFailure(Product product) {
+        return Optional.ofNullable(failures.get(product));
+    }
+
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+    // Exceptions only equal themselves, so failures are compared by their type and message
+    @EqualsAndHashCode.Include
+    private Map<Product, List<Object>> failureSignatures() {
+        final Map<Product, List<Object>> signatures = new EnumMap<>(Product.class);
+        failures.forEach((product, failure) -> signatures.put(product, Arrays.asList(failure.getClass(),
+                                                                                     failure.getMessage())));
+        return signatures;
+    }
+}
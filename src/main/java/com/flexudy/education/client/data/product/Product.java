@@ -0,0 +1,5 @@
+package com.flexudy.education.client.data.product;
+
+public enum Product {
+    SUMMARY, CLOZE_QUIZ, WH_QUIZ, OPEN_QUIZ
+}
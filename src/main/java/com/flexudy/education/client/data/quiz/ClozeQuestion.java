@@ -1,40 +1,45 @@
 package com.flexudy.education.client.data.quiz;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.google.common.annotations.VisibleForTesting;
 import lombok.*;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-@AllArgsConstructor
-@NoArgsConstructor
+@EqualsAndHashCode
 @Getter
 @ToString
 public class ClozeQuestion {
 
     private static final String DEFAULT_BLANK_SYMBOL = "______";
-    private static final Pattern QUESTION_URN_PATTERN = Pattern.compile("(@_)((?!_@|@_).)*(_@)");
     private static final String ANSWER_URN_BEGIN_PATTERN = "@_";
     private static final String ANSWER_URN_END_PATTERN = "_@";
-    private static final Pattern WRAP_TEXT_PATTERN = Pattern.compile("(-\n).");
-    private static final Pattern NEXT_LINE_PATTERN = Pattern.compile("\n");
     private static final String SPACE_REPLACER = ":#SPACE#:";
     private static final String BEGIN_TAG_REPLACER = " :B-TAG#";
     private static final String END_TAG_REPLACER = " ";
 
-    @VisibleForTesting
-    @Getter(value = AccessLevel.PACKAGE)
     @JsonProperty
-    private String questionAnswer;
+    private final String questionAnswer;
+
+    @Getter(value = AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient ParsedQuestion parsedQuestion;
+
+    @JsonCreator
+    public ClozeQuestion(@JsonProperty("questionAnswer") String questionAnswer) {
+        this.questionAnswer = questionAnswer;
+    }
 
     public String getQuestion(String blankSymbol) {
-        String displayQuestion = QUESTION_URN_PATTERN.matcher(questionAnswer)
-                                                     .replaceAll(Optional.ofNullable(blankSymbol)
-                                                     .orElse(DEFAULT_BLANK_SYMBOL));
-        return getNormalizedText(displayQuestion);
+        final ParsedQuestion parsed = getParsedQuestion();
+        final String symbol = Optional.ofNullable(blankSymbol).orElse(DEFAULT_BLANK_SYMBOL);
+        return DEFAULT_BLANK_SYMBOL.equals(symbol) ? parsed.question : parsed.toQuestion(questionAnswer, symbol);
     }
 
     public String getQuestion() {
@@ -42,22 +47,104 @@ public class ClozeQuestion {
     }
 
     public String getAnswer() {
-        final Matcher matcher = QUESTION_URN_PATTERN.matcher(questionAnswer);
-        String answer = StringUtils.EMPTY;
-        if (matcher.find()) {
-            final  int start = matcher.start();
-            final int end = matcher.end();
-            answer = questionAnswer.substring(start, end);
-            answer = answer.replace(ANSWER_URN_BEGIN_PATTERN, StringUtils.EMPTY);
-            answer = answer.replace(ANSWER_URN_END_PATTERN, StringUtils.EMPTY);
-            return answer;
-        }
-        return answer;
+        final List<String> answers = getParsedQuestion().answers;
+        return answers.isEmpty() ? StringUtils.EMPTY : answers.get(0);
     }
 
-    private String getNormalizedText(String text) {
-        text = WRAP_TEXT_PATTERN.matcher(text).replaceAll(StringUtils.EMPTY);
-        return StringUtils.normalizeSpace(NEXT_LINE_PATTERN.matcher(text).replaceAll(StringUtils.SPACE));
+    public List<String> getAnswers() {
+        return getParsedQuestion().answers;
     }
 
+    private ParsedQuestion getParsedQuestion() {
+        ParsedQuestion parsed = parsedQuestion;
+        if (parsed == null) {
+            parsed = new ParsedQuestion(questionAnswer);
+            parsedQuestion = parsed;
+        }
+        return parsed;
+    }
+
+    private static final class ParsedQuestion {
+
+        private final int[] blankSpans;
+        private final List<String> answers;
+        private final String question;
+
+        private ParsedQuestion(String questionAnswer) {
+            this.blankSpans = findBlankSpans(questionAnswer);
+            final List<String> foundAnswers = new ArrayList<>(blankSpans.length / 2);
+            for (int i = 0; i < blankSpans.length; i += 2) {
+                foundAnswers.add(questionAnswer.substring(blankSpans[i] + ANSWER_URN_BEGIN_PATTERN.length(),
+                                                          blankSpans[i + 1] - ANSWER_URN_END_PATTERN.length()));
+            }
+            this.answers = Collections.unmodifiableList(foundAnswers);
+            this.question = toQuestion(questionAnswer, DEFAULT_BLANK_SYMBOL);
+        }
+
+        private String toQuestion(String questionAnswer, String blankSymbol) {
+            final StringBuilder blanked = new StringBuilder(questionAnswer.length());
+            int start = 0;
+            for (int i = 0; i < blankSpans.length; i += 2) {
+                blanked.append(questionAnswer, start, blankSpans[i]).append(blankSymbol);
+                start = blankSpans[i + 1];
+            }
+            blanked.append(questionAnswer, start, questionAnswer.length());
+            return normalize(blanked);
+        }
+
+        private static int[] findBlankSpans(String text) {
+            int[] spans = new int[0];
+            int count = 0;
+            int begin = text.indexOf(ANSWER_URN_BEGIN_PATTERN);
+            while (begin >= 0) {
+                final int end = findBlankEnd(text, begin);
+                if (end < 0) {
+                    begin = text.indexOf(ANSWER_URN_BEGIN_PATTERN, begin + 1);
+                    continue;
+                }
+                if (count == spans.length) {
+                    spans = Arrays.copyOf(spans, Math.max(2, spans.length * 2));
+                }
+                spans[count++] = begin;
+                spans[count++] = end;
+                begin = text.indexOf(ANSWER_URN_BEGIN_PATTERN, end);
+            }
+            return count == spans.length ? spans : Arrays.copyOf(spans, count);
+        }
+
+        private static int findBlankEnd(String text, int begin) {
+            for (int i = begin + ANSWER_URN_BEGIN_PATTERN.length(); i < text.length(); i++) {
+                if (text.startsWith(ANSWER_URN_END_PATTERN, i)) {
+                    return i + ANSWER_URN_END_PATTERN.length();
+                }
+                if (text.startsWith(ANSWER_URN_BEGIN_PATTERN, i) || isLineTerminator(text.charAt(i))) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        private static String normalize(StringBuilder text) {
+            final int length = text.length();
+            final char[] normalized = new char[length];
+            int count = 0;
+            int i = 0;
+            while (i < length) {
+                final char current = text.charAt(i);
+                if (current == '-' && i + 2 < length && text.charAt(i + 1) == '\n'
+                        && !isLineTerminator(text.charAt(i + 2))) {
+                    i += 3;
+                    continue;
+                }
+                normalized[count++] = current == '\n' ? ' ' : current;
+                i++;
+            }
+            return StringUtils.normalizeSpace(new String(normalized, 0, count));
+        }
+
+        private static boolean isLineTerminator(char character) {
+            return character == '\n' || character == '\r' || character == '\u0085' || character == '\u2028'
+                    || character == '\u2029';
+        }
+    }
 }
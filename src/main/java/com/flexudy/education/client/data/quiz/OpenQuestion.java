@@ -1,11 +1,15 @@
 package com.flexudy.education.client.data.quiz;
 
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
+@AllArgsConstructor
+@EqualsAndHashCode
 @Getter
 @ToString
 public class OpenQuestion {
-    private String question;
-    private String passage;
+    private final String question;
+    private final String passage;
 }
@@ -1,11 +1,15 @@
 package com.flexudy.education.client.data.quiz;
 
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
+@AllArgsConstructor
+@EqualsAndHashCode
 @Getter
 @ToString
 public class WHQuestion {
-    private String question;
-    private String answer;
+    private final String question;
+    private final String answer;
 }
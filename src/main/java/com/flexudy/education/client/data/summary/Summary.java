@@ -1,16 +1,26 @@
 package com.flexudy.education.client.data.summary;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+@EqualsAndHashCode
 @Getter
 @ToString
 public class Summary {
 
     @JsonProperty("summary")
-    private List<String> facts;
+    private final List<String> facts;
+
+    @JsonCreator
+    public Summary(@JsonProperty("summary") List<String> facts) {
+        this.facts = facts == null ? null : Collections.unmodifiableList(new ArrayList<>(facts));
+    }
 
 }
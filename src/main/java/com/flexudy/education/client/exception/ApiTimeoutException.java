@@ -0,0 +1,15 @@
+package com.flexudy.education.client.exception;
+
+import java.time.Duration;
+
+public class ApiTimeoutException extends FlexudyApiException {
+
+    public ApiTimeoutException(String message, int statusCode, String endpoint, Duration retryAfter, String jobId) {
+        super(message, statusCode, endpoint, retryAfter, jobId);
+    }
+
+    @Override
+    public boolean isRetryable() {
+        return true;
+    }
+}
@@ -0,0 +1,10 @@
+package com.flexudy.education.client.exception;
+
+import java.time.Duration;
+
+public class BadRequestException extends FlexudyApiException {
+
+    public BadRequestException(String message, int statusCode, String endpoint, Duration retryAfter, String jobId) {
+        super(message, statusCode, endpoint, retryAfter, jobId);
+    }
+}
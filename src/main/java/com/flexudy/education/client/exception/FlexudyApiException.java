@@ -0,0 +1,75 @@
+package com.flexudy.education.client.exception;
+
+import lombok.Getter;
+import org.apache.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * An unsuccessful HTTP response from the Flexudy API. These are expected outcomes rather than programming errors, so no
+ * stack trace is captured when they are created.
+ */
+public class FlexudyApiException extends RuntimeException {
+
+    public static final int SC_TOO_MANY_REQUESTS = 429;
+
+    @Getter
+    private final int statusCode;
+
+    @Getter
+    private final String endpoint;
+
+    private final Duration retryAfter;
+    private final String jobId;
+
+    public FlexudyApiException(String message, int statusCode, String endpoint) {
+        this(message, statusCode, endpoint, null, null);
+    }
+
+    public FlexudyApiException(String message, int statusCode, String endpoint, Duration retryAfter, String jobId) {
+        super(message, null, false, false);
+        this.statusCode = statusCode;
+        this.endpoint = endpoint;
+        this.retryAfter = retryAfter;
+        this.jobId = jobId;
+    }
+
+    public static FlexudyApiException forStatus(String message, int statusCode, String endpoint, Duration retryAfter,
+                                                String jobId) {
+        switch (statusCode) {
+            case HttpStatus.SC_BAD_REQUEST:
+            case HttpStatus.SC_REQUEST_TOO_LONG:
+            case HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE:
+            case HttpStatus.SC_UNPROCESSABLE_ENTITY:
+                return new BadRequestException(message, statusCode, endpoint, retryAfter, jobId);
+            case HttpStatus.SC_UNAUTHORIZED:
+                return new UnauthorizedException(message, statusCode, endpoint, retryAfter, jobId);
+            case HttpStatus.SC_PAYMENT_REQUIRED:
+            case HttpStatus.SC_FORBIDDEN:
+                return new ForbiddenException(message, statusCode, endpoint, retryAfter, jobId);
+            case HttpStatus.SC_REQUEST_TIMEOUT:
+            case HttpStatus.SC_GATEWAY_TIMEOUT:
+                return new ApiTimeoutException(message, statusCode, endpoint, retryAfter, jobId);
+            case SC_TOO_MANY_REQUESTS:
+                return new RateLimitedException(message, statusCode, endpoint, retryAfter, jobId);
+            case HttpStatus.SC_BAD_GATEWAY:
+            case HttpStatus.SC_SERVICE_UNAVAILABLE:
+                return new ServerUnavailableException(message, statusCode, endpoint, retryAfter, jobId);
+            default:
+                return new FlexudyApiException(message, statusCode, endpoint, retryAfter, jobId);
+        }
+    }
+
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+
+    public Optional<String> getJobId() {
+        return Optional.ofNullable(jobId);
+    }
+
+    public boolean isRetryable() {
+        return false;
+    }
+}
@@ -0,0 +1,10 @@
+package com.flexudy.education.client.exception;
+
+import java.time.Duration;
+
+public class ForbiddenException extends FlexudyApiException {
+
+    public ForbiddenException(String message, int statusCode, String endpoint, Duration retryAfter, String jobId) {
+        super(message, statusCode, endpoint, retryAfter, jobId);
+    }
+}
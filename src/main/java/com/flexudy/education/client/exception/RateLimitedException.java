@@ -0,0 +1,15 @@
+package com.flexudy.education.client.exception;
+
+import java.time.Duration;
+
+public class RateLimitedException extends FlexudyApiException {
+
+    public RateLimitedException(String message, int statusCode, String endpoint, Duration retryAfter, String jobId) {
+        super(message, statusCode, endpoint, retryAfter, jobId);
+    }
+
+    @Override
+    public boolean isRetryable() {
+        return true;
+    }
+}
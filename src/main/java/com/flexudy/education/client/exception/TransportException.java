@@ -0,0 +1,27 @@
+package com.flexudy.education.client.exception;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+@Getter
+public class TransportException extends IllegalStateException {
+
+    private final String endpoint;
+    private final String jobId;
+
+    public TransportException(String message, String endpoint, String jobId, IOException cause) {
+        super(message, cause);
+        this.endpoint = endpoint;
+        this.jobId = jobId;
+    }
+
+    public Optional<String> getJobId() {
+        return Optional.ofNullable(jobId);
+    }
+
+    public boolean isRetryable() {
+        return true;
+    }
+}
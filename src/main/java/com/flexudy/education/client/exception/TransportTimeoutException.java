@@ -0,0 +1,10 @@
+package com.flexudy.education.client.exception;
+
+import java.io.InterruptedIOException;
+
+public class TransportTimeoutException extends TransportException {
+
+    public TransportTimeoutException(String message, String endpoint, String jobId, InterruptedIOException cause) {
+        super(message, endpoint, jobId, cause);
+    }
+}
@@ -7,11 +7,10 @@ import com.flexudy.education.client.data.quiz.WHQuestion;
 import com.flexudy.education.client.data.summary.Summary;
 
 import java.util.List;
-import java.util.concurrent.Future;
 
 public interface AsynchronousClient {
-    Future<List<ClozeQuestion>> submitClozeQuizJob(AsyncRequestData quizRequest);
-    Future<List<WHQuestion>> submitWHQuizJob(AsyncRequestData quizRequest);
-    Future<List<OpenQuestion>> submitOpenQuizJob(AsyncRequestData quizRequest);
-    Future<Summary> submitSummaryJob(AsyncRequestData summaryRequest);
+    JobHandle<List<ClozeQuestion>> submitClozeQuizJob(AsyncRequestData quizRequest);
+    JobHandle<List<WHQuestion>> submitWHQuizJob(AsyncRequestData quizRequest);
+    JobHandle<List<OpenQuestion>> submitOpenQuizJob(AsyncRequestData quizRequest);
+    JobHandle<Summary> submitSummaryJob(AsyncRequestData summaryRequest);
 }
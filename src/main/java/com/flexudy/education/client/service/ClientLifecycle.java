@@ -0,0 +1,98 @@
+package com.flexudy.education.client.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Slf4j
+final class ClientLifecycle {
+
+    private final Set<PollingJobHandle<?>> activeJobs = ConcurrentHashMap.newKeySet();
+    private final Object monitor = new Object();
+
+    private volatile ClientState state = ClientState.RUNNING;
+    private int activeCalls;
+
+    ClientState getState() {
+        return state;
+    }
+
+    <T> T admit(Supplier<T> call) {
+        synchronized (monitor) {
+            ensureAccepting();
+            activeCalls++;
+        }
+        try {
+            return call.get();
+        } finally {
+            synchronized (monitor) {
+                activeCalls--;
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    void ensureAccepting() {
+        final ClientState currentState = state;
+        if (currentState != ClientState.RUNNING) {
+            throw new IllegalStateException(String.format("The client is %s and no longer accepts new work",
+                                                          currentState.name().toLowerCase()));
+        }
+    }
+
+    void track(PollingJobHandle<?> handle) {
+        activeJobs.add(handle);
+        handle.onCompletion(() -> {
+            activeJobs.remove(handle);
+            synchronized (monitor) {
+                monitor.notifyAll();
+            }
+        });
+        if (state == ClientState.CLOSED) {
+            handle.suspend();
+        }
+    }
+
+    boolean drain(Instant deadline) {
+        synchronized (monitor) {
+            if (state == ClientState.RUNNING) {
+                state = ClientState.DRAINING;
+            }
+            try {
+                while (!isIdle()) {
+                    final long remainingMillis = Duration.between(Instant.now(), deadline).toMillis();
+                    if (remainingMillis <= 0) {
+                        break;
+                    }
+                    monitor.wait(remainingMillis);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (isIdle()) {
+                return true;
+            }
+        }
+        final List<PollingJobHandle<?>> outstandingJobs = List.copyOf(activeJobs);
+        if (!outstandingJobs.isEmpty()) {
+            log.warn("Stopped polling for {} jobs that did not complete while draining", outstandingJobs.size());
+            outstandingJobs.forEach(PollingJobHandle::suspend);
+        }
+        return false;
+    }
+
+    void close() {
+        state = ClientState.CLOSED;
+        // Calls admitted before closing may still start jobs, stop them here or in track()
+        List.copyOf(activeJobs).forEach(PollingJobHandle::suspend);
+    }
+
+    private boolean isIdle() {
+        return activeCalls == 0 && activeJobs.isEmpty();
+    }
+}
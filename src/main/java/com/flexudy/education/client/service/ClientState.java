@@ -0,0 +1,5 @@
+package com.flexudy.education.client.service;
+
+public enum ClientState {
+    RUNNING, DRAINING, CLOSED
+}
@@ -0,0 +1,74 @@
+package com.flexudy.education.client.service;
+
+import com.flexudy.education.client.data.common.JobProgress;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+final class CompletedJobHandle<T> implements JobHandle<T> {
+
+    private final T result;
+    private final Duration elapsed;
+
+    CompletedJobHandle(T result, Duration elapsed) {
+        this.result = result;
+        this.elapsed = elapsed;
+    }
+
+    @Override
+    public String getJobId() {
+        return null;
+    }
+
+    @Override
+    public JobStatus getStatus() {
+        return JobStatus.DONE;
+    }
+
+    @Override
+    public int getPollCount() {
+        return 0;
+    }
+
+    @Override
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    @Override
+    public Optional<Instant> getDeadline() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<JobProgress> getProgress() {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public boolean isDone() {
+        return true;
+    }
+
+    @Override
+    public T get() {
+        return result;
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) {
+        return result;
+    }
+}
@@ -5,37 +5,101 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flexudy.education.client.data.common.AsyncRequestData;
 import com.flexudy.education.client.data.common.CommonRequestData;
+import com.flexudy.education.client.data.common.CommonRequestData.SimpleCommonRequestData;
+import com.flexudy.education.client.data.common.ContentType;
+import com.flexudy.education.client.data.codec.JsonResultReaders;
+import com.flexudy.education.client.data.product.MultiProductResult;
+import com.flexudy.education.client.data.product.Product;
 import com.flexudy.education.client.data.quiz.OpenQuestion;
 import com.flexudy.education.client.data.quiz.WHQuestion;
+import com.flexudy.education.client.service.admission.ByteBudget;
+import com.flexudy.education.client.exception.ApiTimeoutException;
+import com.flexudy.education.client.exception.FlexudyApiException;
+import com.flexudy.education.client.exception.TransportException;
+import com.flexudy.education.client.exception.TransportTimeoutException;
+import com.flexudy.education.client.service.buffer.DirectBufferPool;
+import com.flexudy.education.client.service.buffer.SpoolingConfig;
+import com.flexudy.education.client.service.chunking.ChunkingConfig;
+import com.flexudy.education.client.service.chunking.ResultMerger;
+import com.flexudy.education.client.service.chunking.TextChunker;
+import com.flexudy.education.client.service.chunking.UrlBatchingConfig;
+import com.flexudy.education.client.service.diagnostics.ClientEvent;
+import com.flexudy.education.client.service.diagnostics.DiagnosticsConfig;
+import com.flexudy.education.client.service.diagnostics.EventLog;
+import com.flexudy.education.client.service.image.ImagePreprocessingConfig;
+import com.flexudy.education.client.service.image.ImagePreprocessor;
+import com.flexudy.education.client.service.journal.JobJournal;
+import com.flexudy.education.client.service.journal.JournalEntry;
+import com.flexudy.education.client.service.journal.RecoveredJob;
+import com.flexudy.education.client.service.journal.RequestFingerprint;
+import com.flexudy.education.client.service.incremental.Paragraph;
+import com.flexudy.education.client.service.incremental.ParagraphCache;
+import com.flexudy.education.client.service.incremental.ParagraphSplitter;
+import com.flexudy.education.client.service.network.AddressResolver;
+import com.flexudy.education.client.service.network.CachingAddressResolver;
 import com.flexudy.education.client.service.network.Environment;
 import com.flexudy.education.client.service.network.HostResolver;
+import com.flexudy.education.client.service.network.UrlNormalizer;
+import com.flexudy.education.client.service.routing.LatencyTracker;
+import com.flexudy.education.client.service.routing.RequestRoute;
+import com.flexudy.education.client.service.routing.RequestRouter;
+import com.flexudy.education.client.service.routing.RoutingConfig;
+import com.flexudy.education.client.service.timeout.TimeoutPolicy;
+import com.flexudy.education.client.service.transport.CallTimeouts;
+import com.flexudy.education.client.service.transport.HttpTransport;
+import com.flexudy.education.client.service.transport.JdkHttpTransport;
+import com.flexudy.education.client.service.transport.OkHttpTransport;
+import com.flexudy.education.client.service.transport.MultipartForm;
+import com.flexudy.education.client.service.transport.RequestTimeout;
+import com.flexudy.education.client.service.transport.TransportBodies;
+import com.flexudy.education.client.service.transport.TransportBody;
+import com.flexudy.education.client.service.transport.TransportRequest;
+import com.flexudy.education.client.service.transport.TransportResponse;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.flexudy.education.client.data.quiz.ClozeQuestion;
 import com.flexudy.education.client.data.common.JobId;
+import com.flexudy.education.client.data.common.JobProgress;
 import com.flexudy.education.client.data.summary.Summary;
-import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
-import okhttp3.*;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.validator.UrlValidator;
 import org.apache.http.HttpStatus;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
-import static java.util.UUID.randomUUID;
-import static okhttp3.RequestBody.create;
 
 @Slf4j
-public class FlexudyClient implements SynchronousClient, AsynchronousClient {
+public class FlexudyClient implements SynchronousClient, AsynchronousClient, RoutingClient, AutoCloseable {
 
     @VisibleForTesting
     static final String HTTP_UN_AUTHORIZED_MESSAGE = "Please check your license key is valid";
@@ -66,6 +130,21 @@ public class FlexudyClient implements SynchronousClient, AsynchronousClient {
     private static final String JOB_ID_PARAM = "jobId";
     private static final String CONTENT_TYPE_PARAM = "contentType";
 
+    private static final List<String> API_PATHS = List.of(CLOZE_QUIZ_API_PATH, WH_QUIZ_API_PATH, OPEN_QUIZ_API_PATH,
+            SUMMARY_API_PATH, CLOZE_QUIZ_JOB_API_PATH, WH_QUIZ_JOB_API_PATH, OPEN_QUIZ_JOB_API_PATH, SUMMARY_JOB_API_PATH,
+            CLOZE_QUIZ_JOB_RESULTS_API_PATH, WH_QUIZ_JOB_RESULTS_API_PATH, OPEN_QUIZ_JOB_RESULTS_API_PATH,
+            SUMMARY_JOB_RESULTS_API_PATH);
+
+    private static final Map<Product, String> PRODUCT_API_PATHS = Maps.immutableEnumMap(Map.of(
+            Product.SUMMARY, SUMMARY_API_PATH, Product.CLOZE_QUIZ, CLOZE_QUIZ_API_PATH, Product.WH_QUIZ, WH_QUIZ_API_PATH,
+            Product.OPEN_QUIZ, OPEN_QUIZ_API_PATH));
+
+    private static final int POLLING_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private static final Map<ContentType, MultipartForm.Part> CONTENT_TYPE_PARTS = Maps.immutableEnumMap(
+            Maps.toMap(Arrays.asList(ContentType.values()),
+                       type -> MultipartForm.Part.formData(CONTENT_TYPE_PARAM, type.name())));
+
     @Getter(value = AccessLevel.PACKAGE)
     private final String licenseKey;
 
@@ -75,228 +154,671 @@ public class FlexudyClient implements SynchronousClient, AsynchronousClient {
     @Getter(value = AccessLevel.PACKAGE)
     private final HttpClientConfig httpClientConfig;
 
-    @Getter(value = AccessLevel.PACKAGE)
-    private final ObjectMapper objectMapper;
+    private final Lazy<ObjectMapper> objectMapper;
 
     @Getter(value = AccessLevel.PACKAGE)
     private final UrlValidator urlValidator;
 
+    @Getter(value = AccessLevel.PACKAGE)
+    private final boolean lowFootprint;
+
+    @Getter(value = AccessLevel.PACKAGE)
+    private final ChunkingConfig chunkingConfig;
+
+    @Getter(value = AccessLevel.PACKAGE)
+    private final UrlBatchingConfig urlBatchingConfig;
+
+    @Getter(value = AccessLevel.PACKAGE)
+    private final RoutingConfig routingConfig;
+
+    @Getter(value = AccessLevel.PACKAGE)
+    private final LatencyTracker latencyTracker = new LatencyTracker();
+
+    private final RequestRouter requestRouter;
+
+    private final TimeoutPolicy timeoutPolicy;
+
+    @Getter(value = AccessLevel.PACKAGE)
+    @VisibleForTesting
+    private final AddressResolver addressResolver;
+
+    private final TextChunker textChunker;
+
+    @Getter(value = AccessLevel.PACKAGE)
+    private final ParagraphCache paragraphCache;
+
+    @Getter(value = AccessLevel.PACKAGE)
+    private final ImagePreprocessingConfig imagePreprocessingConfig;
+
+    private final ImagePreprocessor imagePreprocessor;
+
+    @Getter(value = AccessLevel.PACKAGE)
+    private final JobJournal jobJournal;
+
+    @Getter(value = AccessLevel.PACKAGE)
+    private final ByteBudget uploadBudget;
+
+    @Getter(value = AccessLevel.PACKAGE)
+    private final DirectBufferPool bufferPool;
+
+    @Getter(value = AccessLevel.PACKAGE)
+    private final SpoolingConfig spoolingConfig;
+
+    private final EventLog events;
+
+    private List<RecoveredJob> recoveredJobs;
+
+    private final URI baseUrl;
+
+    private final Map<String, RequestTemplate> requestTemplates;
+
+    private final ClientLifecycle lifecycle = new ClientLifecycle();
+
+    private final Lazy<ParallelDispatcher> dispatcher = Lazy.of(ParallelDispatcher::new);
+
+    private final Lazy<ScheduledExecutorService> pollingScheduler = Lazy.of(FlexudyClient::newPollingScheduler);
+
+    private volatile HttpTransport transport;
+
+    FlexudyClient(String licenseKey,
+                  Environment environment,
+                  HttpClientConfig httpClientConfig,
+                  ObjectMapper objectMapper,
+                  UrlValidator urlValidator) {
+        this(licenseKey, environment, httpClientConfig, objectMapper, urlValidator, null, null, null, null, null, null, null,
+             null, null, null, null, null);
+    }
+
     @Builder
     FlexudyClient(@NonNull String licenseKey,
                   Environment environment,
                   HttpClientConfig httpClientConfig,
                   ObjectMapper objectMapper,
-                  UrlValidator urlValidator) {
+                  UrlValidator urlValidator,
+                  ChunkingConfig chunkingConfig,
+                  ImagePreprocessingConfig imagePreprocessingConfig,
+                  JobJournal jobJournal,
+                  ByteBudget uploadBudget,
+                  DirectBufferPool bufferPool,
+                  SpoolingConfig spoolingConfig,
+                  DiagnosticsConfig diagnosticsConfig,
+                  Boolean lowFootprint,
+                  UrlBatchingConfig urlBatchingConfig,
+                  RoutingConfig routingConfig,
+                  ParagraphCache paragraphCache,
+                  String baseUrl) {
         this.licenseKey = licenseKey;
         this.environment = Optional.ofNullable(environment).orElse(Environment.PRODUCTION);
         this.httpClientConfig = Optional.ofNullable(httpClientConfig).orElse(HttpClientConfig.builder().build());
-        this.objectMapper = Optional.ofNullable(objectMapper).orElse(newObjectMapper());
-        this.urlValidator = Optional.ofNullable(urlValidator).orElse(new UrlValidator());
+        this.objectMapper = objectMapper == null ? Lazy.of(this::newObjectMapper) : Lazy.of(() -> objectMapper);
+        this.urlValidator = urlValidator;
+        this.lowFootprint = Optional.ofNullable(lowFootprint).orElse(false);
+        this.urlBatchingConfig = urlBatchingConfig;
+        this.routingConfig = Optional.ofNullable(routingConfig).orElse(RoutingConfig.builder().build());
+        this.requestRouter = new RequestRouter(this.routingConfig, latencyTracker);
+        this.timeoutPolicy = this.httpClientConfig.getAdaptiveTimeoutConfig()
+                .map(config -> new TimeoutPolicy(config, Duration.ofSeconds(this.httpClientConfig.getWriteTimeoutSeconds()),
+                                                 Duration.ofSeconds(this.httpClientConfig.getReadTimeoutSeconds())))
+                .orElse(null);
+        this.addressResolver = this.httpClientConfig.getAddressResolver()
+                                                    .orElseGet(() -> CachingAddressResolver.builder().build());
+        this.chunkingConfig = chunkingConfig;
+        this.textChunker = Optional.ofNullable(chunkingConfig).map(c -> new TextChunker(c.getMaxChunkCharacters()))
+                                   .orElse(null);
+        this.paragraphCache = paragraphCache;
+        this.imagePreprocessingConfig = imagePreprocessingConfig;
+        this.imagePreprocessor = Optional.ofNullable(imagePreprocessingConfig).map(ImagePreprocessor::new).orElse(null);
+        this.jobJournal = jobJournal;
+        this.uploadBudget = uploadBudget;
+        this.bufferPool = bufferPool;
+        this.spoolingConfig = spoolingConfig;
+        this.events = EventLog.of(diagnosticsConfig);
+        final String resolvedHost = baseUrl == null ? HostResolver.resolve(this.environment)
+                : StringUtils.removeEnd(baseUrl, "/");
+        this.baseUrl = RequestTemplate.toHttpUrl(resolvedHost);
+        this.requestTemplates = newRequestTemplates(resolvedHost, licenseKey);
     }
 
     @Override
     public List<ClozeQuestion> generateClozeQuiz(@NonNull CommonRequestData quizRequest) {
         validateCommonParameters(quizRequest);
         log.debug("Preparing to generate Cloze questions");
-        final Request request = new Request.Builder().url(resolveApiUrl(CLOZE_QUIZ_API_PATH).toString())
-                                                     .header(LICENSE_KEY_HEADER_PARAM, licenseKey)
-                                                     .post(resolveCommonDataRequestBodyBuilder(quizRequest).build())
-                                                     .build();
-        return generateContent(request, jsonToClozeQuestionsParser);
+        return lifecycle.admit(() -> generate(CLOZE_QUIZ_API_PATH, quizRequest, jsonToClozeQuestionsParser, ResultMerger::mergeQuestions));
     }
 
     @Override
     public List<WHQuestion> generateWHQuiz(@NonNull CommonRequestData quizRequest) {
         validateCommonParameters(quizRequest);
         log.debug("Preparing to generate WH questions");
-        final Request request = new Request.Builder().url(resolveApiUrl(WH_QUIZ_API_PATH).toString())
-                                                     .header(LICENSE_KEY_HEADER_PARAM, licenseKey)
-                                                     .post(resolveCommonDataRequestBodyBuilder(quizRequest).build())
-                                                     .build();
-        return generateContent(request, jsonToWHQuestionsParser);
+        return lifecycle.admit(() -> generate(WH_QUIZ_API_PATH, quizRequest, jsonToWHQuestionsParser, ResultMerger::mergeQuestions));
     }
 
     @Override
     public List<OpenQuestion> generateOpenQuiz(CommonRequestData quizRequest) {
         validateCommonParameters(quizRequest);
         log.debug("Preparing to generate Open questions");
-        final Request request = new Request.Builder().url(resolveApiUrl(OPEN_QUIZ_API_PATH).toString())
-                                                     .header(LICENSE_KEY_HEADER_PARAM, licenseKey)
-                                                     .post(resolveCommonDataRequestBodyBuilder(quizRequest).build())
-                                                     .build();
-        return generateContent(request, jsonToOpenQuestionsParser);
+        return lifecycle.admit(() -> generate(OPEN_QUIZ_API_PATH, quizRequest, jsonToOpenQuestionsParser, ResultMerger::mergeQuestions));
     }
 
     @Override
     public Summary generateSummary(@NonNull CommonRequestData summaryRequest) {
         validateCommonParameters(summaryRequest);
         log.debug("Preparing to generate summary");
-        final Request request = new Request.Builder().header(LICENSE_KEY_HEADER_PARAM, licenseKey)
-                                                     .url(resolveApiUrl(SUMMARY_API_PATH).toString())
-                                           .post(resolveCommonDataRequestBodyBuilder(summaryRequest).build()).build();
-        return generateContent(request, jsonToSummaryParser);
+        return lifecycle.admit(() -> generate(SUMMARY_API_PATH, summaryRequest, jsonToSummaryParser, ResultMerger::mergeSummaries));
     }
 
     @Override
-    public Future<List<ClozeQuestion>> submitClozeQuizJob(@NonNull AsyncRequestData quizRequest) {
-        final JobId submittedJob = submitQuestionJobRequest(quizRequest, CLOZE_QUIZ_JOB_API_PATH);
-        return (Future<List<ClozeQuestion>>) pollJobResult(quizRequest.getJobPollingWaitInterval(),
-                                                           submittedJob.getJobId(),
-                                                           id -> pollClozeQuizResults(id));
+    public MultiProductResult generateProducts(@NonNull CommonRequestData request, @NonNull Set<Product> products) {
+        validateCommonParameters(request);
+        if (products.isEmpty()) {
+            throw new IllegalArgumentException("Please select at least one product to generate");
+        }
+        final List<Product> selectedProducts = List.copyOf(EnumSet.copyOf(products));
+        log.debug("Preparing to generate {} from a single upload", selectedProducts);
+        return lifecycle.admit(() -> generateProducts(request, selectedProducts));
+    }
+
+    private MultiProductResult generateProducts(CommonRequestData request, List<Product> selectedProducts) {
+        final Instant deadline = newCallDeadline();
+        final Map<Product, Object> results = new ConcurrentHashMap<>();
+        final Map<Product, RuntimeException> failures = new ConcurrentHashMap<>();
+        if (isIncremental(request) || isChunkable(request) || isBatchable(request)) {
+            dispatcher.get().dispatch(selectedProducts, selectedProducts.size(), product -> collectProduct(product,
+                    () -> generateProduct(product, request, deadline), results, failures));
+        } else {
+            try (UploadContext upload = newUploadContext()) {
+                final List<TransportBody> fileContents = resolveFileContents(request, upload);
+                dispatcher.get().dispatch(selectedProducts, selectedProducts.size(), product -> collectProduct(product,
+                        () -> generateContent(requestTemplates.get(PRODUCT_API_PATHS.get(product))
+                                                              .post(resolveCommonDataRequestBodyBuilder(request,
+                                                                                                        fileContents)
+                                                                            .build()),
+                                              resolveProductParser(product), deadline),
+                        results, failures));
+            }
+        }
+        return new MultiProductResult(results, failures);
+    }
+
+    private Product collectProduct(Product product, Supplier<?> generator, Map<Product, Object> results,
+                                   Map<Product, RuntimeException> failures) {
+        try {
+            results.put(product, generator.get());
+        } catch (RuntimeException ex) {
+            log.debug("Failed to generate {}", product, ex);
+            failures.put(product, ex);
+        }
+        return product;
+    }
+
+    private Object generateProduct(Product product, CommonRequestData request, Instant deadline) {
+        switch (product) {
+            case SUMMARY:
+                return generate(SUMMARY_API_PATH, request, jsonToSummaryParser, ResultMerger::mergeSummaries, deadline);
+            case CLOZE_QUIZ:
+                return generate(CLOZE_QUIZ_API_PATH, request, jsonToClozeQuestionsParser, ResultMerger::mergeQuestions,
+                                deadline);
+            case WH_QUIZ:
+                return generate(WH_QUIZ_API_PATH, request, jsonToWHQuestionsParser, ResultMerger::mergeQuestions,
+                                deadline);
+            case OPEN_QUIZ:
+                return generate(OPEN_QUIZ_API_PATH, request, jsonToOpenQuestionsParser, ResultMerger::mergeQuestions,
+                                deadline);
+            default:
+                throw new IllegalArgumentException(String.format("%s is not a supported product", product));
+        }
+    }
+
+    private Function<InputStream, ?> resolveProductParser(Product product) {
+        switch (product) {
+            case SUMMARY:
+                return jsonToSummaryParser;
+            case CLOZE_QUIZ:
+                return jsonToClozeQuestionsParser;
+            case WH_QUIZ:
+                return jsonToWHQuestionsParser;
+            case OPEN_QUIZ:
+                return jsonToOpenQuestionsParser;
+            default:
+                throw new IllegalArgumentException(String.format("%s is not a supported product", product));
+        }
+    }
+
+    @Override
+    public JobHandle<List<ClozeQuestion>> submitClozeQuizJob(@NonNull AsyncRequestData quizRequest) {
+        return lifecycle.admit(() -> submitJob(CLOZE_QUIZ_JOB_API_PATH, quizRequest, this::pollClozeQuizResults));
+    }
+
+    @Override
+    public JobHandle<List<WHQuestion>> submitWHQuizJob(@NonNull AsyncRequestData quizRequest) {
+        return lifecycle.admit(() -> submitJob(WH_QUIZ_JOB_API_PATH, quizRequest, this::pollWHQuizResults));
+    }
+
+    @Override
+    public JobHandle<List<OpenQuestion>> submitOpenQuizJob(@NonNull AsyncRequestData quizRequest) {
+        return lifecycle.admit(() -> submitJob(OPEN_QUIZ_JOB_API_PATH, quizRequest, this::pollOpenQuizResults));
+    }
+
+    @Override
+    public JobHandle<Summary> submitSummaryJob(@NonNull AsyncRequestData summaryRequest) {
+        return lifecycle.admit(() -> submitJob(SUMMARY_JOB_API_PATH, summaryRequest, this::pollSummaryResults));
+    }
+
+    @Override
+    public JobHandle<List<ClozeQuestion>> routeClozeQuiz(@NonNull AsyncRequestData quizRequest) {
+        return route(CLOZE_QUIZ_API_PATH, CLOZE_QUIZ_JOB_API_PATH, quizRequest, jsonToClozeQuestionsParser,
+                     this::pollClozeQuizResults);
     }
 
     @Override
-    public Future<List<WHQuestion>> submitWHQuizJob(@NonNull AsyncRequestData quizRequest) {
-        final JobId submittedJob = submitQuestionJobRequest(quizRequest, WH_QUIZ_JOB_API_PATH);
-        return (Future<List<WHQuestion>>) pollJobResult(quizRequest.getJobPollingWaitInterval(),
-                                                        submittedJob.getJobId(),
-                                                        id -> pollWHQuizResults(id));
+    public JobHandle<List<WHQuestion>> routeWHQuiz(@NonNull AsyncRequestData quizRequest) {
+        return route(WH_QUIZ_API_PATH, WH_QUIZ_JOB_API_PATH, quizRequest, jsonToWHQuestionsParser,
+                     this::pollWHQuizResults);
     }
 
     @Override
-    public Future<List<OpenQuestion>> submitOpenQuizJob(@NonNull AsyncRequestData quizRequest) {
-        final JobId submittedJob = submitQuestionJobRequest(quizRequest, OPEN_QUIZ_JOB_API_PATH);
-        return (Future<List<OpenQuestion>>) pollJobResult(quizRequest.getJobPollingWaitInterval(),
-                                                          submittedJob.getJobId(),
-                                                          id -> pollOpenQuizResults(id));
+    public JobHandle<List<OpenQuestion>> routeOpenQuiz(@NonNull AsyncRequestData quizRequest) {
+        return route(OPEN_QUIZ_API_PATH, OPEN_QUIZ_JOB_API_PATH, quizRequest, jsonToOpenQuestionsParser,
+                     this::pollOpenQuizResults);
     }
 
     @Override
-    public Future<Summary> submitSummaryJob(@NonNull AsyncRequestData summaryRequest) {
-        return (Future<Summary>) pollJobResult(summaryRequest.getJobPollingWaitInterval(),
-                                               submitSummaryJobRequest(summaryRequest).getJobId(),
-                                               id -> pollSummaryResults(id));
-    }
-
-    private Future<?> pollJobResult(int sleepSeconds, String jobId, Function<String, Optional<?>> pollHandler) {
-        return Executors.newSingleThreadExecutor().submit(() -> {
-            Optional<?> result;
-            try {
-                do {
-                    log.debug("Waiting for {} seconds before polling job result from server", sleepSeconds);
-                    sleep(sleepSeconds);
-                    log.debug("Polling job results from server....");
-                    result = pollHandler.apply(jobId);
-                } while (!result.isPresent());
-            }  catch (InterruptedException ex) {
-                throw new IllegalStateException(Throwables.getStackTraceAsString(ex));
+    public JobHandle<Summary> routeSummary(@NonNull AsyncRequestData summaryRequest) {
+        return route(SUMMARY_API_PATH, SUMMARY_JOB_API_PATH, summaryRequest, jsonToSummaryParser,
+                     this::pollSummaryResults);
+    }
+
+    public FlexudyClient start() {
+        lifecycle.ensureAccepting();
+        warmUp();
+        resumePendingJobs();
+        return this;
+    }
+
+    public boolean drain(@NonNull Duration timeout) {
+        log.debug("Draining outstanding calls and jobs for up to {}", timeout);
+        return lifecycle.drain(Instant.now().plus(timeout));
+    }
+
+    public ClientState getState() {
+        return lifecycle.getState();
+    }
+
+    @Override
+    public void close() {
+        if (lifecycle.getState() == ClientState.CLOSED) {
+            return;
+        }
+        lifecycle.drain(Instant.now());
+        lifecycle.close();
+        pollingScheduler.getIfInitialized().ifPresent(ScheduledExecutorService::shutdownNow);
+        dispatcher.getIfInitialized().ifPresent(ParallelDispatcher::shutdown);
+        synchronized (this) {
+            Optional.ofNullable(transport).ifPresent(HttpTransport::close);
+        }
+        log.debug("Closed the client");
+    }
+
+    private void warmUp() {
+        final TransportRequest request = TransportRequest.builder().method(TransportRequest.HEAD).url(baseUrl).build();
+        final long startNanos = System.nanoTime();
+        try (TransportResponse response = transport().execute(request)) {
+            log.debug("Warmed up the connection to {} in {} ms (status {})", baseUrl.getHost(),
+                      TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), response.getStatusCode());
+        } catch (IOException ex) {
+            log.warn("Failed to warm up the connection to {}", baseUrl.getHost(), ex);
+        }
+    }
+
+    public synchronized List<RecoveredJob> resumePendingJobs() {
+        if (recoveredJobs == null) {
+            lifecycle.ensureAccepting();
+            recoveredJobs = Optional.ofNullable(jobJournal).map(JobJournal::getPendingEntries).orElse(List.of())
+                                    .stream()
+                                    .map(entry -> new RecoveredJob(entry, startPolling(entry.getEndpoint(),
+                                            entry.getJobId(), resolvePollHandler(entry.getEndpoint()),
+                                            Duration.ofSeconds(AsyncRequestData.DEFAULT_JOB_POLL_SECONDS_WAIT),
+                                            jobJournal.getExpiry(entry), 0, null)))
+                                    .collect(Collectors.toUnmodifiableList());
+            log.debug("Resumed polling for {} pending jobs", recoveredJobs.size());
+        }
+        return recoveredJobs;
+    }
+
+    private <T> JobHandle<T> pollJobResult(String apiPath, AsyncRequestData asyncRequest, JobId submittedJob,
+                                           long inputWeight, BiFunction<String, Instant, JobPoll<T>> pollHandler,
+                                           Instant callDeadline) {
+        final Duration pollInterval = Duration.ofSeconds(asyncRequest.getJobPollingWaitInterval());
+        final Instant jobDeadline = asyncRequest.getJobDeadline().map(Instant.now()::plus).orElse(callDeadline);
+        final JobProgress progress = submittedJob.getJobProgress();
+        final boolean smallInput = inputWeight <= routingConfig.getMaxSyncInputBytes();
+        final long initialDelayMillis = PollSchedule.hintedDelayMillis(progress, null, Duration.ZERO,
+                                                                       pollInterval.toMillis())
+                                                    .orElse(smallInput ? 0 : pollInterval.toMillis());
+        return startPolling(apiPath, submittedJob.getJobId(), pollHandler, pollInterval, jobDeadline,
+                            initialDelayMillis, progress.isEmpty() ? null : progress);
+    }
+
+    private <T> JobHandle<T> startPolling(String apiPath, String jobId,
+                                          BiFunction<String, Instant, ? extends JobPoll<? extends T>> pollHandler,
+                                          Duration pollInterval, Instant deadline, long initialDelayMillis,
+                                          JobProgress progress) {
+        final PollingJobHandle<T> handle = new PollingJobHandle<>(jobId, pollHandler, pollingScheduler.get(), events,
+                                                                  pollInterval, deadline, progress);
+        lifecycle.track(handle);
+        if (jobJournal != null) {
+            handle.onTermination((status, cause) -> {
+                if (status != JobStatus.FAILED) {
+                    jobJournal.recordCompleted(apiPath, jobId);
+                } else if (!handle.isSuspended() && !(cause instanceof TransportException)) {
+                    // Jobs stopped by a shutdown or a network failure stay journaled for the next instance
+                    jobJournal.discard(jobId);
+                }
+            });
+        }
+        events.record(ClientEvent.JOB_SCHEDULED, jobId, pollInterval.getSeconds(), initialDelayMillis);
+        handle.schedule(initialDelayMillis);
+        return handle;
+    }
+
+    private BiFunction<String, Instant, JobPoll<?>> resolvePollHandler(String apiPath) {
+        switch (apiPath) {
+            case CLOZE_QUIZ_JOB_API_PATH:
+                return this::pollClozeQuizResults;
+            case WH_QUIZ_JOB_API_PATH:
+                return this::pollWHQuizResults;
+            case OPEN_QUIZ_JOB_API_PATH:
+                return this::pollOpenQuizResults;
+            case SUMMARY_JOB_API_PATH:
+                return this::pollSummaryResults;
+            default:
+                throw new IllegalArgumentException(String.format("%s is not a job endpoint", apiPath));
+        }
+    }
+
+    private <T> JobHandle<T> route(String syncApiPath, String jobApiPath, AsyncRequestData asyncRequest,
+                                   Function<InputStream, T> parser,
+                                   BiFunction<String, Instant, JobPoll<T>> pollHandler) {
+        validateCommonParameters(asyncRequest);
+        return lifecycle.admit(() -> {
+            final Instant deadline = newCallDeadline();
+            try (UploadContext upload = newUploadContext()) {
+                final List<TransportBody> fileContents = resolveFileContents(asyncRequest, upload);
+                final long inputWeight = requestRouter.weigh(asyncRequest, contentLength(fileContents));
+                if (requestRouter.choose(syncApiPath, inputWeight) == RequestRoute.SYNC) {
+                    final Optional<JobHandle<T>> result = generateWithinBudget(syncApiPath, asyncRequest, fileContents,
+                                                                               inputWeight, parser, deadline);
+                    if (result.isPresent()) {
+                        return result.get();
+                    }
+                }
+                log.debug("Routing the request for {} to the queue", syncApiPath);
+                final TransportRequest request = requestTemplates.get(jobApiPath)
+                                                        .post(resolveAsyncDataRequestBodyBuilder(asyncRequest,
+                                                                                                 fileContents)
+                                                                      .build());
+                return pollJobResult(jobApiPath, asyncRequest, submitJob(jobApiPath, request, deadline), inputWeight,
+                                     pollHandler, deadline);
             }
-            return result.get();
         });
     }
 
-    private JobId submitQuestionJobRequest(AsyncRequestData quizRequest, String apiPath) {
-        validateCommonParameters(quizRequest);
-        log.debug("Preparing to submit question generation request");
-        return generateContent(new Request.Builder().header(LICENSE_KEY_HEADER_PARAM, licenseKey)
-                                                    .url(resolveApiUrl(apiPath).toString())
-                                                    .post(resolveAsyncDataRequestBodyBuilder(quizRequest).build())
-                                                    .build(),
-                               jsonToJobIdFunction);
+    private <T> Optional<JobHandle<T>> generateWithinBudget(String apiPath, CommonRequestData requestData,
+                                                            List<TransportBody> fileContents, long inputWeight,
+                                                            Function<InputStream, T> parser, Instant deadline) {
+        final Duration budget = requestRouter.getRoutingConfig().getLatencyBudget();
+        final TransportRequest request = RequestTimeout.apply(requestTemplates.get(apiPath)
+                                                                     .post(resolveCommonDataRequestBodyBuilder(
+                                                                             requestData, fileContents).build()),
+                                                     budget);
+        final long startNanos = System.nanoTime();
+        try {
+            final T result = generateContent(request, parser, deadline);
+            final Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+            latencyTracker.record(apiPath, inputWeight, elapsed);
+            return Optional.of(new CompletedJobHandle<>(result, elapsed));
+        } catch (TransportTimeoutException | ApiTimeoutException ex) {
+            final Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+            latencyTracker.record(apiPath, inputWeight, elapsed.compareTo(budget) > 0 ? elapsed : budget);
+            log.debug("The call to {} overran its latency budget of {}, switching to the queue", apiPath, budget);
+            return Optional.empty();
+        }
     }
 
-    private JobId submitSummaryJobRequest(AsyncRequestData summaryRequest) {
-        validateCommonParameters(summaryRequest);
-        log.debug("Preparing to submit summary generation request");
-        return generateContent(new Request.Builder().header(LICENSE_KEY_HEADER_PARAM, licenseKey)
-                                                    .url(resolveApiUrl(SUMMARY_JOB_API_PATH).toString())
-                                                    .post(resolveAsyncDataRequestBodyBuilder(summaryRequest).build())
-                                                    .build(),
-                               jsonToJobIdFunction);
+    private static long contentLength(List<TransportBody> fileContents) {
+        long contentLength = 0;
+        for (TransportBody content : fileContents) {
+            contentLength += Math.max(content.getContentLength(), 0);
+        }
+        return contentLength;
+    }
+
+    private <T> JobHandle<T> submitJob(String apiPath, AsyncRequestData asyncRequest,
+                                       BiFunction<String, Instant, JobPoll<T>> pollHandler) {
+        validateCommonParameters(asyncRequest);
+        log.debug("Preparing to submit job request to {}", apiPath);
+        final Instant deadline = newCallDeadline();
+        final JobId submittedJob;
+        final long inputWeight;
+        try (UploadContext upload = newUploadContext()) {
+            final List<TransportBody> fileContents = resolveFileContents(asyncRequest, upload);
+            inputWeight = requestRouter.weigh(asyncRequest, contentLength(fileContents));
+            submittedJob = submitJob(apiPath, requestTemplates.get(apiPath)
+                                                              .post(resolveAsyncDataRequestBodyBuilder(asyncRequest,
+                                                                                                       fileContents)
+                                                                            .build()),
+                                     deadline);
+        }
+        return pollJobResult(apiPath, asyncRequest, submittedJob, inputWeight, pollHandler, deadline);
+    }
+
+    private JobId submitJob(String apiPath, TransportRequest request, Instant deadline) {
+        final JobId submittedJob = generateContent(request, jsonToJobIdFunction, deadline);
+        events.record(ClientEvent.JOB_SUBMITTED, apiPath, submittedJob.getJobId());
+        if (jobJournal != null) {
+            journalSubmittedJob(apiPath, submittedJob.getJobId(), request.getBody().get());
+        }
+        return submittedJob;
+    }
+
+    private void journalSubmittedJob(String apiPath, String jobId, TransportBody body) {
+        try {
+            jobJournal.recordSubmitted(new JournalEntry(apiPath, jobId, RequestFingerprint.of(body), Instant.now()));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to journal job {} submitted to {}", jobId, apiPath, ex);
+        }
     }
 
-    private Optional<List<ClozeQuestion>> pollClozeQuizResults(String jobId) {
-        return (Optional<List<ClozeQuestion>>) retrieveJobResult(CLOZE_QUIZ_JOB_RESULTS_API_PATH, jobId, jsonToClozeQuestionsParser);
+    private JobPoll<List<ClozeQuestion>> pollClozeQuizResults(String jobId, Instant deadline) {
+        return retrieveJobResult(CLOZE_QUIZ_JOB_RESULTS_API_PATH, jobId, deadline, jsonToClozeQuestionsParser);
     }
 
-    private Optional<List<WHQuestion>> pollWHQuizResults(String jobId) {
-        return (Optional<List<WHQuestion>>) retrieveJobResult(WH_QUIZ_JOB_RESULTS_API_PATH, jobId, jsonToWHQuestionsParser);
+    private JobPoll<List<WHQuestion>> pollWHQuizResults(String jobId, Instant deadline) {
+        return retrieveJobResult(WH_QUIZ_JOB_RESULTS_API_PATH, jobId, deadline, jsonToWHQuestionsParser);
     }
 
-    private Optional<List<OpenQuestion>> pollOpenQuizResults(String jobId) {
-        return (Optional<List<OpenQuestion>>) retrieveJobResult(OPEN_QUIZ_JOB_RESULTS_API_PATH, jobId, jsonToOpenQuestionsParser);
+    private JobPoll<List<OpenQuestion>> pollOpenQuizResults(String jobId, Instant deadline) {
+        return retrieveJobResult(OPEN_QUIZ_JOB_RESULTS_API_PATH, jobId, deadline, jsonToOpenQuestionsParser);
     }
 
-    private Optional<Summary> pollSummaryResults(String jobId) {
-        return (Optional<Summary>) retrieveJobResult(SUMMARY_JOB_RESULTS_API_PATH, jobId, jsonToSummaryParser);
+    private JobPoll<Summary> pollSummaryResults(String jobId, Instant deadline) {
+        return retrieveJobResult(SUMMARY_JOB_RESULTS_API_PATH, jobId, deadline, jsonToSummaryParser);
     }
 
-    private Function<String, List<ClozeQuestion>> jsonToClozeQuestionsParser = (rawJson) -> {
+    private Function<InputStream, List<ClozeQuestion>> jsonToClozeQuestionsParser = (json) -> {
+        try {
+            return isLowFootprint() ? JsonResultReaders.CLOZE_QUESTIONS.read(json)
+                    : getObjectMapper().readValue(json, new TypeReference<>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the response", e);
+        }
+    };
+
+    private Function<InputStream, List<WHQuestion>> jsonToWHQuestionsParser = (json) -> {
         try {
-            return getObjectMapper().readValue(rawJson, new TypeReference<>() {});
+            return isLowFootprint() ? JsonResultReaders.WH_QUESTIONS.read(json)
+                    : getObjectMapper().readValue(json, new TypeReference<>() {});
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the response", e);
         }
     };
 
-    private Function<String, List<WHQuestion>> jsonToWHQuestionsParser = (rawJson) -> {
+    private Function<InputStream, List<OpenQuestion>> jsonToOpenQuestionsParser = (json) -> {
         try {
-            return getObjectMapper().readValue(rawJson, new TypeReference<>() {});
+            return isLowFootprint() ? JsonResultReaders.OPEN_QUESTIONS.read(json)
+                    : getObjectMapper().readValue(json, new TypeReference<>() {});
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the response", e);
         }
     };
 
-    private Function<String, List<OpenQuestion>> jsonToOpenQuestionsParser = (rawJson) -> {
+    private Function<InputStream, Summary> jsonToSummaryParser = (json) -> {
         try {
-            return getObjectMapper().readValue(rawJson, new TypeReference<>() {});
+            return isLowFootprint() ? JsonResultReaders.SUMMARY.read(json)
+                    : getObjectMapper().readValue(json, Summary.class);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the response", e);
         }
     };
 
-    private Function<String, Summary> jsonToSummaryParser = (rawJson) -> {
+    private Function<InputStream, JobProgress> jsonToJobProgressFunction = (json) -> {
         try {
-            return getObjectMapper().readValue(rawJson, Summary.class);
+            return isLowFootprint() ? JsonResultReaders.JOB_PROGRESS.read(json)
+                    : getObjectMapper().readValue(json, JobProgress.class);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the response", e);
         }
     };
 
-    private Function<String, JobId> jsonToJobIdFunction = (rawJson) -> {
+    private Function<InputStream, JobId> jsonToJobIdFunction = (json) -> {
         try {
-            return getObjectMapper().readValue(rawJson, JobId.class);
+            return isLowFootprint() ? JsonResultReaders.JOB_ID.read(json)
+                    : getObjectMapper().readValue(json, JobId.class);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the response", e);
         }
     };
 
-    private Optional<?> retrieveJobResult(String path, String jobId, Function<String, ?> mapperFunction) {
-        log.debug("Retrieving results for job {}", jobId);
-        final HttpUrl httpUrl = resolveApiUrl(path).addQueryParameter(JOB_ID_PARAM, jobId).build();
-        try (Response response = newHttpClient().newCall(new Request.Builder().header(LICENSE_KEY_HEADER_PARAM,
-                licenseKey).url(httpUrl).build()).execute()) {
-            if (response.isSuccessful()) {
-                log.debug("Successfully retrieved results for job {}", jobId);
-                return Optional.of(mapperFunction.apply(response.body().string()));
-            } else if (HttpStatus.SC_NOT_FOUND == response.code()) {
-                log.debug("Results for job {} is not found/unavailable", jobId);
-                return Optional.empty();
+    private <T> JobPoll<T> retrieveJobResult(String path, String jobId, Instant deadline,
+                                             Function<InputStream, T> mapperFunction) {
+        final TransportRequest request = requestTemplates.get(path).get(JOB_ID_PARAM, jobId);
+        final long startNanos = System.nanoTime();
+        try (TransportResponse response = transport().execute(withTimeouts(request, deadline))) {
+            recordLatency(path, 0, Duration.ofNanos(System.nanoTime() - startNanos));
+            if (HttpStatus.SC_NOT_FOUND == response.getStatusCode() || HttpStatus.SC_ACCEPTED == response.getStatusCode()) {
+                return JobPoll.pending(readJobProgress(jobId, response),
+                                       RetryAfter.parse(response.getHeader(RetryAfter.RETRY_AFTER_HEADER),
+                                                        Clock.systemUTC()));
             }
-            log.debug("Failed to retrieve results for job {} due to {} status code", jobId, response.code());
-            throw new RuntimeException(String.format(getUserFriendlyErrorMessage(response)));
+            return JobPoll.done(handleResponse(request.getUrl(), jobId, response, startNanos, mapperFunction));
         } catch (IOException ex) {
-            log.debug("An error occurred when executing the job results retrieval HTTP call", ex);
-            throw new IllegalStateException(Throwables.getStackTraceAsString(ex));
+            throw transportFailure(request.getUrl(), jobId, startNanos, ex);
         }
     }
 
-    private <T> T generateContent(Request request, Function<String, T> mapperFunction) {
-        try (Response response = newHttpClient().newCall(request).execute()) {
-            if (response.isSuccessful()) {
-                log.debug("Successfully generated content for request {}", request);
-                return mapperFunction.apply(response.body().string());
+    private JobProgress readJobProgress(String jobId, TransportResponse response) {
+        try {
+            final String body = response.getBodyAsString();
+            if (StringUtils.isBlank(body)) {
+                return null;
             }
-            log.debug("Failed to generate content due to {} status code", response.code());
-            throw new RuntimeException(String.format(getUserFriendlyErrorMessage(response)));
+            return jsonToJobProgressFunction.apply(IOUtils.toInputStream(body, StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException ex) {
+            log.debug("Ignoring the unreadable progress of job {}", jobId, ex);
+            return null;
+        }
+    }
+
+    private <T> T generateContent(String apiPath, CommonRequestData requestData, Function<InputStream, T> mapperFunction,
+                                  Instant deadline) {
+        try (UploadContext upload = newUploadContext()) {
+            final TransportRequest request = requestTemplates.get(apiPath)
+                                                    .post(resolveCommonDataRequestBodyBuilder(requestData, upload)
+                                                                  .build());
+            return generateContent(request, mapperFunction, deadline);
+        }
+    }
+
+    private <T> T generateContent(TransportRequest request, Function<InputStream, T> mapperFunction, Instant deadline) {
+        final long uploadBytes = contentLength(request);
+        final long startNanos = System.nanoTime();
+        try (TransportResponse response = transport().execute(withTimeouts(request, deadline))) {
+            final T result = handleResponse(request.getUrl(), null, response, startNanos, mapperFunction);
+            recordLatency(request.getUrl().getRawPath(), uploadBytes, Duration.ofNanos(System.nanoTime() - startNanos));
+            return result;
         } catch (IOException ex) {
-            log.debug("An error occurred when executing the job results retrieval HTTP call", ex);
-            throw new IllegalStateException(Throwables.getStackTraceAsString(ex));
+            throw transportFailure(request.getUrl(), null, startNanos, ex);
         }
     }
 
-    private String getUserFriendlyErrorMessage(Response response) throws IOException {
-        final int statusCode = response.code();
+    private TransportRequest withTimeouts(TransportRequest request, Instant deadline) {
+        TransportRequest timedRequest = request;
+        if (timeoutPolicy != null) {
+            timedRequest = CallTimeouts.apply(timedRequest, timeoutPolicy.timeoutsFor(request.getUrl().getRawPath(),
+                                                                                       contentLength(request)));
+        }
+        if (deadline != null) {
+            final Duration remaining = Duration.between(Instant.now(), deadline);
+            final RequestTimeout callTimeout = request.getRequestTimeout().orElse(null);
+            if (callTimeout == null || callTimeout.getTimeout().compareTo(remaining) > 0) {
+                timedRequest = RequestTimeout.apply(timedRequest, remaining.isNegative() || remaining.isZero()
+                        ? Duration.ofMillis(1) : remaining);
+            }
+        }
+        return timedRequest;
+    }
+
+    private void recordLatency(String endpoint, long uploadBytes, Duration elapsed) {
+        if (timeoutPolicy != null) {
+            timeoutPolicy.record(endpoint, uploadBytes, elapsed);
+        }
+    }
+
+    private Instant newCallDeadline() {
+        return httpClientConfig.getCallDeadlineSeconds().map(seconds -> Instant.now().plusSeconds(seconds)).orElse(null);
+    }
+
+    private static long contentLength(TransportRequest request) {
+        return request.getBody().map(TransportBody::getContentLength).orElse(0L);
+    }
+
+    private <T> T handleResponse(URI url, String jobId, TransportResponse response, long startNanos,
+                                 Function<InputStream, T> mapperFunction) throws IOException {
+        final long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        if (response.isSuccessful()) {
+            events.record(ClientEvent.REQUEST_SUCCEEDED, url, response.getStatusCode(), durationMillis);
+            return mapperFunction.apply(response.getBody());
+        }
+        events.record(ClientEvent.REQUEST_FAILED, url, response.getStatusCode(), durationMillis);
+        throw FlexudyApiException.forStatus(getUserFriendlyErrorMessage(response), response.getStatusCode(),
+                                            url.getRawPath(),
+                                            RetryAfter.parse(response.getHeader(RetryAfter.RETRY_AFTER_HEADER),
+                                                             Clock.systemUTC()),
+                                            jobId);
+    }
+
+    private TransportException transportFailure(URI url, String jobId, long startNanos, IOException cause) {
+        events.record(ClientEvent.REQUEST_IO_ERROR, url, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        final String message = String.format("The HTTP call to %s failed", url.getRawPath());
+        return cause instanceof InterruptedIOException
+                ? new TransportTimeoutException(message, url.getRawPath(), jobId, (InterruptedIOException) cause)
+                : new TransportException(message, url.getRawPath(), jobId, cause);
+    }
+
+    private String getUserFriendlyErrorMessage(TransportResponse response) throws IOException {
+        final int statusCode = response.getStatusCode();
         switch (statusCode) {
             case HttpStatus.SC_UNAUTHORIZED:
                 return HTTP_UN_AUTHORIZED_MESSAGE;
@@ -304,41 +826,195 @@ public class FlexudyClient implements SynchronousClient, AsynchronousClient {
                 return HTTP_FORBIDDEN_MESSAGE;
             default:
                 return String.format("An error occurred during processing, Status Code: %d, message: %s", statusCode,
-                        response.body().string());
+                        response.getBodyAsString());
         }
     }
 
-    private MultipartBody.Builder resolveCommonDataRequestBodyBuilder(CommonRequestData requestData) {
-        final MultipartBody.Builder bodyBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
+    private MultipartForm.Builder resolveCommonDataRequestBodyBuilder(CommonRequestData requestData,
+                                                                      UploadContext upload) {
+        return resolveCommonDataRequestBodyBuilder(requestData, resolveFileContents(requestData, upload));
+    }
+
+    private MultipartForm.Builder resolveCommonDataRequestBodyBuilder(CommonRequestData requestData,
+                                                                      List<TransportBody> fileContents) {
+        final MultipartForm.Builder bodyBuilder = MultipartForm.builder();
         final List<String> contentUrls = requestData.getContentUrls();
-        final List<InputStream> files = requestData.getFiles();
 
-        bodyBuilder.addFormDataPart(CONTENT_TYPE_PARAM, requestData.getContentType().name());
+        bodyBuilder.addPart(CONTENT_TYPE_PARTS.get(requestData.getContentType()));
         if (CollectionUtils.isNotEmpty(contentUrls)) {
-            contentUrls.forEach(u -> {
-                if (!urlValidator.isValid(u)) throw new IllegalArgumentException(String.format("%s is not a valid URL", u));
-            });
-            bodyBuilder.addFormDataPart(FILE_URLS_PARAM, String.join(",", contentUrls));
+            bodyBuilder.addFormDataPart(FILE_URLS_PARAM, String.join(",", normalizeContentUrls(contentUrls)));
         }
         requestData.getTextContent().ifPresent((text) -> bodyBuilder.addFormDataPart(TEXT_CONTENT_PARAM, text));
-
-        if (CollectionUtils.isNotEmpty(files)) {
-            files.forEach(file -> bodyBuilder.addFormDataPart(RAW_FILES_PARAM,
-                                                              randomUUID().toString(),
-                                                              create(parseInputStream(file))));
-        }
+        fileContents.forEach(content -> bodyBuilder.addFormDataPart(RAW_FILES_PARAM, newPartName(), content));
 
         return bodyBuilder;
     }
 
-    private MultipartBody.Builder resolveAsyncDataRequestBodyBuilder(AsyncRequestData asyncRequestData) {
-        final MultipartBody.Builder bodyBuilder = resolveCommonDataRequestBodyBuilder(asyncRequestData);
+    private List<TransportBody> resolveFileContents(CommonRequestData requestData, UploadContext upload) {
+        if (CollectionUtils.isEmpty(requestData.getFiles())) {
+            return List.of();
+        }
+        final boolean preprocessImages = imagePreprocessor != null
+                && requestData.getContentType() == ContentType.IMAGE;
+        if (upload.isBuffered() && !preprocessImages) {
+            return requestData.getFiles().stream().map(inputStream -> readBufferedContent(inputStream, upload))
+                              .collect(Collectors.toList());
+        }
+        List<byte[]> contents = requestData.getFiles().stream()
+                                           .map(inputStream -> parseInputStream(inputStream, upload.getReservation()))
+                                           .collect(Collectors.toList());
+        if (upload.getReservation() != null && log.isDebugEnabled()) {
+            log.debug("Reserved {} of {} upload budget bytes", upload.getReservation().getReservedBytes(),
+                      uploadBudget.getMaxBytes());
+        }
+        if (preprocessImages) {
+            if (log.isDebugEnabled()) {
+                log.debug("Preprocessing {} images before upload", contents.size());
+            }
+            contents = dispatcher.get().dispatch(contents, imagePreprocessingConfig.getParallelism(),
+                                           imagePreprocessor::process);
+        }
+        return contents.stream().map(content -> TransportBodies.of(content, null)).collect(Collectors.toList());
+    }
+
+    private MultipartForm.Builder resolveAsyncDataRequestBodyBuilder(AsyncRequestData asyncRequestData,
+                                                                     List<TransportBody> fileContents) {
+        final MultipartForm.Builder bodyBuilder = resolveCommonDataRequestBodyBuilder(asyncRequestData, fileContents);
         asyncRequestData.getWebHookUrl().ifPresent(url -> bodyBuilder.addFormDataPart(WEB_HOOK_URL_PARAM, url));
         return bodyBuilder;
     }
 
-    private HttpUrl.Builder resolveApiUrl(String apiPath) {
-        return HttpUrl.parse(HostResolver.resolve(environment) + apiPath).newBuilder();
+    private List<String> normalizeContentUrls(List<String> contentUrls) {
+        final Set<String> normalizedUrls = new LinkedHashSet<>(contentUrls.size() * 2);
+        for (String url : contentUrls) {
+            if (urlValidator != null && !urlValidator.isValid(url)) {
+                throw new IllegalArgumentException(String.format("%s is not a valid URL", url));
+            }
+            final String normalizedUrl = UrlNormalizer.normalize(url);
+            if (normalizedUrl == null && urlValidator == null) {
+                throw new IllegalArgumentException(String.format("%s is not a valid URL", url));
+            }
+            normalizedUrls.add(normalizedUrl == null ? url : normalizedUrl);
+        }
+        if (normalizedUrls.size() < contentUrls.size() && log.isDebugEnabled()) {
+            log.debug("Removed {} duplicate content URLs", contentUrls.size() - normalizedUrls.size());
+        }
+        return new ArrayList<>(normalizedUrls);
+    }
+
+    private static Map<String, RequestTemplate> newRequestTemplates(String baseUrl, String licenseKey) {
+        return Maps.toMap(API_PATHS, path -> new RequestTemplate(baseUrl, path, licenseKey));
+    }
+
+    private static String newPartName() {
+        return Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+
+    private boolean isChunkable(CommonRequestData requestData) {
+        return textChunker != null && CollectionUtils.isEmpty(requestData.getFiles())
+                && CollectionUtils.isEmpty(requestData.getContentUrls())
+                && textChunker.isChunkable(requestData.getTextContent().orElse(null));
+    }
+
+    private boolean isBatchable(CommonRequestData requestData) {
+        return urlBatchingConfig != null && CollectionUtils.isEmpty(requestData.getFiles())
+                && !requestData.getTextContent().isPresent()
+                && requestData.getContentUrls() != null
+                && requestData.getContentUrls().size() > urlBatchingConfig.getMaxUrlsPerRequest();
+    }
+
+    private boolean isIncremental(CommonRequestData requestData) {
+        return paragraphCache != null && CollectionUtils.isEmpty(requestData.getFiles())
+                && CollectionUtils.isEmpty(requestData.getContentUrls())
+                && requestData.getTextContent().isPresent();
+    }
+
+    private <T> T generate(String apiPath, CommonRequestData requestData, Function<InputStream, T> parser,
+                           Function<List<T>, T> merger) {
+        return generate(apiPath, requestData, parser, merger, newCallDeadline());
+    }
+
+    private <T> T generate(String apiPath, CommonRequestData requestData, Function<InputStream, T> parser,
+                           Function<List<T>, T> merger, Instant deadline) {
+        if (isIncremental(requestData)) {
+            return generateIncrementally(apiPath, requestData,
+                                         paragraph -> generateUncached(apiPath, paragraph, parser, merger, deadline),
+                                         merger);
+        }
+        return generateUncached(apiPath, requestData, parser, merger, deadline);
+    }
+
+    private <T> T generateUncached(String apiPath, CommonRequestData requestData, Function<InputStream, T> parser,
+                                   Function<List<T>, T> merger, Instant deadline) {
+        if (isChunkable(requestData)) {
+            return generateInChunks(requestData, chunk -> generateContent(apiPath, chunk, parser, deadline), merger);
+        }
+        if (isBatchable(requestData)) {
+            return generateInUrlBatches(requestData, batch -> generateContent(apiPath, batch, parser, deadline),
+                                        merger);
+        }
+        return generateContent(apiPath, requestData, parser, deadline);
+    }
+
+    private <T> T generateInUrlBatches(CommonRequestData requestData, Function<CommonRequestData, T> generator,
+                                       Function<List<T>, T> merger) {
+        final List<CommonRequestData> batches = Lists.partition(normalizeContentUrls(requestData.getContentUrls()),
+                                                                urlBatchingConfig.getMaxUrlsPerRequest())
+                .stream()
+                .map(batch -> SimpleCommonRequestData.builder().contentUrls(batch)
+                                                     .contentType(requestData.getContentType()).build())
+                .collect(Collectors.toList());
+        if (batches.size() == 1) {
+            return generator.apply(batches.get(0));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Generating content for {} URL batches in parallel", batches.size());
+        }
+        return merger.apply(dispatcher.get().dispatch(batches, urlBatchingConfig.getParallelism(), generator));
+    }
+
+    private <T> T generateIncrementally(String apiPath, CommonRequestData requestData,
+                                        Function<CommonRequestData, T> generator, Function<List<T>, T> merger) {
+        final ContentType contentType = requestData.getContentType();
+        final ParagraphSplitter splitter = paragraphCache.getSplitter();
+        final List<Paragraph> packs = splitter.pack(splitter.split(requestData.getTextContent().get()));
+        final Map<String, T> results = new ConcurrentHashMap<>();
+        final List<Paragraph> changedPacks = new ArrayList<>();
+        for (Paragraph pack : packs) {
+            final Optional<T> cached = paragraphCache.get(environment, baseUrl.toString(), apiPath, contentType, pack);
+            if (cached.isPresent()) {
+                results.put(pack.getHash(), cached.get());
+            } else {
+                changedPacks.add(pack);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Regenerating {} of {} paragraph packs", changedPacks.size(), packs.size());
+        }
+        dispatcher.get().dispatch(changedPacks, paragraphCache.getParallelism(),
+                                  pack -> regeneratePack(apiPath, contentType, pack, generator, results));
+        return merger.apply(packs.stream().map(pack -> results.get(pack.getHash())).collect(Collectors.toList()));
+    }
+
+    private <T> T regeneratePack(String apiPath, ContentType contentType, Paragraph pack,
+                                 Function<CommonRequestData, T> generator, Map<String, T> results) {
+        final T result = generator.apply(SimpleCommonRequestData.builder().textContent(pack.getText())
+                                                                .contentType(contentType).build());
+        paragraphCache.put(environment, baseUrl.toString(), apiPath, contentType, pack, result);
+        results.put(pack.getHash(), result);
+        return result;
+    }
+
+    private <T> T generateInChunks(CommonRequestData requestData, Function<CommonRequestData, T> generator,
+                                   Function<List<T>, T> merger) {
+        final List<CommonRequestData> chunks = textChunker.split(requestData.getTextContent().get()).stream()
+                .map(chunk -> SimpleCommonRequestData.builder().textContent(chunk)
+                                                     .contentType(requestData.getContentType()).build())
+                .collect(Collectors.toList());
+        if (log.isDebugEnabled()) {
+            log.debug("Generating content for {} text chunks in parallel", chunks.size());
+        }
+        return merger.apply(dispatcher.get().dispatch(chunks, chunkingConfig.getParallelism(), generator));
     }
 
     private void validateCommonParameters(CommonRequestData requestData) {
@@ -348,11 +1024,23 @@ public class FlexudyClient implements SynchronousClient, AsynchronousClient {
         }
     }
 
-    private byte[] parseInputStream(InputStream inputStream) {
+    private UploadContext newUploadContext() {
+        return new UploadContext(uploadBudget, bufferPool, spoolingConfig);
+    }
+
+    private TransportBody readBufferedContent(InputStream inputStream, UploadContext upload) {
         try {
-            return toByteArray(inputStream);
+            return upload.readBuffered(inputStream);
         } catch (IOException ex) {
-            throw new IllegalArgumentException(Throwables.getStackTraceAsString(ex));
+            throw new IllegalArgumentException("Failed to read the file contents", ex);
+        }
+    }
+
+    private byte[] parseInputStream(InputStream inputStream, ByteBudget.Reservation reservation) {
+        try {
+            return reservation == null ? toByteArray(inputStream) : reservation.read(inputStream);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Failed to read the file contents", ex);
         }
     }
 
@@ -361,22 +1049,54 @@ public class FlexudyClient implements SynchronousClient, AsynchronousClient {
         return IOUtils.toByteArray(inputStream);
     }
 
+    ObjectMapper getObjectMapper() {
+        return objectMapper.get();
+    }
+
     @VisibleForTesting
     ObjectMapper newObjectMapper() {
         return new ObjectMapper();
     }
 
-    @VisibleForTesting
-    OkHttpClient newHttpClient() {
-        return new OkHttpClient.Builder().writeTimeout(httpClientConfig.getWriteTimeoutSeconds(), TimeUnit.SECONDS)
-                                         .readTimeout(httpClientConfig.getReadTimeoutSeconds(), TimeUnit.SECONDS)
-                                         .connectTimeout(httpClientConfig.getConnectTimeoutSeconds(), TimeUnit.SECONDS)
-                                         .build();
+    private HttpTransport transport() {
+        HttpTransport currentTransport = transport;
+        if (currentTransport == null) {
+            synchronized (this) {
+                currentTransport = transport;
+                if (currentTransport == null) {
+                    if (lifecycle.getState() == ClientState.CLOSED) {
+                        throw new IllegalStateException("The client is closed");
+                    }
+                    currentTransport = newTransport();
+                    transport = currentTransport;
+                }
+            }
+        }
+        return currentTransport;
     }
 
     @VisibleForTesting
-    void sleep(int sleepSeconds) throws InterruptedException {
-        Thread.sleep(TimeUnit.SECONDS.toMillis(sleepSeconds));
+    HttpTransport newTransport() {
+        switch (httpClientConfig.getTransportType()) {
+            case JDK:
+                if (httpClientConfig.getRequestCompressionCodec().isPresent()) {
+                    log.warn("Request compression is only supported by the OkHttp transport");
+                }
+                if (httpClientConfig.getAddressResolver().isPresent()) {
+                    log.warn("The JDK transport resolves hosts itself, ignoring the configured address resolver");
+                }
+                return new JdkHttpTransport(httpClientConfig);
+            case OKHTTP:
+            default:
+                return new OkHttpTransport(httpClientConfig, addressResolver);
+        }
+    }
+
+    private static ScheduledExecutorService newPollingScheduler() {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(POLLING_THREADS,
+                new ThreadFactoryBuilder().setNameFormat("flexudy-job-poller-%d").setDaemon(true).build());
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
     }
 
 }
\ No newline at end of file
@@ -1,5 +1,9 @@
 package com.flexudy.education.client.service;
 
+import com.flexudy.education.client.service.compression.CompressionCodec;
+import com.flexudy.education.client.service.network.AddressResolver;
+import com.flexudy.education.client.service.timeout.AdaptiveTimeoutConfig;
+import com.flexudy.education.client.service.transport.TransportType;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -13,10 +17,17 @@ public class HttpClientConfig {
     public static final long DEFAULT_CONNECT_TIMEOUT_SECONDS = TimeUnit.MINUTES.toSeconds(1);
     public static final long DEFAULT_WRITE_TIMEOUT_SECONDS = TimeUnit.MINUTES.toSeconds(3);
     public static final long DEFAULT_READ_TIMEOUT_SECONDS = TimeUnit.MINUTES.toSeconds(3);
+    public static final long DEFAULT_COMPRESSION_THRESHOLD_BYTES = 8 * 1024;
 
     private Long connectTimeoutSeconds;
     private Long writeTimeoutSeconds;
     private Long readTimeoutSeconds;
+    private CompressionCodec requestCompressionCodec;
+    private Long compressionThresholdBytes;
+    private TransportType transportType;
+    private AdaptiveTimeoutConfig adaptiveTimeoutConfig;
+    private Long callDeadlineSeconds;
+    private AddressResolver addressResolver;
 
     public long getConnectTimeoutSeconds() {
         return Optional.ofNullable(connectTimeoutSeconds).orElse(DEFAULT_CONNECT_TIMEOUT_SECONDS);
@@ -29,4 +40,28 @@ public class HttpClientConfig {
     public long getReadTimeoutSeconds() {
         return Optional.ofNullable(readTimeoutSeconds).orElse(DEFAULT_READ_TIMEOUT_SECONDS);
     }
+
+    public Optional<CompressionCodec> getRequestCompressionCodec() {
+        return Optional.ofNullable(requestCompressionCodec);
+    }
+
+    public long getCompressionThresholdBytes() {
+        return Optional.ofNullable(compressionThresholdBytes).orElse(DEFAULT_COMPRESSION_THRESHOLD_BYTES);
+    }
+
+    public TransportType getTransportType() {
+        return Optional.ofNullable(transportType).orElse(TransportType.OKHTTP);
+    }
+
+    public Optional<AdaptiveTimeoutConfig> getAdaptiveTimeoutConfig() {
+        return Optional.ofNullable(adaptiveTimeoutConfig);
+    }
+
+    public Optional<Long> getCallDeadlineSeconds() {
+        return Optional.ofNullable(callDeadlineSeconds);
+    }
+
+    public Optional<AddressResolver> getAddressResolver() {
+        return Optional.ofNullable(addressResolver);
+    }
 }
@@ -0,0 +1,17 @@
+package com.flexudy.education.client.service;
+
+import com.flexudy.education.client.data.common.JobProgress;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Future;
+
+public interface JobHandle<T> extends Future<T> {
+    String getJobId();
+    JobStatus getStatus();
+    int getPollCount();
+    Duration getElapsed();
+    Optional<Instant> getDeadline();
+    Optional<JobProgress> getProgress();
+}
@@ -0,0 +1,48 @@
+package com.flexudy.education.client.service;
+
+import com.flexudy.education.client.data.common.JobProgress;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The outcome of polling a job once: either its result, or the hints the server gave about when to poll again.
+ */
+final class JobPoll<T> {
+
+    private final boolean done;
+    private final T result;
+    private final JobProgress progress;
+    private final Duration retryAfter;
+
+    private JobPoll(boolean done, T result, JobProgress progress, Duration retryAfter) {
+        this.done = done;
+        this.result = result;
+        this.progress = progress;
+        this.retryAfter = retryAfter;
+    }
+
+    static <T> JobPoll<T> done(T result) {
+        return new JobPoll<>(true, result, null, null);
+    }
+
+    static <T> JobPoll<T> pending(JobProgress progress, Duration retryAfter) {
+        return new JobPoll<>(false, null, progress, retryAfter);
+    }
+
+    boolean isDone() {
+        return done;
+    }
+
+    T getResult() {
+        return result;
+    }
+
+    Optional<JobProgress> getProgress() {
+        return Optional.ofNullable(progress).filter(hint -> !hint.isEmpty());
+    }
+
+    Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+}
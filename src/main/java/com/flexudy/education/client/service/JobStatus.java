@@ -0,0 +1,9 @@
+package com.flexudy.education.client.service;
+
+public enum JobStatus {
+    QUEUED, RUNNING, DONE, FAILED, CANCELLED;
+
+    public boolean isTerminal() {
+        return this == DONE || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,37 @@
+package com.flexudy.education.client.service;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+final class Lazy<T> implements Supplier<T> {
+
+    private final Supplier<T> factory;
+    private volatile T value;
+
+    private Lazy(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    static <T> Lazy<T> of(Supplier<T> factory) {
+        return new Lazy<>(factory);
+    }
+
+    @Override
+    public T get() {
+        T current = value;
+        if (current == null) {
+            synchronized (this) {
+                current = value;
+                if (current == null) {
+                    current = factory.get();
+                    value = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    Optional<T> getIfInitialized() {
+        return Optional.ofNullable(value);
+    }
+}
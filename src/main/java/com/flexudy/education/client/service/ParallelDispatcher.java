@@ -0,0 +1,90 @@
+package com.flexudy.education.client.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Runs calls on a bounded pool of daemon threads. Calls are handed straight to an idle thread rather than queued; when
+ * all threads are busy, the dispatching thread runs the call itself. This bounds the thread count and keeps nested
+ * dispatches, such as chunked products generated in parallel, from waiting on each other.
+ */
+@Slf4j
+final class ParallelDispatcher {
+
+    static final int DEFAULT_MAX_THREADS = 32;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ExecutorService executor;
+
+    ParallelDispatcher() {
+        this(DEFAULT_MAX_THREADS);
+    }
+
+    @VisibleForTesting
+    ParallelDispatcher(int maxThreads) {
+        this.executor = new ThreadPoolExecutor(0, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                                               new SynchronousQueue<>(),
+                                               new ThreadFactoryBuilder().setDaemon(true)
+                                                                         .setNameFormat("flexudy-dispatcher-%d")
+                                                                         .build(),
+                                               new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    <I, O> List<O> dispatch(List<I> inputs, int parallelism, Function<I, O> call) {
+        Preconditions.checkArgument(parallelism > 0, "The parallelism must be positive");
+        final Semaphore permits = new Semaphore(parallelism);
+        final List<Future<O>> futures = new ArrayList<>(inputs.size());
+        try {
+            for (I input : inputs) {
+                permits.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        return call.apply(input);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            final List<O> results = new ArrayList<>(futures.size());
+            for (Future<O> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while dispatching parallel requests", ex);
+        } catch (ExecutionException ex) {
+            log.debug("A parallel request failed, cancelling the remaining {} requests", futures.size() - 1);
+            throw propagate(ex.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+}
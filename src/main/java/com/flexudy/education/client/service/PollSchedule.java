@@ -0,0 +1,39 @@
+package com.flexudy.education.client.service;
+
+import com.flexudy.education.client.data.common.JobProgress;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Derives the delay before the next poll of a job from the hints of its last response. A {@code Retry-After} header
+ * wins, then an estimated time to completion, then the remaining time extrapolated from the completed fraction. A
+ * queue position alone carries no timing, so it leaves the configured poll interval in place.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class PollSchedule {
+
+    static final long MIN_HINTED_DELAY_MILLIS = 100;
+
+    static OptionalLong hintedDelayMillis(JobProgress progress, Duration retryAfter, Duration elapsed,
+                                          long pollIntervalMillis) {
+        if (retryAfter != null) {
+            return OptionalLong.of(Math.max(retryAfter.toMillis(), MIN_HINTED_DELAY_MILLIS));
+        }
+        if (progress == null) {
+            return OptionalLong.empty();
+        }
+        final Double etaSeconds = progress.getEtaSeconds();
+        if (etaSeconds != null && etaSeconds >= 0) {
+            return OptionalLong.of(Math.max((long) (etaSeconds * 1000), MIN_HINTED_DELAY_MILLIS));
+        }
+        final Double fraction = progress.getProgress();
+        if (fraction != null && fraction > 0 && fraction < 1) {
+            final long remainingMillis = (long) (elapsed.toMillis() * (1 - fraction) / fraction);
+            return OptionalLong.of(Math.max(Math.min(remainingMillis, pollIntervalMillis), MIN_HINTED_DELAY_MILLIS));
+        }
+        return OptionalLong.empty();
+    }
+}
@@ -0,0 +1,239 @@
+package com.flexudy.education.client.service;
+
+import com.flexudy.education.client.data.common.JobProgress;
+import com.flexudy.education.client.service.diagnostics.ClientEvent;
+import com.flexudy.education.client.service.diagnostics.EventLog;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+@Slf4j
+final class PollingJobHandle<T> implements JobHandle<T> {
+
+    private final String jobId;
+    private final BiFunction<String, Instant, ? extends JobPoll<? extends T>> pollHandler;
+    private final ScheduledExecutorService scheduler;
+    private final EventLog events;
+    private final long pollIntervalMillis;
+    private final long submittedAtNanos;
+    private final Instant deadline;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private final AtomicInteger pollCount = new AtomicInteger();
+
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile JobProgress progress;
+    private volatile Duration elapsedAtTermination;
+    private ScheduledFuture<?> nextPoll;
+    private volatile boolean suspended;
+    private volatile BiConsumer<JobStatus, Throwable> terminationListener;
+
+    PollingJobHandle(String jobId, BiFunction<String, Instant, ? extends JobPoll<? extends T>> pollHandler,
+                     ScheduledExecutorService scheduler, EventLog events, Duration pollInterval, Instant deadline,
+                     JobProgress progress) {
+        this.jobId = jobId;
+        this.pollHandler = pollHandler;
+        this.scheduler = scheduler;
+        this.events = events;
+        this.pollIntervalMillis = pollInterval.toMillis();
+        this.submittedAtNanos = System.nanoTime();
+        this.deadline = deadline;
+        this.progress = progress;
+    }
+
+    @Override
+    public String getJobId() {
+        return jobId;
+    }
+
+    @Override
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public int getPollCount() {
+        return pollCount.get();
+    }
+
+    @Override
+    public Duration getElapsed() {
+        final Duration elapsed = elapsedAtTermination;
+        return elapsed != null ? elapsed : Duration.ofNanos(System.nanoTime() - submittedAtNanos);
+    }
+
+    @Override
+    public Optional<Instant> getDeadline() {
+        return Optional.ofNullable(deadline);
+    }
+
+    @Override
+    public Optional<JobProgress> getProgress() {
+        return Optional.ofNullable(progress);
+    }
+
+    @Override
+    public synchronized boolean cancel(boolean mayInterruptIfRunning) {
+        if (result.isDone()) {
+            return false;
+        }
+        terminate(JobStatus.CANCELLED, null);
+        result.cancel(false);
+        if (nextPoll != null) {
+            nextPoll.cancel(mayInterruptIfRunning);
+        }
+        events.record(ClientEvent.JOB_CANCELLED, jobId, pollCount.get());
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return result.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        return result.get();
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        return result.get(timeout, unit);
+    }
+
+    void onTermination(BiConsumer<JobStatus, Throwable> listener) {
+        this.terminationListener = listener;
+    }
+
+    void onCompletion(Runnable listener) {
+        result.whenComplete((value, cause) -> listener.run());
+    }
+
+    boolean isSuspended() {
+        return suspended;
+    }
+
+    synchronized void suspend() {
+        suspended = true;
+        if (nextPoll != null) {
+            nextPoll.cancel(false);
+        }
+        fail(new IllegalStateException(String.format("Stopped polling for job %s because the client shut down",
+                                                     jobId)));
+    }
+
+    synchronized void schedule(long delayMillis) {
+        if (result.isDone()) {
+            return;
+        }
+        final long boundedDelayMillis = boundByDeadline(delayMillis);
+        if (boundedDelayMillis < 0) {
+            failPastDeadline(null);
+            return;
+        }
+        try {
+            nextPoll = scheduler.schedule(this::poll, boundedDelayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            fail(new IllegalStateException("The client is no longer polling for job results", ex));
+        }
+    }
+
+    private void poll() {
+        if (result.isDone()) {
+            return;
+        }
+        if (isPastDeadline()) {
+            failPastDeadline(null);
+            return;
+        }
+        status = JobStatus.RUNNING;
+        events.record(ClientEvent.JOB_POLLED, jobId, pollCount.incrementAndGet());
+        final JobPoll<? extends T> polled;
+        try {
+            polled = pollHandler.apply(jobId, deadline);
+        } catch (RuntimeException ex) {
+            if (isPastDeadline()) {
+                failPastDeadline(ex);
+            } else {
+                fail(ex);
+            }
+            return;
+        }
+        if (polled.isDone()) {
+            complete(polled.getResult());
+            return;
+        }
+        polled.getProgress().ifPresent(hint -> progress = hint);
+        final long nextPollMillis = PollSchedule.hintedDelayMillis(polled.getProgress().orElse(null),
+                                                                   polled.getRetryAfter().orElse(null), getElapsed(),
+                                                                   pollIntervalMillis)
+                                                .orElse(pollIntervalMillis);
+        final long delayMillis = boundByDeadline(nextPollMillis);
+        if (delayMillis < 0) {
+            failPastDeadline(null);
+            return;
+        }
+        events.record(ClientEvent.JOB_PENDING, jobId, delayMillis);
+        schedule(delayMillis);
+    }
+
+    private long boundByDeadline(long delayMillis) {
+        return deadline == null ? delayMillis
+                : Math.min(delayMillis, Duration.between(Instant.now(), deadline).toMillis());
+    }
+
+    private boolean isPastDeadline() {
+        return deadline != null && !Instant.now().isBefore(deadline);
+    }
+
+    private void failPastDeadline(Throwable cause) {
+        final TimeoutException timeout = new TimeoutException(String.format(
+                "Job %s did not complete before its deadline %s", jobId, deadline));
+        timeout.initCause(cause);
+        fail(timeout);
+    }
+
+    private synchronized void complete(T value) {
+        if (!result.isDone()) {
+            terminate(JobStatus.DONE, null);
+            result.complete(value);
+        }
+    }
+
+    private synchronized void fail(Throwable cause) {
+        if (!result.isDone()) {
+            terminate(JobStatus.FAILED, cause);
+            events.record(ClientEvent.JOB_FAILED, jobId, pollCount.get());
+            result.completeExceptionally(cause);
+        }
+    }
+
+    private void terminate(JobStatus finalStatus, Throwable cause) {
+        elapsedAtTermination = Duration.ofNanos(System.nanoTime() - submittedAtNanos);
+        status = finalStatus;
+        final BiConsumer<JobStatus, Throwable> listener = terminationListener;
+        if (listener != null) {
+            try {
+                listener.accept(finalStatus, cause);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to handle the termination of job {}", jobId, ex);
+            }
+        }
+    }
+}
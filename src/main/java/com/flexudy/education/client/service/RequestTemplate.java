@@ -0,0 +1,44 @@
+package com.flexudy.education.client.service;
+
+import com.flexudy.education.client.service.transport.TransportBody;
+import com.flexudy.education.client.service.transport.TransportRequest;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+@Getter(value = AccessLevel.PACKAGE)
+final class RequestTemplate {
+
+    private final URI url;
+    private final TransportRequest request;
+
+    RequestTemplate(@NonNull String baseUrl, @NonNull String apiPath, @NonNull String licenseKey) {
+        this.url = toHttpUrl(baseUrl + apiPath);
+        this.request = TransportRequest.builder().method(TransportRequest.GET).url(url)
+                                       .headers(Map.of(FlexudyClient.LICENSE_KEY_HEADER_PARAM, licenseKey)).build();
+    }
+
+    TransportRequest post(@NonNull TransportBody body) {
+        return request.toBuilder().method(TransportRequest.POST).body(body).build();
+    }
+
+    TransportRequest get(String queryParameter, String value) {
+        return request.toBuilder().url(URI.create(url + "?" + URLEncoder.encode(queryParameter, StandardCharsets.UTF_8)
+                                                          + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8)))
+                      .build();
+    }
+
+    static URI toHttpUrl(String url) {
+        final URI uri = URI.create(url);
+        if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())
+                || uri.getHost() == null) {
+            throw new IllegalArgumentException(String.format("%s is not an HTTP URL", url));
+        }
+        return uri;
+    }
+}
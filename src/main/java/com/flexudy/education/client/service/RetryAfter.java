@@ -0,0 +1,42 @@
+package com.flexudy.education.client.service;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+final class RetryAfter {
+
+    static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private RetryAfter() {
+    }
+
+    /**
+     * Parses a {@code Retry-After} header given either as delay seconds or as an HTTP date. Returns {@code null} when
+     * the header is absent or malformed.
+     */
+    static Duration parse(String value, Clock clock) {
+        if (StringUtils.isBlank(value)) {
+            return null;
+        }
+        final String trimmed = value.trim();
+        if (StringUtils.isNumeric(trimmed)) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(trimmed));
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+        try {
+            final Duration delay = Duration.between(clock.instant(),
+                    ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.flexudy.education.client.service;
+
+import com.flexudy.education.client.data.common.AsyncRequestData;
+import com.flexudy.education.client.data.quiz.ClozeQuestion;
+import com.flexudy.education.client.data.quiz.OpenQuestion;
+import com.flexudy.education.client.data.quiz.WHQuestion;
+import com.flexudy.education.client.data.summary.Summary;
+
+import java.util.List;
+
+public interface RoutingClient {
+    JobHandle<List<ClozeQuestion>> routeClozeQuiz(AsyncRequestData quizRequest);
+    JobHandle<List<WHQuestion>> routeWHQuiz(AsyncRequestData quizRequest);
+    JobHandle<List<OpenQuestion>> routeOpenQuiz(AsyncRequestData quizRequest);
+    JobHandle<Summary> routeSummary(AsyncRequestData summaryRequest);
+}
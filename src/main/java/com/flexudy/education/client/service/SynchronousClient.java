@@ -1,16 +1,20 @@
 package com.flexudy.education.client.service;
 
 import com.flexudy.education.client.data.common.CommonRequestData;
+import com.flexudy.education.client.data.product.MultiProductResult;
+import com.flexudy.education.client.data.product.Product;
 import com.flexudy.education.client.data.quiz.ClozeQuestion;
 import com.flexudy.education.client.data.quiz.OpenQuestion;
 import com.flexudy.education.client.data.quiz.WHQuestion;
 import com.flexudy.education.client.data.summary.Summary;
 
 import java.util.List;
+import java.util.Set;
 
 public interface SynchronousClient {
     List<ClozeQuestion> generateClozeQuiz(CommonRequestData quizRequest);
     List<WHQuestion> generateWHQuiz(CommonRequestData quizRequest);
     List<OpenQuestion> generateOpenQuiz(CommonRequestData quizRequest);
     Summary generateSummary(CommonRequestData quizRequest);
+    MultiProductResult generateProducts(CommonRequestData request, Set<Product> products);
 }
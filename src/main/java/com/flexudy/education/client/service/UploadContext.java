@@ -0,0 +1,52 @@
+package com.flexudy.education.client.service;
+
+import com.flexudy.education.client.service.admission.ByteBudget;
+import com.flexudy.education.client.service.buffer.BufferedContent;
+import com.flexudy.education.client.service.buffer.DirectBufferPool;
+import com.flexudy.education.client.service.buffer.PooledContent;
+import com.flexudy.education.client.service.buffer.SpooledContent;
+import com.flexudy.education.client.service.buffer.SpoolingConfig;
+import lombok.AccessLevel;
+import lombok.Getter;
+import com.flexudy.education.client.service.transport.TransportBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+final class UploadContext implements AutoCloseable {
+
+    @Getter(value = AccessLevel.PACKAGE)
+    private final ByteBudget.Reservation reservation;
+
+    private final DirectBufferPool bufferPool;
+    private final SpoolingConfig spoolingConfig;
+    private final List<BufferedContent> bufferedContents = new ArrayList<>();
+
+    UploadContext(ByteBudget uploadBudget, DirectBufferPool bufferPool, SpoolingConfig spoolingConfig) {
+        this.reservation = uploadBudget == null ? null : uploadBudget.newReservation();
+        this.bufferPool = bufferPool;
+        this.spoolingConfig = spoolingConfig;
+    }
+
+    boolean isBuffered() {
+        return bufferPool != null || spoolingConfig != null;
+    }
+
+    TransportBody readBuffered(InputStream inputStream) throws IOException {
+        final BufferedContent content = spoolingConfig != null
+                ? SpooledContent.read(inputStream, spoolingConfig, reservation)
+                : PooledContent.read(inputStream, bufferPool, reservation);
+        bufferedContents.add(content);
+        return content.toTransportBody(null);
+    }
+
+    @Override
+    public void close() {
+        bufferedContents.forEach(BufferedContent::close);
+        if (reservation != null) {
+            reservation.close();
+        }
+    }
+}
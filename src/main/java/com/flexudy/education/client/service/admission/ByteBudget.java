@@ -0,0 +1,193 @@
+package com.flexudy.education.client.service.admission;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A global budget for upload bytes buffered in memory. Uploads reserve each window of their content before reading it
+ * and release the whole reservation once their request has completed. An upload that has to wait for budget hands
+ * back the windows it already holds while it waits and reacquires them together with the new window, so uploads
+ * never block each other while each holding part of the budget. Reading a stream into a single array charges the
+ * array on top of the windows it is copied from, so the budget also bounds the transient copy.
+ */
+@Slf4j
+public class ByteBudget {
+
+    public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.WAIT;
+    public static final long DEFAULT_MAX_WAIT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    public static final int DEFAULT_WINDOW_BYTES = 64 * 1024;
+
+    @Getter
+    private final long maxBytes;
+
+    @Getter
+    private final OverflowPolicy overflowPolicy;
+
+    @Getter
+    private final long maxWaitMillis;
+
+    @Getter
+    private final int windowBytes;
+
+    private long usedBytes;
+    private int waitingReservations;
+
+    @Builder
+    ByteBudget(@NonNull Long maxBytes, OverflowPolicy overflowPolicy, Long maxWaitMillis, Integer windowBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("The upload budget must be positive");
+        }
+        this.maxBytes = maxBytes;
+        this.overflowPolicy = Optional.ofNullable(overflowPolicy).orElse(DEFAULT_OVERFLOW_POLICY);
+        this.maxWaitMillis = Optional.ofNullable(maxWaitMillis).orElse(DEFAULT_MAX_WAIT_MILLIS);
+        this.windowBytes = (int) Math.min(maxBytes, Optional.ofNullable(windowBytes).orElse(DEFAULT_WINDOW_BYTES));
+        if (this.windowBytes <= 0) {
+            throw new IllegalArgumentException("The upload window must be positive");
+        }
+    }
+
+    public static ByteBudget of(long maxBytes) {
+        return ByteBudget.builder().maxBytes(maxBytes).build();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized long getAvailableBytes() {
+        return maxBytes - usedBytes;
+    }
+
+    public synchronized int getWaitingReservations() {
+        return waitingReservations;
+    }
+
+    public Reservation newReservation() {
+        return new Reservation();
+    }
+
+    private synchronized void acquire(long bytes, long heldBytes) {
+        if (heldBytes + bytes > maxBytes) {
+            throw new IllegalArgumentException(String.format(
+                    "Reserving %d more bytes exceeds the upload budget of %d bytes", bytes, maxBytes));
+        }
+        if (usedBytes + bytes <= maxBytes) {
+            usedBytes += bytes;
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.REJECT) {
+            throw new IllegalStateException(String.format("The upload budget of %d bytes is exhausted", maxBytes));
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        usedBytes -= heldBytes;
+        if (heldBytes > 0) {
+            notifyAll();
+        }
+        boolean acquired = false;
+        waitingReservations++;
+        try {
+            while (usedBytes + heldBytes + bytes > maxBytes) {
+                final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    throw new IllegalStateException(String.format(
+                            "Timed out after %d ms waiting for %d bytes of the upload budget", maxWaitMillis, bytes));
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Waiting for {} bytes of the upload budget ({} of {} bytes in use)", bytes, usedBytes,
+                              maxBytes);
+                }
+                wait(remainingMillis);
+            }
+            acquired = true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the upload budget", ex);
+        } finally {
+            waitingReservations--;
+            // The held windows are still accounted to the reservation, which releases them when it is closed
+            usedBytes += acquired ? heldBytes + bytes : heldBytes;
+        }
+    }
+
+    private synchronized void release(long bytes) {
+        if (bytes > 0) {
+            usedBytes -= bytes;
+            notifyAll();
+        }
+    }
+
+    public final class Reservation implements AutoCloseable {
+
+        private long reservedBytes;
+
+        private Reservation() {
+        }
+
+        public synchronized long getReservedBytes() {
+            return reservedBytes;
+        }
+
+        public synchronized void reserve(long bytes) {
+            acquire(bytes, reservedBytes);
+            reservedBytes += bytes;
+        }
+
+        public synchronized void release(long bytes) {
+            if (bytes > reservedBytes) {
+                throw new IllegalArgumentException(String.format("Only %d bytes are reserved", reservedBytes));
+            }
+            reservedBytes -= bytes;
+            ByteBudget.this.release(bytes);
+        }
+
+        public synchronized byte[] read(@NonNull InputStream inputStream) throws IOException {
+            final List<byte[]> windows = new ArrayList<>();
+            int totalBytes = 0;
+            while (true) {
+                reserve(windowBytes);
+                final byte[] window = new byte[windowBytes];
+                final int read = inputStream.readNBytes(window, 0, windowBytes);
+                totalBytes = Math.addExact(totalBytes, read);
+                if (read < windowBytes) {
+                    release(windowBytes - read);
+                    if (read > 0) {
+                        windows.add(window);
+                    }
+                    break;
+                }
+                windows.add(window);
+            }
+            if (windows.size() == 1 && totalBytes == windowBytes) {
+                return windows.get(0);
+            }
+            // The windows are still held while they are copied, so the contents are charged on top of them and each
+            // window is released as soon as it has been copied
+            reserve(totalBytes);
+            final byte[] contents = new byte[totalBytes];
+            int offset = 0;
+            for (ListIterator<byte[]> iterator = windows.listIterator(); iterator.hasNext(); ) {
+                final int length = Math.min(windowBytes, totalBytes - offset);
+                System.arraycopy(iterator.next(), 0, contents, offset, length);
+                iterator.set(null);
+                offset += length;
+                release(length);
+            }
+            return contents;
+        }
+
+        @Override
+        public synchronized void close() {
+            release(reservedBytes);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.flexudy.education.client.service.admission;
+
+public enum OverflowPolicy {
+    WAIT, REJECT
+}
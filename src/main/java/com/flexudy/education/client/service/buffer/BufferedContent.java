@@ -0,0 +1,13 @@
+package com.flexudy.education.client.service.buffer;
+
+import com.flexudy.education.client.service.transport.TransportBody;
+
+import java.io.Closeable;
+
+public interface BufferedContent extends Closeable {
+    long getSize();
+    TransportBody toTransportBody(String contentType);
+
+    @Override
+    void close();
+}
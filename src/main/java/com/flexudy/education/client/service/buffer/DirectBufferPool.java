@@ -0,0 +1,66 @@
+package com.flexudy.education.client.service.buffer;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DirectBufferPool {
+
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024;
+    public static final int DEFAULT_MAX_POOLED_SEGMENTS = 256;
+
+    @Getter
+    private final int segmentBytes;
+
+    @Getter
+    private final int maxPooledSegments;
+
+    private final Queue<ByteBuffer> segments = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledSegments = new AtomicInteger();
+    private final AtomicLong allocatedSegments = new AtomicLong();
+
+    @Builder
+    DirectBufferPool(Integer segmentBytes, Integer maxPooledSegments) {
+        this.segmentBytes = Optional.ofNullable(segmentBytes).orElse(DEFAULT_SEGMENT_BYTES);
+        this.maxPooledSegments = Optional.ofNullable(maxPooledSegments).orElse(DEFAULT_MAX_POOLED_SEGMENTS);
+        if (this.segmentBytes <= 0 || this.maxPooledSegments < 0) {
+            throw new IllegalArgumentException("The segment size must be positive and the pool size not negative");
+        }
+    }
+
+    public ByteBuffer acquire() {
+        final ByteBuffer segment = segments.poll();
+        if (segment == null) {
+            allocatedSegments.incrementAndGet();
+            return ByteBuffer.allocateDirect(segmentBytes);
+        }
+        pooledSegments.decrementAndGet();
+        return segment.clear();
+    }
+
+    public void release(@NonNull ByteBuffer segment) {
+        if (!segment.isDirect() || segment.capacity() != segmentBytes) {
+            throw new IllegalArgumentException("The segment was not acquired from this pool");
+        }
+        if (pooledSegments.incrementAndGet() <= maxPooledSegments) {
+            segments.offer(segment);
+        } else {
+            pooledSegments.decrementAndGet();
+        }
+    }
+
+    public int getPooledSegments() {
+        return pooledSegments.get();
+    }
+
+    public long getAllocatedSegments() {
+        return allocatedSegments.get();
+    }
+}
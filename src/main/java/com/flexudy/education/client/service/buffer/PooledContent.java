@@ -0,0 +1,142 @@
+package com.flexudy.education.client.service.buffer;
+
+import com.flexudy.education.client.service.admission.ByteBudget;
+import com.flexudy.education.client.service.transport.TransportBodies;
+import com.flexudy.education.client.service.transport.TransportBody;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Upload content buffered in pooled direct segments, so that large files never land in a single heap array. The
+ * segments can be written by several requests at once and return to their pool once the content is closed and no
+ * request is still writing them.
+ */
+public final class PooledContent implements BufferedContent {
+
+    private final DirectBufferPool pool;
+    private final List<ByteBuffer> segments;
+
+    @Getter
+    private final long size;
+
+    private boolean closed;
+    private int writers;
+
+    private PooledContent(DirectBufferPool pool, List<ByteBuffer> segments, long size) {
+        this.pool = pool;
+        this.segments = segments;
+        this.size = size;
+    }
+
+    public static PooledContent read(@NonNull InputStream inputStream, @NonNull DirectBufferPool pool,
+                                     ByteBudget.Reservation reservation) throws IOException {
+        final ReadableByteChannel channel = Channels.newChannel(inputStream);
+        final List<ByteBuffer> segments = new ArrayList<>();
+        long size = 0;
+        try {
+            while (true) {
+                if (reservation != null) {
+                    reservation.reserve(pool.getSegmentBytes());
+                }
+                final ByteBuffer segment = pool.acquire();
+                segments.add(segment);
+                int read = 0;
+                while (segment.hasRemaining() && read >= 0) {
+                    read = channel.read(segment);
+                }
+                size += segment.position();
+                segment.flip();
+                if (segment.limit() < segment.capacity()) {
+                    if (reservation != null) {
+                        reservation.release(segment.capacity() - segment.limit());
+                    }
+                    return new PooledContent(pool, segments, size);
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            segments.forEach(pool::release);
+            throw ex;
+        }
+    }
+
+    @Override
+    public synchronized TransportBody toTransportBody(String contentType) {
+        if (closed) {
+            throw new IllegalStateException("The pooled content has already been released");
+        }
+        return new TransportBody() {
+            @Override
+            public String getContentType() {
+                return contentType;
+            }
+
+            @Override
+            public long getContentLength() {
+                return size;
+            }
+
+            @Override
+            public void writeTo(WritableByteChannel channel) throws IOException {
+                beginWrite();
+                try {
+                    for (ByteBuffer segment : segments) {
+                        TransportBodies.writeFully(channel, segment.duplicate());
+                    }
+                } finally {
+                    endWrite();
+                }
+            }
+        };
+    }
+
+    /**
+     * Waits for requests that are still writing the content before returning its segments to the pool. If the wait is
+     * interrupted, the last writer returns them instead.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            while (writers > 0) {
+                wait();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        releaseSegments();
+    }
+
+    private synchronized void beginWrite() throws IOException {
+        if (closed) {
+            throw new IOException("The pooled content has already been released");
+        }
+        writers++;
+    }
+
+    private synchronized void endWrite() {
+        if (--writers == 0) {
+            if (closed) {
+                releaseSegments();
+            }
+            notifyAll();
+        }
+    }
+
+    private void releaseSegments() {
+        segments.forEach(pool::release);
+        segments.clear();
+    }
+}
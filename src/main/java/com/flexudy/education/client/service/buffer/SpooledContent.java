@@ -0,0 +1,221 @@
+package com.flexudy.education.client.service.buffer;
+
+import com.flexudy.education.client.service.admission.ByteBudget;
+import com.flexudy.education.client.service.transport.TransportBodies;
+import com.flexudy.education.client.service.transport.TransportBody;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Upload content that is read from its stream exactly once. Content up to the spooling threshold is kept in memory,
+ * larger content is spooled to a temporary file and transferred from it on every send, so that it can be sent any
+ * number of times without being copied onto the heap. The temporary file is deleted once the content is closed and no
+ * request is still sending it.
+ */
+@Slf4j
+public final class SpooledContent implements BufferedContent {
+
+    private static final long MAX_TRANSFER_BYTES = 1L << 30;
+    private static final int MAX_PREFIX_BYTES = Integer.MAX_VALUE - 8;
+    private static final int INITIAL_PREFIX_BYTES = 8 * 1024;
+    private static final String SPOOL_FILE_PREFIX = "flexudy-upload-";
+    private static final String SPOOL_FILE_SUFFIX = ".spool";
+
+    private final ByteBuffer memoryContent;
+
+    @Getter
+    private final long size;
+
+    private final Path spoolFile;
+
+    private boolean closed;
+    private int writers;
+
+    private SpooledContent(ByteBuffer memoryContent, long size, Path spoolFile) {
+        this.memoryContent = memoryContent;
+        this.size = size;
+        this.spoolFile = spoolFile;
+    }
+
+    public static SpooledContent read(@NonNull InputStream inputStream, @NonNull SpoolingConfig config,
+                                      ByteBudget.Reservation reservation) throws IOException {
+        final int limit = (int) Math.min(config.getThresholdBytes() + 1, MAX_PREFIX_BYTES);
+        if (reservation != null) {
+            reservation.reserve(limit);
+        }
+        final byte[] prefix;
+        try {
+            prefix = readPrefix(inputStream, limit);
+        } catch (IOException | RuntimeException ex) {
+            releaseReserved(reservation, limit);
+            throw ex;
+        }
+        if (prefix.length < limit) {
+            releaseReserved(reservation, limit - prefix.length);
+            return new SpooledContent(ByteBuffer.wrap(prefix), prefix.length, null);
+        }
+        try {
+            return spool(prefix, inputStream, config.getDirectory());
+        } finally {
+            releaseReserved(reservation, limit);
+        }
+    }
+
+    public boolean isSpooled() {
+        return spoolFile != null;
+    }
+
+    @Override
+    public synchronized TransportBody toTransportBody(String contentType) {
+        if (closed) {
+            throw new IllegalStateException("The spooled content has already been released");
+        }
+        return new TransportBody() {
+            @Override
+            public String getContentType() {
+                return contentType;
+            }
+
+            @Override
+            public long getContentLength() {
+                return size;
+            }
+
+            @Override
+            public void writeTo(WritableByteChannel channel) throws IOException {
+                beginWrite();
+                try {
+                    if (spoolFile == null) {
+                        TransportBodies.writeFully(channel, memoryContent.duplicate());
+                    } else {
+                        transferSpoolFile(channel);
+                    }
+                } finally {
+                    endWrite();
+                }
+            }
+        };
+    }
+
+    /**
+     * Waits for requests that are still sending the content before deleting the temporary file. If the wait is
+     * interrupted, the last writer deletes it instead.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            while (writers > 0) {
+                wait();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        release();
+    }
+
+    private void transferSpoolFile(WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(spoolFile, StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < size) {
+                final long transferred = channel.transferTo(position, Math.min(MAX_TRANSFER_BYTES, size - position),
+                                                            target);
+                if (transferred <= 0) {
+                    throw new IOException(String.format("The spool file %s ended after %d of %d bytes", spoolFile,
+                                                        position, size));
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private synchronized void beginWrite() throws IOException {
+        if (closed) {
+            throw new IOException("The spooled content has already been released");
+        }
+        writers++;
+    }
+
+    private synchronized void endWrite() {
+        if (--writers == 0) {
+            if (closed) {
+                release();
+            }
+            notifyAll();
+        }
+    }
+
+    private void release() {
+        if (spoolFile != null) {
+            deleteSpoolFile(spoolFile);
+        }
+    }
+
+    private static SpooledContent spool(byte[] prefix, InputStream inputStream, Path directory) throws IOException {
+        final Path spoolFile = Files.createTempFile(directory, SPOOL_FILE_PREFIX, SPOOL_FILE_SUFFIX);
+        try (FileChannel channel = FileChannel.open(spoolFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(prefix));
+            final ReadableByteChannel source = Channels.newChannel(inputStream);
+            long size = prefix.length;
+            long transferred;
+            do {
+                transferred = channel.transferFrom(source, size, MAX_TRANSFER_BYTES);
+                size += transferred;
+            } while (transferred > 0);
+            if (log.isDebugEnabled()) {
+                log.debug("Spooled {} upload bytes to {}", size, spoolFile);
+            }
+            return new SpooledContent(null, size, spoolFile);
+        } catch (IOException | RuntimeException ex) {
+            deleteSpoolFile(spoolFile);
+            throw ex;
+        }
+    }
+
+    private static byte[] readPrefix(InputStream inputStream, int limit) throws IOException {
+        byte[] buffer = new byte[Math.min(limit, INITIAL_PREFIX_BYTES)];
+        int count = 0;
+        while (count < limit) {
+            if (count == buffer.length) {
+                buffer = Arrays.copyOf(buffer, (int) Math.min(limit, buffer.length * 2L));
+            }
+            final int read = inputStream.read(buffer, count, buffer.length - count);
+            if (read < 0) {
+                break;
+            }
+            count += read;
+        }
+        return count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+    }
+
+    private static void releaseReserved(ByteBudget.Reservation reservation, long bytes) {
+        if (reservation != null) {
+            reservation.release(bytes);
+        }
+    }
+
+    private static void deleteSpoolFile(Path spoolFile) {
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException ex) {
+            log.debug("Failed to delete spool file {}", spoolFile, ex);
+        }
+    }
+}
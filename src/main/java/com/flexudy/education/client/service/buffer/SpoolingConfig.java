@@ -0,0 +1,26 @@
+package com.flexudy.education.client.service.buffer;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+@Builder
+@Getter
+public class SpoolingConfig {
+
+    public static final long DEFAULT_THRESHOLD_BYTES = 1024 * 1024;
+
+    private Long thresholdBytes;
+    private Path directory;
+
+    public long getThresholdBytes() {
+        return Optional.ofNullable(thresholdBytes).orElse(DEFAULT_THRESHOLD_BYTES);
+    }
+
+    public Path getDirectory() {
+        return Optional.ofNullable(directory).orElse(Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+}
@@ -0,0 +1,25 @@
+package com.flexudy.education.client.service.chunking;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Optional;
+
+@Builder
+@Getter
+public class ChunkingConfig {
+
+    public static final int DEFAULT_MAX_CHUNK_CHARACTERS = 20_000;
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private Integer maxChunkCharacters;
+    private Integer parallelism;
+
+    public int getMaxChunkCharacters() {
+        return Optional.ofNullable(maxChunkCharacters).orElse(DEFAULT_MAX_CHUNK_CHARACTERS);
+    }
+
+    public int getParallelism() {
+        return Optional.ofNullable(parallelism).orElse(DEFAULT_PARALLELISM);
+    }
+}
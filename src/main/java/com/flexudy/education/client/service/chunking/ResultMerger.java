@@ -0,0 +1,28 @@
+package com.flexudy.education.client.service.chunking;
+
+import com.flexudy.education.client.data.summary.Summary;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ResultMerger {
+
+    public static <T> List<T> mergeQuestions(@NonNull List<List<T>> results) {
+        final Set<T> questions = new LinkedHashSet<>();
+        results.stream().filter(Objects::nonNull).forEach(questions::addAll);
+        return new ArrayList<>(questions);
+    }
+
+    public static Summary mergeSummaries(@NonNull List<Summary> results) {
+        final List<String> facts = new ArrayList<>();
+        results.stream().filter(Objects::nonNull).map(Summary::getFacts).filter(Objects::nonNull).forEach(facts::addAll);
+        return new Summary(facts);
+    }
+}
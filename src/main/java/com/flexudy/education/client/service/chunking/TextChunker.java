@@ -0,0 +1,72 @@
+package com.flexudy.education.client.service.chunking;
+
+import com.google.common.base.Preconditions;
+import lombok.NonNull;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class TextChunker {
+
+    private static final String PARAGRAPH_SEPARATOR = "\n\n";
+
+    private final int maxChunkCharacters;
+
+    public TextChunker(int maxChunkCharacters) {
+        Preconditions.checkArgument(maxChunkCharacters > 0, "The maximum chunk size must be positive");
+        this.maxChunkCharacters = maxChunkCharacters;
+    }
+
+    public boolean isChunkable(String text) {
+        return text != null && text.length() > maxChunkCharacters;
+    }
+
+    public List<String> split(@NonNull String text) {
+        final List<String> chunks = new ArrayList<>();
+        final BreakIterator sentences = BreakIterator.getSentenceInstance(Locale.ROOT);
+        sentences.setText(text);
+        int start = skipWhitespace(text, 0);
+        while (text.length() - start > maxChunkCharacters) {
+            final int end = findChunkEnd(text, start, sentences);
+            addChunk(chunks, text, start, end);
+            start = skipWhitespace(text, end);
+        }
+        addChunk(chunks, text, start, text.length());
+        return chunks;
+    }
+
+    private int findChunkEnd(String text, int start, BreakIterator sentences) {
+        final int limit = start + maxChunkCharacters;
+        final int paragraphEnd = text.lastIndexOf(PARAGRAPH_SEPARATOR, limit);
+        if (paragraphEnd > start + maxChunkCharacters / 2) {
+            return paragraphEnd;
+        }
+        final int sentenceEnd = sentences.preceding(limit + 1);
+        if (sentenceEnd > start) {
+            return sentenceEnd;
+        }
+        for (int i = limit; i > start; i--) {
+            if (Character.isWhitespace(text.charAt(i - 1))) {
+                return i;
+            }
+        }
+        return Character.isHighSurrogate(text.charAt(limit - 1)) && limit - 1 > start ? limit - 1 : limit;
+    }
+
+    private static int skipWhitespace(String text, int start) {
+        int index = start;
+        while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static void addChunk(List<String> chunks, String text, int start, int end) {
+        final String chunk = text.substring(start, end).trim();
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.flexudy.education.client.service.chunking;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Optional;
+
+@Builder
+@Getter
+public class UrlBatchingConfig {
+
+    public static final int DEFAULT_MAX_URLS_PER_REQUEST = 50;
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private Integer maxUrlsPerRequest;
+    private Integer parallelism;
+
+    public int getMaxUrlsPerRequest() {
+        return Optional.ofNullable(maxUrlsPerRequest).orElse(DEFAULT_MAX_URLS_PER_REQUEST);
+    }
+
+    public int getParallelism() {
+        return Optional.ofNullable(parallelism).orElse(DEFAULT_PARALLELISM);
+    }
+}
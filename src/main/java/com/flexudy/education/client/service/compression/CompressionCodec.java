@@ -0,0 +1,12 @@
+package com.flexudy.education.client.service.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface CompressionCodec {
+
+    String getEncoding();
+    OutputStream compress(OutputStream outputStream) throws IOException;
+    InputStream decompress(InputStream inputStream) throws IOException;
+}
@@ -0,0 +1,123 @@
+package com.flexudy.education.client.service.compression;
+
+import com.google.common.collect.ImmutableMap;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.*;
+import okhttp3.internal.http.HttpHeaders;
+import okio.BufferedSink;
+import okio.Okio;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+public class CompressionInterceptor implements Interceptor {
+
+    static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    private static final String CONTENT_LENGTH_HEADER = "Content-Length";
+
+    private final CompressionCodec requestCodec;
+    private final long thresholdBytes;
+    private final Map<String, CompressionCodec> responseCodecs;
+    private final String acceptEncoding;
+
+    public CompressionInterceptor(@NonNull CompressionCodec requestCodec, long thresholdBytes) {
+        this.requestCodec = requestCodec;
+        this.thresholdBytes = thresholdBytes;
+        final Map<String, CompressionCodec> codecs = new LinkedHashMap<>();
+        codecs.put(requestCodec.getEncoding(), requestCodec);
+        codecs.putIfAbsent(GzipCompressionCodec.GZIP_ENCODING, new GzipCompressionCodec());
+        this.responseCodecs = ImmutableMap.copyOf(codecs);
+        this.acceptEncoding = String.join(", ", responseCodecs.keySet());
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        final Request.Builder requestBuilder = request.newBuilder();
+        if (request.header(ACCEPT_ENCODING_HEADER) == null) {
+            requestBuilder.header(ACCEPT_ENCODING_HEADER, acceptEncoding);
+        }
+        if (shouldCompress(request.body()) && request.header(CONTENT_ENCODING_HEADER) == null) {
+            requestBuilder.header(CONTENT_ENCODING_HEADER, requestCodec.getEncoding())
+                          .method(request.method(), new CompressedRequestBody(request.body(), requestCodec));
+        }
+        return decompress(chain.proceed(requestBuilder.build()));
+    }
+
+    private boolean shouldCompress(RequestBody body) throws IOException {
+        if (body == null) {
+            return false;
+        }
+        final long contentLength = body.contentLength();
+        return contentLength < 0 || contentLength >= thresholdBytes;
+    }
+
+    private Response decompress(Response response) throws IOException {
+        final ResponseBody body = response.body();
+        final String encoding = response.header(CONTENT_ENCODING_HEADER);
+        final CompressionCodec codec = Optional.ofNullable(encoding).map(e -> responseCodecs.get(e.trim().toLowerCase()))
+                                               .orElse(null);
+        if (body == null || codec == null || !HttpHeaders.promisesBody(response) || body.contentLength() == 0) {
+            // HEAD, 204 and 304 responses keep the header but carry nothing to decode
+            return response;
+        }
+        log.debug("Decompressing {} encoded response", encoding);
+        final ResponseBody decompressedBody = ResponseBody.create(
+                Okio.buffer(Okio.source(codec.decompress(body.byteStream()))), body.contentType(), -1L);
+        return response.newBuilder().removeHeader(CONTENT_ENCODING_HEADER).removeHeader(CONTENT_LENGTH_HEADER)
+                       .body(decompressedBody).build();
+    }
+
+    private static final class CompressedRequestBody extends RequestBody {
+
+        private final RequestBody delegate;
+        private final CompressionCodec codec;
+
+        private CompressedRequestBody(RequestBody delegate, CompressionCodec codec) {
+            this.delegate = delegate;
+            this.codec = codec;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return -1L;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            final OutputStream compressedStream = codec.compress(new NonClosingOutputStream(sink.outputStream()));
+            try (BufferedSink compressedSink = Okio.buffer(Okio.sink(compressedStream))) {
+                delegate.writeTo(compressedSink);
+            }
+        }
+    }
+
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
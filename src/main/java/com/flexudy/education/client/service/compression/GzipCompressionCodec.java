@@ -0,0 +1,29 @@
+package com.flexudy.education.client.service.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class GzipCompressionCodec implements CompressionCodec {
+
+    public static final String GZIP_ENCODING = "gzip";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @Override
+    public String getEncoding() {
+        return GZIP_ENCODING;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream outputStream) throws IOException {
+        return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+    }
+
+    @Override
+    public InputStream decompress(InputStream inputStream) throws IOException {
+        return new GZIPInputStream(inputStream, BUFFER_SIZE);
+    }
+}
@@ -0,0 +1,26 @@
+package com.flexudy.education.client.service.diagnostics;
+
+import lombok.Getter;
+
+@Getter
+public enum ClientEvent {
+    REQUEST_SUCCEEDED("request.succeeded", "path={} status={} durationMs={}", true),
+    REQUEST_FAILED("request.failed", "path={} status={} durationMs={}", false),
+    REQUEST_IO_ERROR("request.io_error", "path={} durationMs={}", false),
+    JOB_SUBMITTED("job.submitted", "path={} jobId={}", true),
+    JOB_SCHEDULED("job.scheduled", "jobId={} pollIntervalSeconds={} firstPollMs={}", true),
+    JOB_POLLED("job.polled", "jobId={} pollCount={}", true),
+    JOB_PENDING("job.pending", "jobId={} nextPollMs={}", true),
+    JOB_CANCELLED("job.cancelled", "jobId={} pollCount={}", false),
+    JOB_FAILED("job.failed", "jobId={} pollCount={}", false);
+
+    private final String key;
+    private final String pattern;
+    private final boolean sampled;
+
+    ClientEvent(String key, String fields, boolean sampled) {
+        this.key = key;
+        this.pattern = "event=" + key + " " + fields;
+        this.sampled = sampled;
+    }
+}
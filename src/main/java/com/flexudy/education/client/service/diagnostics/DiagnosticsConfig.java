@@ -0,0 +1,19 @@
+package com.flexudy.education.client.service.diagnostics;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Optional;
+
+@Builder
+@Getter
+public class DiagnosticsConfig {
+
+    public static final int DEFAULT_SAMPLE_RATE = 1;
+
+    private Integer sampleRate;
+
+    public int getSampleRate() {
+        return Optional.ofNullable(sampleRate).orElse(DEFAULT_SAMPLE_RATE);
+    }
+}
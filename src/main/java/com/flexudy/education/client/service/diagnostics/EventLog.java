@@ -0,0 +1,63 @@
+package com.flexudy.education.client.service.diagnostics;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Structured debug events of the client, written to the {@value #LOGGER_NAME} logger as {@code event=<key> field=value}
+ * lines. Routine events are sampled, failures are always written. Nothing is formatted or boxed unless the event is
+ * actually written.
+ */
+public class EventLog {
+
+    public static final String LOGGER_NAME = "com.flexudy.education.client.events";
+
+    private final Logger logger;
+
+    @Getter
+    private final int sampleRate;
+
+    private final AtomicLongArray counters = new AtomicLongArray(ClientEvent.values().length);
+
+    public EventLog(@NonNull Logger logger, int sampleRate) {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("The sample rate must be positive");
+        }
+        this.logger = logger;
+        this.sampleRate = sampleRate;
+    }
+
+    public static EventLog of(DiagnosticsConfig config) {
+        final int sampleRate = config == null ? DiagnosticsConfig.DEFAULT_SAMPLE_RATE : config.getSampleRate();
+        return new EventLog(LoggerFactory.getLogger(LOGGER_NAME), sampleRate);
+    }
+
+    public boolean isEnabled(ClientEvent event) {
+        if (!logger.isDebugEnabled()) {
+            return false;
+        }
+        return !event.isSampled() || sampleRate == 1 || counters.getAndIncrement(event.ordinal()) % sampleRate == 0;
+    }
+
+    public void record(ClientEvent event, Object first, long second) {
+        if (isEnabled(event)) {
+            logger.debug(event.getPattern(), first, second);
+        }
+    }
+
+    public void record(ClientEvent event, Object first, Object second) {
+        if (isEnabled(event)) {
+            logger.debug(event.getPattern(), first, second);
+        }
+    }
+
+    public void record(ClientEvent event, Object first, long second, long third) {
+        if (isEnabled(event)) {
+            logger.debug(event.getPattern(), first, second, third);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.flexudy.education.client.service.image;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.awt.geom.AffineTransform;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the EXIF orientation of JPEG images. Image decoders ignore it, so images taken with a rotated camera would
+ * otherwise be re-encoded sideways.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ExifOrientation {
+
+    static final int NORMAL = 1;
+
+    private static final int MAX_ORIENTATION = 8;
+    private static final int FIRST_TRANSPOSED_ORIENTATION = 5;
+    private static final int MARKER_PREFIX = 0xFF;
+    private static final int START_OF_IMAGE = 0xD8;
+    private static final int START_OF_SCAN = 0xDA;
+    private static final int END_OF_IMAGE = 0xD9;
+    private static final int APP1 = 0xE1;
+    private static final byte[] EXIF_HEADER = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final int IFD_ENTRY_BYTES = 12;
+
+    /**
+     * Returns the EXIF orientation (1 to 8) of a JPEG image, or {@link #NORMAL} if it has none.
+     */
+    static int read(byte[] image) {
+        if (image.length < 4 || (image[0] & 0xFF) != MARKER_PREFIX || (image[1] & 0xFF) != START_OF_IMAGE) {
+            return NORMAL;
+        }
+        int offset = 2;
+        while (offset + 4 <= image.length && (image[offset] & 0xFF) == MARKER_PREFIX) {
+            final int marker = image[offset + 1] & 0xFF;
+            final int length = readShort(image, offset + 2, true);
+            if (marker == START_OF_SCAN || marker == END_OF_IMAGE || length < 2) {
+                break;
+            }
+            final int segmentEnd = Math.min(image.length, offset + 2 + length);
+            if (marker == APP1 && startsWith(image, offset + 4, segmentEnd, EXIF_HEADER)) {
+                return readTiffOrientation(image, offset + 4 + EXIF_HEADER.length, segmentEnd);
+            }
+            offset = segmentEnd;
+        }
+        return NORMAL;
+    }
+
+    static boolean isTransposed(int orientation) {
+        return orientation >= FIRST_TRANSPOSED_ORIENTATION;
+    }
+
+    /**
+     * Returns the transform that turns a decoded image of the given size upright.
+     */
+    static AffineTransform toTransform(int orientation, int width, int height) {
+        switch (orientation) {
+            case 2:
+                return new AffineTransform(-1, 0, 0, 1, width, 0);
+            case 3:
+                return new AffineTransform(-1, 0, 0, -1, width, height);
+            case 4:
+                return new AffineTransform(1, 0, 0, -1, 0, height);
+            case 5:
+                return new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6:
+                return new AffineTransform(0, 1, -1, 0, height, 0);
+            case 7:
+                return new AffineTransform(0, -1, -1, 0, height, width);
+            case 8:
+                return new AffineTransform(0, -1, 1, 0, 0, width);
+            default:
+                return new AffineTransform();
+        }
+    }
+
+    private static int readTiffOrientation(byte[] image, int tiffStart, int end) {
+        if (tiffStart + 8 > end) {
+            return NORMAL;
+        }
+        final boolean bigEndian = image[tiffStart] == 'M' && image[tiffStart + 1] == 'M';
+        if (!bigEndian && !(image[tiffStart] == 'I' && image[tiffStart + 1] == 'I')) {
+            return NORMAL;
+        }
+        final long ifdOffset = readInt(image, tiffStart + 4, bigEndian) & 0xFFFF_FFFFL;
+        if (ifdOffset > end - tiffStart - 2) {
+            return NORMAL;
+        }
+        final int ifd = tiffStart + (int) ifdOffset;
+        final int entries = readShort(image, ifd, bigEndian);
+        for (int i = 0; i < entries; i++) {
+            final int entry = ifd + 2 + i * IFD_ENTRY_BYTES;
+            if (entry + IFD_ENTRY_BYTES > end) {
+                break;
+            }
+            if (readShort(image, entry, bigEndian) == ORIENTATION_TAG) {
+                final int orientation = readShort(image, entry + 8, bigEndian);
+                return orientation >= NORMAL && orientation <= MAX_ORIENTATION ? orientation : NORMAL;
+            }
+        }
+        return NORMAL;
+    }
+
+    private static boolean startsWith(byte[] image, int offset, int end, byte[] prefix) {
+        if (offset + prefix.length > end) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (image[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readShort(byte[] image, int offset, boolean bigEndian) {
+        final int first = image[offset] & 0xFF;
+        final int second = image[offset + 1] & 0xFF;
+        return bigEndian ? (first << 8) | second : (second << 8) | first;
+    }
+
+    private static int readInt(byte[] image, int offset, boolean bigEndian) {
+        final int first = readShort(image, offset, bigEndian);
+        final int second = readShort(image, offset + 2, bigEndian);
+        return bigEndian ? (first << 16) | second : (second << 16) | first;
+    }
+}
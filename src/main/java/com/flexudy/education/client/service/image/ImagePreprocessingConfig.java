@@ -0,0 +1,37 @@
+package com.flexudy.education.client.service.image;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Optional;
+
+@Builder
+@Getter
+public class ImagePreprocessingConfig {
+
+    public static final int DEFAULT_MAX_DIMENSION = 2048;
+    public static final boolean DEFAULT_GRAYSCALE = false;
+    public static final float DEFAULT_QUALITY = 0.8f;
+    public static final int DEFAULT_PARALLELISM = 2;
+
+    private Integer maxDimension;
+    private Boolean grayscale;
+    private Float quality;
+    private Integer parallelism;
+
+    public int getMaxDimension() {
+        return Optional.ofNullable(maxDimension).orElse(DEFAULT_MAX_DIMENSION);
+    }
+
+    public boolean isGrayscale() {
+        return Optional.ofNullable(grayscale).orElse(DEFAULT_GRAYSCALE);
+    }
+
+    public float getQuality() {
+        return Optional.ofNullable(quality).orElse(DEFAULT_QUALITY);
+    }
+
+    public int getParallelism() {
+        return Optional.ofNullable(parallelism).orElse(DEFAULT_PARALLELISM);
+    }
+}
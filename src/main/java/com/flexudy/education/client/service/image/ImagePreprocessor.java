@@ -0,0 +1,153 @@
+package com.flexudy.education.client.service.image;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Downscales and re-encodes images before upload. Large images are decoded with subsampling, so only about the pixels
+ * that survive the downscale are held in memory, and the EXIF orientation is applied since the re-encoded image does
+ * not carry it. Images are converted to grayscale when configured, or when they hardly carry any color.
+ */
+@Slf4j
+public class ImagePreprocessor {
+
+    private static final String OUTPUT_FORMAT = "jpeg";
+    private static final int GRAYSCALE_SAMPLES_PER_AXIS = 64;
+    private static final int GRAYSCALE_TOLERANCE = 12;
+
+    @Getter
+    private final ImagePreprocessingConfig config;
+
+    public ImagePreprocessor(@NonNull ImagePreprocessingConfig config) {
+        Preconditions.checkArgument(config.getMaxDimension() > 0, "The maximum image dimension must be positive");
+        Preconditions.checkArgument(config.getQuality() > 0 && config.getQuality() <= 1,
+                                    "The image quality must be within (0, 1]");
+        this.config = config;
+    }
+
+    public byte[] process(@NonNull byte[] image) {
+        try {
+            final BufferedImage source = decode(image);
+            if (source == null) {
+                log.debug("Skipping preprocessing of an image in an unsupported format");
+                return image;
+            }
+            final byte[] processed = encode(transform(source, ExifOrientation.read(image)));
+            if (processed.length >= image.length) {
+                log.debug("Keeping the original image since preprocessing did not reduce its size");
+                return image;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Reduced image from {} to {} bytes", image.length, processed.length);
+            }
+            return processed;
+        } catch (IOException ex) {
+            log.debug("Failed to preprocess image, uploading the original", ex);
+            return image;
+        }
+    }
+
+    @VisibleForTesting
+    static int subsampling(int width, int height, int maxDimension) {
+        return Math.max(1, Math.max(width, height) / maxDimension);
+    }
+
+    @VisibleForTesting
+    static boolean isNearGrayscale(BufferedImage image) {
+        final int stepX = Math.max(1, image.getWidth() / GRAYSCALE_SAMPLES_PER_AXIS);
+        final int stepY = Math.max(1, image.getHeight() / GRAYSCALE_SAMPLES_PER_AXIS);
+        for (int y = 0; y < image.getHeight(); y += stepY) {
+            for (int x = 0; x < image.getWidth(); x += stepX) {
+                final int rgb = image.getRGB(x, y);
+                final int red = (rgb >> 16) & 0xFF;
+                final int green = (rgb >> 8) & 0xFF;
+                final int blue = rgb & 0xFF;
+                if (Math.max(red, Math.max(green, blue)) - Math.min(red, Math.min(green, blue)) > GRAYSCALE_TOLERANCE) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private BufferedImage decode(byte[] image) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                final ImageReadParam params = reader.getDefaultReadParam();
+                final int subsampling = subsampling(reader.getWidth(0), reader.getHeight(0), config.getMaxDimension());
+                params.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, params);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage transform(BufferedImage source, int orientation) {
+        final boolean transposed = ExifOrientation.isTransposed(orientation);
+        final int uprightWidth = transposed ? source.getHeight() : source.getWidth();
+        final int uprightHeight = transposed ? source.getWidth() : source.getHeight();
+        final double scale = Math.min(1.0, (double) config.getMaxDimension() / Math.max(uprightWidth, uprightHeight));
+        final int width = Math.max(1, (int) Math.round(uprightWidth * scale));
+        final int height = Math.max(1, (int) Math.round(uprightHeight * scale));
+        final boolean grayscale = config.isGrayscale() || isNearGrayscale(source);
+        final BufferedImage target = new BufferedImage(width, height, grayscale ? BufferedImage.TYPE_BYTE_GRAY :
+                                                                      BufferedImage.TYPE_INT_RGB);
+        final AffineTransform transform = AffineTransform.getScaleInstance((double) width / uprightWidth,
+                                                                           (double) height / uprightHeight);
+        transform.concatenate(ExifOrientation.toTransform(orientation, source.getWidth(), source.getHeight()));
+        final Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        final ImageWriter writer = ImageIO.getImageWritersByFormatName(OUTPUT_FORMAT).next();
+        final ImageWriteParam params = writer.getDefaultWriteParam();
+        params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        params.setCompressionQuality(config.getQuality());
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(image, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+}
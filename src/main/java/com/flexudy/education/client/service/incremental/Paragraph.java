@@ -0,0 +1,10 @@
+package com.flexudy.education.client.service.incremental;
+
+import lombok.Value;
+
+@Value
+public class Paragraph {
+
+    String text;
+    String hash;
+}
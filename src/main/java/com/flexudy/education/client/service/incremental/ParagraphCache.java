@@ -0,0 +1,88 @@
+package com.flexudy.education.client.service.incremental;
+
+import com.flexudy.education.client.data.common.ContentType;
+import com.flexudy.education.client.service.chunking.ChunkingConfig;
+import com.flexudy.education.client.service.network.Environment;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Keeps generated results per paragraph pack, keyed by environment, base URL, endpoint, content type and pack hash. A
+ * cache can be shared by several clients.
+ */
+public class ParagraphCache {
+
+    public static final long DEFAULT_MAX_PARAGRAPHS = 10_000;
+    public static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofHours(1);
+    public static final int DEFAULT_MIN_PARAGRAPH_CHARACTERS = 200;
+    public static final int DEFAULT_MAX_PACK_CHARACTERS = ChunkingConfig.DEFAULT_MAX_CHUNK_CHARACTERS;
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    @Getter
+    private final int parallelism;
+
+    @Getter
+    private final ParagraphSplitter splitter;
+
+    private final Cache<String, Object> results;
+
+    @Builder
+    ParagraphCache(Long maxParagraphs, Duration expireAfterAccess, Integer minParagraphCharacters,
+                   Integer maxPackCharacters, Integer parallelism) {
+        this.parallelism = Optional.ofNullable(parallelism).orElse(DEFAULT_PARALLELISM);
+        if (this.parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism must be positive");
+        }
+        this.splitter = new ParagraphSplitter(Optional.ofNullable(minParagraphCharacters)
+                                                      .orElse(DEFAULT_MIN_PARAGRAPH_CHARACTERS),
+                                              Optional.ofNullable(maxPackCharacters)
+                                                      .orElse(DEFAULT_MAX_PACK_CHARACTERS));
+        this.results = CacheBuilder.newBuilder()
+                                   .maximumSize(Optional.ofNullable(maxParagraphs).orElse(DEFAULT_MAX_PARAGRAPHS))
+                                   .expireAfterAccess(Optional.ofNullable(expireAfterAccess)
+                                                              .orElse(DEFAULT_EXPIRE_AFTER_ACCESS))
+                                   .recordStats()
+                                   .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> get(@NonNull Environment environment, @NonNull String baseUrl, @NonNull String endpoint,
+                               ContentType contentType, @NonNull Paragraph paragraph) {
+        return Optional.ofNullable((T) results.getIfPresent(toKey(environment, baseUrl, endpoint, contentType,
+                                                                  paragraph)));
+    }
+
+    public void put(@NonNull Environment environment, @NonNull String baseUrl, @NonNull String endpoint,
+                    ContentType contentType, @NonNull Paragraph paragraph, @NonNull Object result) {
+        results.put(toKey(environment, baseUrl, endpoint, contentType, paragraph), result);
+    }
+
+    public void invalidateAll() {
+        results.invalidateAll();
+    }
+
+    public long size() {
+        return results.size();
+    }
+
+    public long getHitCount() {
+        return results.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return results.stats().missCount();
+    }
+
+    private static String toKey(Environment environment, String baseUrl, String endpoint, ContentType contentType,
+                                Paragraph paragraph) {
+        return String.join("|", environment.name(), baseUrl, endpoint, Objects.toString(contentType, ""),
+                           paragraph.getHash());
+    }
+}
@@ -0,0 +1,118 @@
+package com.flexudy.education.client.service.incremental;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+import lombok.NonNull;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Splits text at blank lines into paragraphs keyed by a hash of their whitespace-normalized content, so an edit only
+ * changes the keys of the paragraphs it touches. Paragraphs shorter than the minimum, such as headings, are joined with
+ * the paragraph that follows them.
+ * <p>
+ * Paragraphs are then packed into requests of up to the maximum pack size. A pack ends after a paragraph picked by
+ * its hash, with a probability proportional to its length, so pack boundaries depend on the content rather than on
+ * where packing started and an edit only changes the pack that contains it.
+ */
+public class ParagraphSplitter {
+
+    private static final Pattern BLANK_LINE = Pattern.compile("\\R\\s*\\R");
+    private static final String PARAGRAPH_SEPARATOR = "\n\n";
+
+    private static final int BOUNDARY_HASH_DIGITS = 8;
+    private static final double BOUNDARY_HASH_RANGE = 0x1_0000_0000L;
+
+    private final int minParagraphCharacters;
+    private final int maxPackCharacters;
+
+    public ParagraphSplitter(int minParagraphCharacters, int maxPackCharacters) {
+        Preconditions.checkArgument(minParagraphCharacters >= 0, "The minimum paragraph size must not be negative");
+        Preconditions.checkArgument(maxPackCharacters > 0, "The maximum pack size must be positive");
+        this.minParagraphCharacters = minParagraphCharacters;
+        this.maxPackCharacters = maxPackCharacters;
+    }
+
+    public List<Paragraph> split(@NonNull String text) {
+        final List<Paragraph> paragraphs = new ArrayList<>();
+        final StringBuilder pending = new StringBuilder();
+        for (String block : BLANK_LINE.split(text)) {
+            final String trimmed = block.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (pending.length() > 0) {
+                pending.append(PARAGRAPH_SEPARATOR);
+            }
+            pending.append(trimmed);
+            if (pending.length() >= minParagraphCharacters) {
+                paragraphs.add(toParagraph(pending.toString()));
+                pending.setLength(0);
+            }
+        }
+        if (pending.length() > 0) {
+            paragraphs.add(toParagraph(pending.toString()));
+        }
+        return paragraphs;
+    }
+
+    /**
+     * Packs consecutive paragraphs into as few requests as the maximum pack size allows. A paragraph that repeats an
+     * earlier one is left out, and a paragraph longer than the maximum gets a pack of its own.
+     */
+    public List<Paragraph> pack(@NonNull List<Paragraph> paragraphs) {
+        final List<Paragraph> packs = new ArrayList<>();
+        final List<Paragraph> pending = new ArrayList<>();
+        final Set<String> packedHashes = new HashSet<>();
+        int pendingCharacters = 0;
+        for (Paragraph paragraph : paragraphs) {
+            if (!packedHashes.add(paragraph.getHash())) {
+                continue;
+            }
+            final int characters = paragraph.getText().length();
+            if (!pending.isEmpty() && pendingCharacters + PARAGRAPH_SEPARATOR.length() + characters > maxPackCharacters) {
+                packs.add(toPack(pending));
+                pending.clear();
+            }
+            pendingCharacters = pending.isEmpty() ? characters
+                    : pendingCharacters + PARAGRAPH_SEPARATOR.length() + characters;
+            pending.add(paragraph);
+            if (isPackBoundary(paragraph)) {
+                packs.add(toPack(pending));
+                pending.clear();
+            }
+        }
+        if (!pending.isEmpty()) {
+            packs.add(toPack(pending));
+        }
+        return packs;
+    }
+
+    private boolean isPackBoundary(Paragraph paragraph) {
+        // Packs end after half the maximum size on average
+        final long hashPrefix = Long.parseLong(paragraph.getHash().substring(0, BOUNDARY_HASH_DIGITS), 16);
+        return hashPrefix / BOUNDARY_HASH_RANGE < 2.0 * paragraph.getText().length() / maxPackCharacters;
+    }
+
+    private static Paragraph toPack(List<Paragraph> paragraphs) {
+        if (paragraphs.size() == 1) {
+            return paragraphs.get(0);
+        }
+        final String text = paragraphs.stream().map(Paragraph::getText)
+                                      .collect(Collectors.joining(PARAGRAPH_SEPARATOR));
+        final String hashes = paragraphs.stream().map(Paragraph::getHash).collect(Collectors.joining(","));
+        return new Paragraph(text, Hashing.sha256().hashString(hashes, StandardCharsets.UTF_8).toString());
+    }
+
+    static Paragraph toParagraph(String text) {
+        return new Paragraph(text, Hashing.sha256().hashString(StringUtils.normalizeSpace(text), StandardCharsets.UTF_8)
+                                          .toString());
+    }
+}
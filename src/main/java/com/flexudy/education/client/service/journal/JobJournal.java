@@ -0,0 +1,222 @@
+package com.flexudy.education.client.service.journal;
+
+import com.google.common.base.Splitter;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+public class JobJournal implements Closeable {
+
+    public static final int DEFAULT_SYNC_BATCH_SIZE = 64;
+    public static final Duration DEFAULT_MAX_JOB_AGE = Duration.ofHours(24);
+
+    private static final String SUBMITTED_RECORD = "S";
+    private static final String COMPLETED_RECORD = "C";
+    private static final char FIELD_SEPARATOR = '\t';
+    private static final Splitter FIELD_SPLITTER = Splitter.on(FIELD_SEPARATOR);
+
+    @Getter
+    private final Path path;
+
+    private final int syncBatchSize;
+
+    @Getter
+    private final Duration maxJobAge;
+
+    private final Map<String, JournalEntry> pendingEntries;
+    private final FileChannel channel;
+    private final Object syncLock = new Object();
+
+    private long writtenRecords;
+    private long syncedRecords;
+
+    @Builder
+    JobJournal(@NonNull Path path, Integer syncBatchSize, Duration maxJobAge) {
+        this.path = path;
+        this.syncBatchSize = Optional.ofNullable(syncBatchSize).orElse(DEFAULT_SYNC_BATCH_SIZE);
+        this.maxJobAge = Optional.ofNullable(maxJobAge).orElse(DEFAULT_MAX_JOB_AGE);
+        try {
+            this.pendingEntries = replay(path);
+            final Instant now = Instant.now();
+            final int replayedEntries = pendingEntries.size();
+            pendingEntries.values().removeIf(entry -> !getExpiry(entry).isAfter(now));
+            if (pendingEntries.size() < replayedEntries) {
+                log.debug("Dropped {} jobs older than {} from journal {}", replayedEntries - pendingEntries.size(),
+                          this.maxJobAge, path);
+            }
+            compact(path, pendingEntries.values());
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                            StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        log.debug("Opened job journal {} with {} pending jobs", path, pendingEntries.size());
+    }
+
+    public static JobJournal open(@NonNull Path path) {
+        return JobJournal.builder().path(path).build();
+    }
+
+    public List<JournalEntry> getPendingEntries() {
+        synchronized (pendingEntries) {
+            return List.copyOf(pendingEntries.values());
+        }
+    }
+
+    public void recordSubmitted(@NonNull JournalEntry entry) {
+        synchronized (pendingEntries) {
+            pendingEntries.put(key(entry.getEndpoint(), entry.getJobId()), entry);
+        }
+        sync(append(toSubmittedRecord(entry)), true);
+    }
+
+    /**
+     * Returns when a job stops being worth polling for: its submission time plus the maximum job age, after which the
+     * server is assumed to have expired its result.
+     */
+    public Instant getExpiry(@NonNull JournalEntry entry) {
+        return entry.getSubmittedAt().plus(maxJobAge);
+    }
+
+    public void recordCompleted(@NonNull String endpoint, @NonNull String jobId) {
+        synchronized (pendingEntries) {
+            if (pendingEntries.remove(key(endpoint, jobId)) == null) {
+                return;
+            }
+        }
+        sync(append(toCompletedRecord(endpoint, jobId)), false);
+    }
+
+    /**
+     * Removes a job from the journal without waiting for its result, e.g. because it failed or is no longer needed.
+     * Returns whether the job was pending.
+     */
+    public boolean discard(@NonNull String jobId) {
+        final List<JournalEntry> discardedEntries = new ArrayList<>();
+        synchronized (pendingEntries) {
+            pendingEntries.values().removeIf(entry -> jobId.equals(entry.getJobId()) && discardedEntries.add(entry));
+        }
+        long record = 0;
+        for (JournalEntry entry : discardedEntries) {
+            record = append(toCompletedRecord(entry.getEndpoint(), entry.getJobId()));
+        }
+        if (record > 0) {
+            sync(record, false);
+        }
+        return !discardedEntries.isEmpty();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            if (channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+        }
+    }
+
+    private long append(String record) {
+        final ByteBuffer buffer = StandardCharsets.UTF_8.encode(record + '\n');
+        synchronized (this) {
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return ++writtenRecords;
+        }
+    }
+
+    private void sync(long record, boolean durable) {
+        synchronized (syncLock) {
+            if (syncedRecords >= record || (!durable && record - syncedRecords < syncBatchSize)) {
+                return;
+            }
+            final long target;
+            synchronized (this) {
+                target = writtenRecords;
+            }
+            try {
+                channel.force(false);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            syncedRecords = target;
+        }
+    }
+
+    private static Map<String, JournalEntry> replay(Path path) throws IOException {
+        final Map<String, JournalEntry> entries = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return entries;
+        }
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            final List<String> fields = FIELD_SPLITTER.splitToList(line);
+            if (SUBMITTED_RECORD.equals(fields.get(0)) && fields.size() == 5) {
+                parseEntry(fields).ifPresent(entry -> entries.put(key(entry.getEndpoint(), entry.getJobId()), entry));
+            } else if (COMPLETED_RECORD.equals(fields.get(0)) && fields.size() == 3) {
+                entries.remove(key(fields.get(1), fields.get(2)));
+            } else if (!line.isEmpty()) {
+                log.debug("Skipping malformed job journal record {}", line);
+            }
+        }
+        return entries;
+    }
+
+    private static Optional<JournalEntry> parseEntry(List<String> fields) {
+        try {
+            return Optional.of(new JournalEntry(fields.get(1), fields.get(2), fields.get(3),
+                                                Instant.ofEpochMilli(Long.parseLong(fields.get(4)))));
+        } catch (NumberFormatException ex) {
+            log.debug("Skipping job journal record with an invalid submission time", ex);
+            return Optional.empty();
+        }
+    }
+
+    private static void compact(Path path, Iterable<JournalEntry> entries) throws IOException {
+        final List<String> records = new ArrayList<>();
+        entries.forEach(entry -> records.add(toSubmittedRecord(entry)));
+        final Path compacted = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(compacted, records, StandardCharsets.UTF_8);
+        try (FileChannel compactedChannel = FileChannel.open(compacted, StandardOpenOption.WRITE)) {
+            compactedChannel.force(true);
+        }
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String toSubmittedRecord(JournalEntry entry) {
+        return String.join(String.valueOf(FIELD_SEPARATOR), SUBMITTED_RECORD, entry.getEndpoint(), entry.getJobId(),
+                           entry.getFingerprint(), String.valueOf(entry.getSubmittedAt().toEpochMilli()));
+    }
+
+    private static String toCompletedRecord(String endpoint, String jobId) {
+        return String.join(String.valueOf(FIELD_SEPARATOR), COMPLETED_RECORD, endpoint, jobId);
+    }
+
+    private static String key(String endpoint, String jobId) {
+        return endpoint + FIELD_SEPARATOR + jobId;
+    }
+}
@@ -0,0 +1,24 @@
+package com.flexudy.education.client.service.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@AllArgsConstructor
+@EqualsAndHashCode
+@Getter
+@ToString
+public class JournalEntry {
+    @NonNull
+    private final String endpoint;
+    @NonNull
+    private final String jobId;
+    @NonNull
+    private final String fingerprint;
+    @NonNull
+    private final Instant submittedAt;
+}
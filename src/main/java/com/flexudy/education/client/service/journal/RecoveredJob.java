@@ -0,0 +1,14 @@
+package com.flexudy.education.client.service.journal;
+
+import com.flexudy.education.client.service.JobHandle;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@AllArgsConstructor
+@Getter
+@ToString
+public class RecoveredJob {
+    private final JournalEntry entry;
+    private final JobHandle<?> result;
+}
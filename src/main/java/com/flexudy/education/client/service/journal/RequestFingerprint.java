@@ -0,0 +1,80 @@
+package com.flexudy.education.client.service.journal;
+
+import com.flexudy.education.client.service.transport.MultipartForm;
+import com.flexudy.education.client.service.transport.TransportBody;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RequestFingerprint {
+
+    private static final Pattern FILE_NAME_PATTERN = Pattern.compile(";\\s*filename=\"[^\"]*\"");
+    private static final String SEPARATOR = "\n";
+
+    public static String of(@NonNull TransportBody body) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        try {
+            if (body instanceof MultipartForm) {
+                for (MultipartForm.Part part : ((MultipartForm) body).getParts()) {
+                    putString(hasher, FILE_NAME_PATTERN.matcher(part.getContentDisposition()).replaceAll(""));
+                    putString(hasher, SEPARATOR);
+                    putBody(hasher, part.getBody());
+                }
+            } else {
+                putBody(hasher, body);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return hasher.hash().toString();
+    }
+
+    private static void putBody(Hasher hasher, TransportBody body) throws IOException {
+        final String contentType = body.getContentType();
+        putString(hasher, contentType == null ? "" : contentType);
+        putString(hasher, SEPARATOR);
+        putString(hasher, Long.toString(body.getContentLength()));
+        putString(hasher, SEPARATOR);
+        body.writeTo(new HashingChannel(hasher));
+        putString(hasher, SEPARATOR);
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        hasher.putString(value, StandardCharsets.UTF_8);
+    }
+
+    private static final class HashingChannel implements WritableByteChannel {
+
+        private final Hasher hasher;
+
+        private HashingChannel(Hasher hasher) {
+            this.hasher = hasher;
+        }
+
+        @Override
+        public int write(ByteBuffer source) {
+            final int written = source.remaining();
+            hasher.putBytes(source);
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
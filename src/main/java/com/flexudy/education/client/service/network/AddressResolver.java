@@ -0,0 +1,16 @@
+package com.flexudy.education.client.service.network;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+/**
+ * Resolves host names to the addresses a transport connects to.
+ */
+@FunctionalInterface
+public interface AddressResolver {
+
+    AddressResolver SYSTEM = hostname -> List.of(InetAddress.getAllByName(hostname));
+
+    List<InetAddress> lookup(String hostname) throws UnknownHostException;
+}
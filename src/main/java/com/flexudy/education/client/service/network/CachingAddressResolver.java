@@ -0,0 +1,183 @@
+package com.flexudy.education.client.service.network;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caches resolved addresses for a fixed time to live. A lookup in the last part of the time to live returns the cached
+ * addresses and refreshes them in the background, so callers only wait for the resolver on the first lookup or after
+ * a host has gone unused. Concurrent lookups of the same host share a single resolution. Addresses are interleaved by
+ * family (RFC 8305), so a failed connect falls back to the other family instead of every address of the first one.
+ * Refreshes run on a single daemon thread shared by all instances, which exits when there is nothing to refresh.
+ */
+@Slf4j
+public class CachingAddressResolver implements AddressResolver {
+
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(60);
+    public static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofSeconds(10);
+
+    @VisibleForTesting
+    static final Executor REFRESH_EXECUTOR = newRefreshExecutor();
+
+    private final AddressResolver resolver;
+    private final long ttlNanos;
+    private final long refreshAheadNanos;
+    private final boolean interleaveAddressFamilies;
+    private final Ticker ticker;
+    private final Executor refreshExecutor;
+    private final ConcurrentMap<String, CachedAddresses> cachedAddresses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<List<InetAddress>>> pendingLookups = new ConcurrentHashMap<>();
+
+    @Builder
+    CachingAddressResolver(AddressResolver resolver, Duration ttl, Duration refreshAhead,
+                           Boolean interleaveAddressFamilies) {
+        this(resolver, ttl, refreshAhead, interleaveAddressFamilies, Ticker.systemTicker(), REFRESH_EXECUTOR);
+    }
+
+    @VisibleForTesting
+    CachingAddressResolver(AddressResolver resolver, Duration ttl, Duration refreshAhead,
+                           Boolean interleaveAddressFamilies, @NonNull Ticker ticker,
+                           @NonNull Executor refreshExecutor) {
+        this.resolver = Optional.ofNullable(resolver).orElse(AddressResolver.SYSTEM);
+        this.ttlNanos = Optional.ofNullable(ttl).orElse(DEFAULT_TTL).toNanos();
+        this.refreshAheadNanos = Optional.ofNullable(refreshAhead).orElse(DEFAULT_REFRESH_AHEAD).toNanos();
+        Preconditions.checkArgument(ttlNanos > 0, "The time to live must be positive");
+        Preconditions.checkArgument(refreshAheadNanos >= 0 && refreshAheadNanos < ttlNanos,
+                                    "The refresh ahead window must be shorter than the time to live");
+        this.interleaveAddressFamilies = Optional.ofNullable(interleaveAddressFamilies).orElse(true);
+        this.ticker = ticker;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public List<InetAddress> lookup(@NonNull String hostname) throws UnknownHostException {
+        final CachedAddresses cached = cachedAddresses.get(hostname);
+        final long now = ticker.read();
+        if (cached == null || now - cached.expiresAtNanos >= 0) {
+            return resolve(hostname);
+        }
+        if (now - (cached.expiresAtNanos - refreshAheadNanos) >= 0 && cached.refreshing.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> refresh(hostname, cached));
+        }
+        return cached.addresses;
+    }
+
+    public void invalidate(@NonNull String hostname) {
+        cachedAddresses.remove(hostname);
+    }
+
+    public void invalidateAll() {
+        cachedAddresses.clear();
+    }
+
+    private void refresh(String hostname, CachedAddresses stale) {
+        try {
+            resolve(hostname);
+        } catch (UnknownHostException | RuntimeException ex) {
+            log.debug("Failed to refresh the addresses of {}, keeping them until they expire", hostname, ex);
+            stale.refreshing.set(false);
+        }
+    }
+
+    private List<InetAddress> resolve(String hostname) throws UnknownHostException {
+        final CompletableFuture<List<InetAddress>> lookup = new CompletableFuture<>();
+        final CompletableFuture<List<InetAddress>> pendingLookup = pendingLookups.putIfAbsent(hostname, lookup);
+        if (pendingLookup != null) {
+            return await(hostname, pendingLookup);
+        }
+        try {
+            final List<InetAddress> addresses = interleaveAddressFamilies ? interleave(resolver.lookup(hostname))
+                    : List.copyOf(resolver.lookup(hostname));
+            cachedAddresses.put(hostname, new CachedAddresses(addresses, ticker.read() + ttlNanos));
+            lookup.complete(addresses);
+            return addresses;
+        } catch (UnknownHostException | RuntimeException ex) {
+            lookup.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            pendingLookups.remove(hostname, lookup);
+        }
+    }
+
+    private static List<InetAddress> await(String hostname, CompletableFuture<List<InetAddress>> lookup)
+            throws UnknownHostException {
+        try {
+            return lookup.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new UnknownHostException(String.format("Interrupted while resolving %s", hostname));
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof UnknownHostException) {
+                throw (UnknownHostException) ex.getCause();
+            }
+            throw (RuntimeException) ex.getCause();
+        }
+    }
+
+    private static Executor newRefreshExecutor() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new ThreadFactoryBuilder().setNameFormat("flexudy-dns-refresh").setDaemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @VisibleForTesting
+    static List<InetAddress> interleave(List<InetAddress> addresses) {
+        if (addresses.isEmpty()) {
+            return List.of();
+        }
+        final boolean firstIsIpv6 = addresses.get(0) instanceof Inet6Address;
+        final List<InetAddress> preferred = new ArrayList<>();
+        final List<InetAddress> other = new ArrayList<>();
+        for (InetAddress address : addresses) {
+            (address instanceof Inet6Address == firstIsIpv6 ? preferred : other).add(address);
+        }
+        final List<InetAddress> interleaved = new ArrayList<>(addresses.size());
+        final Iterator<InetAddress> preferredAddresses = preferred.iterator();
+        final Iterator<InetAddress> otherAddresses = other.iterator();
+        while (preferredAddresses.hasNext() || otherAddresses.hasNext()) {
+            if (preferredAddresses.hasNext()) {
+                interleaved.add(preferredAddresses.next());
+            }
+            if (otherAddresses.hasNext()) {
+                interleaved.add(otherAddresses.next());
+            }
+        }
+        return List.copyOf(interleaved);
+    }
+
+    private static final class CachedAddresses {
+
+        private final List<InetAddress> addresses;
+        private final long expiresAtNanos;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private CachedAddresses(List<InetAddress> addresses, long expiresAtNanos) {
+            this.addresses = addresses;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
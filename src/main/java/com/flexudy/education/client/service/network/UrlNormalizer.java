@@ -0,0 +1,241 @@
+package com.flexudy.education.client.service.network;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.net.IDN;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Validates and canonicalises http(s) URLs in a single pass: the scheme and host are lower-cased, default ports and
+ * fragments are dropped, dot segments are removed from the path and percent-encoding is normalised.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class UrlNormalizer {
+
+    private static final String SCHEME_SEPARATOR = "://";
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Returns the canonical form of the URL, or {@code null} if it is not a valid http(s) URL.
+     */
+    public static String normalize(String url) {
+        if (url == null) {
+            return null;
+        }
+        final String trimmed = url.trim();
+        final int schemeEnd = trimmed.indexOf(SCHEME_SEPARATOR);
+        final boolean https;
+        if (schemeEnd == 4 && trimmed.regionMatches(true, 0, "http", 0, 4)) {
+            https = false;
+        } else if (schemeEnd == 5 && trimmed.regionMatches(true, 0, "https", 0, 5)) {
+            https = true;
+        } else {
+            return null;
+        }
+        final int authorityStart = schemeEnd + SCHEME_SEPARATOR.length();
+        final int authorityEnd = indexOfAny(trimmed, authorityStart, "/?#");
+        final StringBuilder normalized = new StringBuilder(trimmed.length() + 1).append(https ? "https://" : "http://");
+        if (!appendAuthority(trimmed, authorityStart, authorityEnd, https, normalized)) {
+            return null;
+        }
+        final int fragmentStart = indexOfAny(trimmed, authorityEnd, "#");
+        final int pathEnd = indexOfAny(trimmed, authorityEnd, "?#");
+        final int pathStart = normalized.length();
+        if (!appendEncoded(trimmed, authorityEnd, pathEnd, normalized)) {
+            return null;
+        }
+        if (normalized.length() == pathStart) {
+            normalized.append('/');
+        } else if (normalized.indexOf("/.", pathStart) >= 0) {
+            final String path = removeDotSegments(normalized.substring(pathStart));
+            normalized.setLength(pathStart);
+            normalized.append(path);
+        }
+        if (!appendEncoded(trimmed, pathEnd, fragmentStart, normalized)) {
+            return null;
+        }
+        return url.contentEquals(normalized) ? url : normalized.toString();
+    }
+
+    private static boolean appendAuthority(String url, int start, int end, boolean https, StringBuilder normalized) {
+        int hostStart = url.lastIndexOf('@', end - 1) + 1;
+        if (hostStart > start) {
+            if (!appendEncoded(url, start, hostStart, normalized)) {
+                return false;
+            }
+        } else {
+            hostStart = start;
+        }
+        final int portSeparator;
+        if (hostStart < end && url.charAt(hostStart) == '[') {
+            final int literalEnd = url.indexOf(']', hostStart);
+            if (literalEnd < 0 || literalEnd >= end || !appendIpv6Literal(url, hostStart + 1, literalEnd, normalized)) {
+                return false;
+            }
+            portSeparator = literalEnd + 1 < end ? literalEnd + 1 : -1;
+            if (portSeparator >= 0 && url.charAt(portSeparator) != ':') {
+                return false;
+            }
+        } else {
+            final int colon = url.indexOf(':', hostStart);
+            portSeparator = colon >= 0 && colon < end ? colon : -1;
+            if (!appendHost(url, hostStart, portSeparator >= 0 ? portSeparator : end, normalized)) {
+                return false;
+            }
+        }
+        return portSeparator < 0 || appendPort(url, portSeparator + 1, end, https, normalized);
+    }
+
+    private static boolean appendHost(String url, int start, int end, StringBuilder normalized) {
+        if (end > start && url.charAt(end - 1) == '.') {
+            end--;
+        }
+        if (start >= end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (url.charAt(i) >= 0x80) {
+                return appendInternationalHost(url.substring(start, end), normalized);
+            }
+        }
+        int labelStart = start;
+        for (int i = start; i <= end; i++) {
+            final char character = i < end ? url.charAt(i) : '.';
+            if (character == '.') {
+                if (i == labelStart || url.charAt(labelStart) == '-' || url.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labelStart = i + 1;
+            } else if (!isHostCharacter(character)) {
+                return false;
+            }
+            if (i < end) {
+                normalized.append(Character.toLowerCase(character));
+            }
+        }
+        return true;
+    }
+
+    private static boolean appendInternationalHost(String host, StringBuilder normalized) {
+        final String asciiHost;
+        try {
+            asciiHost = IDN.toASCII(host, IDN.ALLOW_UNASSIGNED);
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+        return !asciiHost.isEmpty() && asciiHost.chars().allMatch(c -> c < 0x80)
+                && appendHost(asciiHost, 0, asciiHost.length(), normalized);
+    }
+
+    private static boolean appendIpv6Literal(String url, int start, int end, StringBuilder normalized) {
+        if (start >= end) {
+            return false;
+        }
+        normalized.append('[');
+        for (int i = start; i < end; i++) {
+            final char character = url.charAt(i);
+            if (!isHexDigit(character) && character != ':' && character != '.') {
+                return false;
+            }
+            normalized.append(Character.toLowerCase(character));
+        }
+        normalized.append(']');
+        return true;
+    }
+
+    private static boolean appendPort(String url, int start, int end, boolean https, StringBuilder normalized) {
+        if (start == end) {
+            return true;
+        }
+        if (end - start > 5) {
+            return false;
+        }
+        int port = 0;
+        for (int i = start; i < end; i++) {
+            final char digit = url.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return false;
+            }
+            port = port * 10 + (digit - '0');
+        }
+        if (port == 0 || port > 65535) {
+            return false;
+        }
+        if (port != (https ? 443 : 80)) {
+            normalized.append(':').append(port);
+        }
+        return true;
+    }
+
+    private static boolean appendEncoded(String url, int start, int end, StringBuilder normalized) {
+        for (int i = start; i < end; i++) {
+            final char character = url.charAt(i);
+            if (character == '%') {
+                if (i + 2 >= end || !isHexDigit(url.charAt(i + 1)) || !isHexDigit(url.charAt(i + 2))) {
+                    return false;
+                }
+                normalized.append('%').append(Character.toUpperCase(url.charAt(i + 1)))
+                          .append(Character.toUpperCase(url.charAt(i + 2)));
+                i += 2;
+            } else if (character <= 0x20 || character == 0x7f) {
+                return false;
+            } else if (character >= 0x80) {
+                final int codePointEnd = Character.isHighSurrogate(character) && i + 1 < end ? i + 2 : i + 1;
+                for (byte encoded : url.substring(i, codePointEnd).getBytes(StandardCharsets.UTF_8)) {
+                    normalized.append('%').append(HEX_DIGITS[(encoded >> 4) & 0xf]).append(HEX_DIGITS[encoded & 0xf]);
+                }
+                i = codePointEnd - 1;
+            } else {
+                normalized.append(character);
+            }
+        }
+        return true;
+    }
+
+    // RFC 3986, section 5.2.4
+    private static String removeDotSegments(String path) {
+        final StringBuilder output = new StringBuilder(path.length());
+        int i = 0;
+        while (i < path.length()) {
+            if (path.startsWith("/./", i)) {
+                i += 2;
+            } else if (path.startsWith("/.", i) && i + 2 == path.length()) {
+                output.append('/');
+                i += 2;
+            } else if (path.startsWith("/../", i) || (path.startsWith("/..", i) && i + 3 == path.length())) {
+                final int lastSlash = output.lastIndexOf("/");
+                output.setLength(Math.max(lastSlash, 0));
+                if (i + 3 == path.length()) {
+                    output.append('/');
+                }
+                i += 3;
+            } else {
+                final int next = path.indexOf('/', i + 1);
+                final int segmentEnd = next < 0 ? path.length() : next;
+                output.append(path, i, segmentEnd);
+                i = segmentEnd;
+            }
+        }
+        return output.length() == 0 ? "/" : output.toString();
+    }
+
+    private static boolean isHexDigit(char character) {
+        return (character >= '0' && character <= '9') || (character >= 'a' && character <= 'f')
+                || (character >= 'A' && character <= 'F');
+    }
+
+    private static boolean isHostCharacter(char character) {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z')
+                || (character >= '0' && character <= '9') || character == '-' || character == '_';
+    }
+
+    private static int indexOfAny(String value, int from, String characters) {
+        for (int i = from; i < value.length(); i++) {
+            if (characters.indexOf(value.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return value.length();
+    }
+}
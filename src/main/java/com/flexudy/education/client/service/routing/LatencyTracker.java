@@ -0,0 +1,74 @@
+package com.flexudy.education.client.service.routing;
+
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps a short latency history per endpoint: an exponentially weighted cost per kilobyte of input, used to estimate
+ * the latency of a request before sending it, and a window of the most recent latencies.
+ */
+public final class LatencyTracker {
+
+    static final int WINDOW_SIZE = 128;
+    private static final double SMOOTHING = 0.2;
+    private static final long KILOBYTE = 1024;
+
+    private final ConcurrentMap<String, EndpointHistory> histories = new ConcurrentHashMap<>();
+
+    public void record(@NonNull String endpoint, long inputBytes, @NonNull Duration latency) {
+        histories.computeIfAbsent(endpoint, e -> new EndpointHistory()).record(kilobytes(inputBytes), latency.toNanos());
+    }
+
+    public Optional<Duration> estimate(@NonNull String endpoint, long inputBytes) {
+        return Optional.ofNullable(histories.get(endpoint)).map(history -> history.estimate(kilobytes(inputBytes)));
+    }
+
+    public Optional<Duration> getPercentile(@NonNull String endpoint, double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be in (0, 100]");
+        }
+        return Optional.ofNullable(histories.get(endpoint)).map(history -> history.percentile(percentile));
+    }
+
+    public long getSampleCount(@NonNull String endpoint) {
+        return Optional.ofNullable(histories.get(endpoint)).map(EndpointHistory::getSampleCount).orElse(0L);
+    }
+
+    private static double kilobytes(long inputBytes) {
+        return Math.max(1d, (double) inputBytes / KILOBYTE);
+    }
+
+    private static final class EndpointHistory {
+
+        private final long[] window = new long[WINDOW_SIZE];
+        private long sampleCount;
+        private double nanosPerKilobyte;
+
+        synchronized void record(double kilobytes, long latencyNanos) {
+            final double cost = latencyNanos / kilobytes;
+            nanosPerKilobyte = sampleCount == 0 ? cost : SMOOTHING * cost + (1 - SMOOTHING) * nanosPerKilobyte;
+            window[(int) (sampleCount % WINDOW_SIZE)] = latencyNanos;
+            sampleCount++;
+        }
+
+        synchronized Duration estimate(double kilobytes) {
+            return Duration.ofNanos((long) (nanosPerKilobyte * kilobytes));
+        }
+
+        synchronized Duration percentile(double percentile) {
+            final long[] latencies = Arrays.copyOf(window, (int) Math.min(sampleCount, WINDOW_SIZE));
+            Arrays.sort(latencies);
+            final int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return Duration.ofNanos(latencies[Math.max(index, 0)]);
+        }
+
+        synchronized long getSampleCount() {
+            return sampleCount;
+        }
+    }
+}
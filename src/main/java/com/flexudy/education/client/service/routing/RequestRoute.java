@@ -0,0 +1,5 @@
+package com.flexudy.education.client.service.routing;
+
+public enum RequestRoute {
+    SYNC, QUEUED
+}
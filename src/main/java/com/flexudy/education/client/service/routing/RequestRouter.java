@@ -0,0 +1,47 @@
+package com.flexudy.education.client.service.routing;
+
+import com.flexudy.education.client.data.common.CommonRequestData;
+import com.flexudy.education.client.data.common.ContentType;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Slf4j
+public final class RequestRouter {
+
+    @Getter
+    private final RoutingConfig routingConfig;
+    private final LatencyTracker latencyTracker;
+
+    public RequestRouter(@NonNull RoutingConfig routingConfig, @NonNull LatencyTracker latencyTracker) {
+        this.routingConfig = routingConfig;
+        this.latencyTracker = latencyTracker;
+    }
+
+    public long weigh(@NonNull CommonRequestData requestData, long fileBytes) {
+        final long textBytes = requestData.getTextContent().map(text -> (long) text.length()).orElse(0L);
+        final long urlBytes = Optional.ofNullable(requestData.getContentUrls()).map(urls -> (long) urls.size()).orElse(0L)
+                * routingConfig.getUrlWeightBytes();
+        final long weight = textBytes + fileBytes + urlBytes;
+        return requestData.getContentType() == ContentType.IMAGE ? weight * routingConfig.getImageWeightFactor() : weight;
+    }
+
+    public RequestRoute choose(@NonNull String syncEndpoint, long inputWeight) {
+        if (inputWeight > routingConfig.getMaxSyncInputBytes()) {
+            return RequestRoute.QUEUED;
+        }
+        final Duration budget = routingConfig.getLatencyBudget();
+        final Optional<Duration> estimate = latencyTracker.estimate(syncEndpoint, inputWeight);
+        if (estimate.isPresent() && estimate.get().compareTo(budget) > 0) {
+            if (log.isDebugEnabled()) {
+                log.debug("Routing to the queue, {} is expected to take {} (budget {})", syncEndpoint, estimate.get(),
+                          budget);
+            }
+            return RequestRoute.QUEUED;
+        }
+        return RequestRoute.SYNC;
+    }
+}
@@ -0,0 +1,38 @@
+package com.flexudy.education.client.service.routing;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Builder
+@Getter
+public class RoutingConfig {
+
+    public static final Duration DEFAULT_LATENCY_BUDGET = Duration.ofSeconds(30);
+    public static final long DEFAULT_MAX_SYNC_INPUT_BYTES = 256 * 1024;
+    public static final long DEFAULT_URL_WEIGHT_BYTES = 64 * 1024;
+    public static final int DEFAULT_IMAGE_WEIGHT_FACTOR = 4;
+
+    private Duration latencyBudget;
+    private Long maxSyncInputBytes;
+    private Long urlWeightBytes;
+    private Integer imageWeightFactor;
+
+    public Duration getLatencyBudget() {
+        return Optional.ofNullable(latencyBudget).orElse(DEFAULT_LATENCY_BUDGET);
+    }
+
+    public long getMaxSyncInputBytes() {
+        return Optional.ofNullable(maxSyncInputBytes).orElse(DEFAULT_MAX_SYNC_INPUT_BYTES);
+    }
+
+    public long getUrlWeightBytes() {
+        return Optional.ofNullable(urlWeightBytes).orElse(DEFAULT_URL_WEIGHT_BYTES);
+    }
+
+    public int getImageWeightFactor() {
+        return Optional.ofNullable(imageWeightFactor).orElse(DEFAULT_IMAGE_WEIGHT_FACTOR);
+    }
+}
@@ -0,0 +1,44 @@
+package com.flexudy.education.client.service.timeout;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Builder
+@Getter
+public class AdaptiveTimeoutConfig {
+
+    public static final Duration DEFAULT_MIN_TIMEOUT = Duration.ofSeconds(5);
+    public static final double DEFAULT_LATENCY_PERCENTILE = 99;
+    public static final double DEFAULT_SAFETY_FACTOR = 2;
+    public static final int DEFAULT_MIN_SAMPLES = 20;
+    public static final long DEFAULT_ASSUMED_THROUGHPUT_BYTES_PER_SECOND = 128 * 1024;
+
+    private Duration minTimeout;
+    private Double latencyPercentile;
+    private Double safetyFactor;
+    private Integer minSamples;
+    private Long assumedThroughputBytesPerSecond;
+
+    public Duration getMinTimeout() {
+        return Optional.ofNullable(minTimeout).orElse(DEFAULT_MIN_TIMEOUT);
+    }
+
+    public double getLatencyPercentile() {
+        return Optional.ofNullable(latencyPercentile).orElse(DEFAULT_LATENCY_PERCENTILE);
+    }
+
+    public double getSafetyFactor() {
+        return Optional.ofNullable(safetyFactor).orElse(DEFAULT_SAFETY_FACTOR);
+    }
+
+    public int getMinSamples() {
+        return Optional.ofNullable(minSamples).orElse(DEFAULT_MIN_SAMPLES);
+    }
+
+    public long getAssumedThroughputBytesPerSecond() {
+        return Optional.ofNullable(assumedThroughputBytesPerSecond).orElse(DEFAULT_ASSUMED_THROUGHPUT_BYTES_PER_SECOND);
+    }
+}
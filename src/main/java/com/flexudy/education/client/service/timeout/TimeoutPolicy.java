@@ -0,0 +1,90 @@
+package com.flexudy.education.client.service.timeout;
+
+import com.flexudy.education.client.service.routing.LatencyTracker;
+import com.flexudy.education.client.service.transport.CallTimeouts;
+import com.google.common.base.Preconditions;
+import lombok.NonNull;
+
+import java.time.Duration;
+
+/**
+ * Derives per-call timeouts from what the client has observed. The write timeout scales with the upload size over the
+ * observed upload throughput, and the read timeout is a latency percentile of the endpoint. Both get a safety factor,
+ * never drop below the minimum and never exceed the static timeouts, which also apply until enough has been observed.
+ * The policy keeps its own latency history in upload bytes, apart from the request router's, which weighs inputs in
+ * its own units.
+ */
+public class TimeoutPolicy {
+
+    static final long MIN_THROUGHPUT_SAMPLE_BYTES = 64 * 1024;
+    private static final double SMOOTHING = 0.2;
+
+    private final AdaptiveTimeoutConfig config;
+    private final LatencyTracker latencyTracker = new LatencyTracker();
+    private final Duration maxWriteTimeout;
+    private final Duration maxReadTimeout;
+
+    private double bytesPerSecond;
+
+    public TimeoutPolicy(@NonNull AdaptiveTimeoutConfig config, @NonNull Duration maxWriteTimeout,
+                         @NonNull Duration maxReadTimeout) {
+        Preconditions.checkArgument(config.getSafetyFactor() >= 1, "The safety factor must be at least 1");
+        Preconditions.checkArgument(config.getAssumedThroughputBytesPerSecond() > 0,
+                                    "The assumed throughput must be positive");
+        this.config = config;
+        this.maxWriteTimeout = maxWriteTimeout;
+        this.maxReadTimeout = maxReadTimeout;
+        this.bytesPerSecond = config.getAssumedThroughputBytesPerSecond();
+    }
+
+    /**
+     * Records a completed call. The elapsed time includes the server's processing, so the throughput is
+     * underestimated, which errs towards longer write timeouts.
+     */
+    public void record(@NonNull String endpoint, long uploadBytes, @NonNull Duration elapsed) {
+        latencyTracker.record(endpoint, Math.max(uploadBytes, 0), elapsed);
+        recordUpload(uploadBytes, elapsed);
+    }
+
+    private synchronized void recordUpload(long uploadBytes, Duration elapsed) {
+        if (uploadBytes >= MIN_THROUGHPUT_SAMPLE_BYTES && !elapsed.isZero() && !elapsed.isNegative()) {
+            final double observed = uploadBytes / (elapsed.toNanos() / 1e9);
+            bytesPerSecond = SMOOTHING * observed + (1 - SMOOTHING) * bytesPerSecond;
+        }
+    }
+
+    public synchronized double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    public CallTimeouts timeoutsFor(@NonNull String endpoint, long uploadBytes) {
+        return new CallTimeouts(writeTimeoutFor(uploadBytes), readTimeoutFor(endpoint));
+    }
+
+    private Duration writeTimeoutFor(long uploadBytes) {
+        if (uploadBytes < 0) {
+            return maxWriteTimeout;
+        }
+        final double seconds = uploadBytes / getBytesPerSecond() * config.getSafetyFactor();
+        return clamp(config.getMinTimeout().plusNanos((long) (seconds * 1e9)), maxWriteTimeout);
+    }
+
+    private Duration readTimeoutFor(String endpoint) {
+        if (latencyTracker.getSampleCount(endpoint) < config.getMinSamples()) {
+            return maxReadTimeout;
+        }
+        return latencyTracker.getPercentile(endpoint, config.getLatencyPercentile())
+                             .map(latency -> clamp(Duration.ofNanos((long) (latency.toNanos()
+                                                                            * config.getSafetyFactor())),
+                                                   maxReadTimeout))
+                             .orElse(maxReadTimeout);
+    }
+
+    private Duration clamp(Duration timeout, Duration maxTimeout) {
+        final Duration minTimeout = config.getMinTimeout();
+        if (timeout.compareTo(minTimeout) < 0) {
+            return minTimeout.compareTo(maxTimeout) < 0 ? minTimeout : maxTimeout;
+        }
+        return timeout.compareTo(maxTimeout) > 0 ? maxTimeout : timeout;
+    }
+}
@@ -0,0 +1,25 @@
+package com.flexudy.education.client.service.transport;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.time.Duration;
+
+/**
+ * A request option that replaces the client-wide write and read timeouts for a single call.
+ */
+@Getter
+public final class CallTimeouts {
+
+    private final Duration writeTimeout;
+    private final Duration readTimeout;
+
+    public CallTimeouts(@NonNull Duration writeTimeout, @NonNull Duration readTimeout) {
+        this.writeTimeout = writeTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    public static TransportRequest apply(@NonNull TransportRequest request, @NonNull CallTimeouts timeouts) {
+        return request.toBuilder().callTimeouts(timeouts).build();
+    }
+}
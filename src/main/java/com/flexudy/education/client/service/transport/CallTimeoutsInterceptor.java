@@ -0,0 +1,21 @@
+package com.flexudy.education.client.service.transport;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+public class CallTimeoutsInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final CallTimeouts timeouts = chain.request().tag(CallTimeouts.class);
+        if (timeouts == null) {
+            return chain.proceed(chain.request());
+        }
+        return chain.withWriteTimeout(Math.toIntExact(timeouts.getWriteTimeout().toMillis()), TimeUnit.MILLISECONDS)
+                    .withReadTimeout(Math.toIntExact(timeouts.getReadTimeout().toMillis()), TimeUnit.MILLISECONDS)
+                    .proceed(chain.request());
+    }
+}
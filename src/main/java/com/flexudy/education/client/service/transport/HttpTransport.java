@@ -0,0 +1,19 @@
+package com.flexudy.education.client.service.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends requests built by the client over the wire. Request bodies are streamed to the transport through
+ * {@link TransportBody#writeTo(java.nio.channels.WritableByteChannel)} and response bodies are read as streams.
+ */
+public interface HttpTransport extends Closeable {
+
+    TransportResponse execute(TransportRequest request) throws IOException;
+
+    CompletableFuture<TransportResponse> executeAsync(TransportRequest request);
+
+    @Override
+    void close();
+}
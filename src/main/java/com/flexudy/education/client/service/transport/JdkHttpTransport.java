@@ -0,0 +1,242 @@
+package com.flexudy.education.client.service.transport;
+
+import com.flexudy.education.client.service.HttpClientConfig;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public final class JdkHttpTransport implements HttpTransport {
+
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+                                                                 "upgrade");
+    private static final String CONTENT_TYPE_HEADER = "Content-Type";
+    private static final int PIPE_BUFFER_BYTES = 64 * 1024;
+    private static final int CLIENT_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int DEFAULT_MAX_UPLOAD_STREAMS = 64;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ExecutorService executor;
+    private final ExecutorService uploadExecutor;
+    private final HttpClient client;
+    private final Duration requestTimeout;
+
+    public JdkHttpTransport(@NonNull HttpClientConfig httpClientConfig) {
+        this(httpClientConfig, DEFAULT_MAX_UPLOAD_STREAMS);
+    }
+
+    @VisibleForTesting
+    JdkHttpTransport(@NonNull HttpClientConfig httpClientConfig, int maxUploadStreams) {
+        final ThreadPoolExecutor clientExecutor = new ThreadPoolExecutor(CLIENT_THREADS, CLIENT_THREADS,
+                                                                         KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                                                                         new LinkedBlockingQueue<>(),
+                                                                         newThreadFactory("flexudy-http-%d"));
+        clientExecutor.allowCoreThreadTimeOut(true);
+        this.executor = clientExecutor;
+        // Each streamed upload blocks a thread on its pipe until the client has read it. The pipes get their own pool
+        // so they can never hold every thread the client needs to drain them, and it does not queue, so a pipe that
+        // is accepted always has a thread writing it.
+        this.uploadExecutor = new ThreadPoolExecutor(0, maxUploadStreams, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                                                     new SynchronousQueue<>(), newThreadFactory("flexudy-upload-%d"));
+        this.client = HttpClient.newBuilder()
+                                .version(HttpClient.Version.HTTP_2)
+                                .followRedirects(HttpClient.Redirect.NORMAL)
+                                .connectTimeout(Duration.ofSeconds(httpClientConfig.getConnectTimeoutSeconds()))
+                                .executor(executor)
+                                .build();
+        // The JDK client only bounds the time until the response headers arrive, which covers the upload as well
+        this.requestTimeout = Duration.ofSeconds(httpClientConfig.getWriteTimeoutSeconds()
+                                                         + httpClientConfig.getReadTimeoutSeconds());
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        try {
+            return new JdkResponse(client.send(toHttpRequest(request), HttpResponse.BodyHandlers.ofInputStream()));
+        } catch (HttpTimeoutException ex) {
+            final SocketTimeoutException timeout = new SocketTimeoutException(ex.getMessage());
+            timeout.initCause(ex);
+            throw timeout;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException interrupted = new InterruptedIOException("Interrupted while sending " +
+                                                                                  request.getUrl().getRawPath());
+            interrupted.initCause(ex);
+            throw interrupted;
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+        return client.sendAsync(toHttpRequest(request), HttpResponse.BodyHandlers.ofInputStream())
+                     .thenApply(JdkResponse::new);
+    }
+
+    @Override
+    public void close() {
+        uploadExecutor.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory newThreadFactory(String nameFormat) {
+        return new ThreadFactoryBuilder().setDaemon(true).setNameFormat(nameFormat).build();
+    }
+
+    private Duration resolveTimeout(TransportRequest request) {
+        Duration timeout = requestTimeout;
+        final CallTimeouts callTimeouts = request.getCallTimeouts().orElse(null);
+        if (callTimeouts != null) {
+            timeout = min(timeout, callTimeouts.getWriteTimeout().plus(callTimeouts.getReadTimeout()));
+        }
+        final RequestTimeout callTimeout = request.getRequestTimeout().orElse(null);
+        return callTimeout == null ? timeout : min(timeout, callTimeout.getTimeout());
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) > 0 ? second : first;
+    }
+
+    private HttpRequest toHttpRequest(TransportRequest request) {
+        final Duration timeout = resolveTimeout(request);
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUrl()).timeout(timeout);
+        request.getHeaders().forEach((name, value) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                builder.header(name, value);
+            }
+        });
+        final TransportBody body = request.getBody().orElse(null);
+        if (body != null && body.getContentType() != null && request.getHeader(CONTENT_TYPE_HEADER) == null) {
+            builder.header(CONTENT_TYPE_HEADER, body.getContentType());
+        }
+        return builder.method(request.getMethod(), toBodyPublisher(body)).build();
+    }
+
+    private HttpRequest.BodyPublisher toBodyPublisher(TransportBody body) {
+        final long contentLength = body == null ? 0 : body.getContentLength();
+        if (contentLength == 0) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        final HttpRequest.BodyPublisher streamingPublisher = HttpRequest.BodyPublishers.ofInputStream(() -> stream(body));
+        return contentLength < 0 ? streamingPublisher
+                : HttpRequest.BodyPublishers.fromPublisher(streamingPublisher, contentLength);
+    }
+
+    private InputStream stream(TransportBody body) {
+        final PipedInputStream input = new PipedInputStream(PIPE_BUFFER_BYTES);
+        final PipedOutputStream output;
+        try {
+            output = new PipedOutputStream(input);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        final BodyStream bodyStream = new BodyStream(input);
+        final Runnable pump = () -> {
+            final WritableByteChannel channel = Channels.newChannel(output);
+            try {
+                body.writeTo(channel);
+            } catch (IOException ex) {
+                log.debug("Failed to write the request body", ex);
+                bodyStream.failure = ex;
+            } finally {
+                try {
+                    channel.close();
+                } catch (IOException ex) {
+                    log.debug("Failed to close the request body pipe", ex);
+                }
+            }
+        };
+        try {
+            uploadExecutor.execute(pump);
+        } catch (RejectedExecutionException ex) {
+            throw new UncheckedIOException(new IOException("Too many request bodies are being streamed at once", ex));
+        }
+        return bodyStream;
+    }
+
+    // The JDK publisher treats an IOException from the stream as its end, so failures are rethrown unchecked to abort
+    // the upload instead of sending a truncated body
+    private static final class BodyStream extends FilterInputStream {
+
+        private volatile IOException failure;
+
+        private BodyStream(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return checkFailure(super.read());
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            return checkFailure(super.read(bytes, offset, length));
+        }
+
+        private int checkFailure(int result) throws IOException {
+            if (result < 0 && failure != null) {
+                throw new UncheckedIOException("Failed to write the request body", failure);
+            }
+            return result;
+        }
+    }
+
+    private static final class JdkResponse implements TransportResponse {
+
+        private final HttpResponse<InputStream> response;
+
+        private JdkResponse(HttpResponse<InputStream> response) {
+            this.response = response;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return response.headers().firstValue(name).orElse(null);
+        }
+
+        @Override
+        public InputStream getBody() {
+            return response.body();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.body().close();
+            } catch (IOException ex) {
+                log.debug("Failed to close the response body", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.flexudy.education.client.service.transport;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@code multipart/form-data} body. Parts without a body of their own are encoded once when they are created, so
+ * that shared parts cost nothing per request.
+ */
+public final class MultipartForm implements TransportBody {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] DASH_DASH = {'-', '-'};
+
+    @Getter
+    private final String boundary;
+
+    @Getter
+    private final List<Part> parts;
+
+    private final byte[] boundaryBytes;
+    private final long contentLength;
+
+    private MultipartForm(String boundary, List<Part> parts) {
+        this.boundary = boundary;
+        this.parts = Collections.unmodifiableList(parts);
+        this.boundaryBytes = boundary.getBytes(StandardCharsets.UTF_8);
+        this.contentLength = computeContentLength();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String getContentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    @Override
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        for (Part part : parts) {
+            writeBoundary(channel);
+            TransportBodies.writeFully(channel, ByteBuffer.wrap(part.headerBytes));
+            part.body.writeTo(channel);
+            TransportBodies.writeFully(channel, ByteBuffer.wrap(CRLF));
+        }
+        TransportBodies.writeFully(channel, ByteBuffer.wrap(DASH_DASH));
+        TransportBodies.writeFully(channel, ByteBuffer.wrap(boundaryBytes));
+        TransportBodies.writeFully(channel, ByteBuffer.wrap(DASH_DASH));
+        TransportBodies.writeFully(channel, ByteBuffer.wrap(CRLF));
+    }
+
+    private void writeBoundary(WritableByteChannel channel) throws IOException {
+        TransportBodies.writeFully(channel, ByteBuffer.wrap(DASH_DASH));
+        TransportBodies.writeFully(channel, ByteBuffer.wrap(boundaryBytes));
+        TransportBodies.writeFully(channel, ByteBuffer.wrap(CRLF));
+    }
+
+    private long computeContentLength() {
+        final long delimiterBytes = DASH_DASH.length + boundaryBytes.length + CRLF.length;
+        long length = delimiterBytes + DASH_DASH.length;
+        for (Part part : parts) {
+            final long bodyLength = part.body.getContentLength();
+            if (bodyLength == UNKNOWN_LENGTH) {
+                return UNKNOWN_LENGTH;
+            }
+            length += delimiterBytes + part.headerBytes.length + bodyLength + CRLF.length;
+        }
+        return length;
+    }
+
+    @Getter
+    public static final class Part {
+
+        private final String contentDisposition;
+        private final TransportBody body;
+        private final byte[] headerBytes;
+
+        private Part(String contentDisposition, TransportBody body) {
+            this.contentDisposition = contentDisposition;
+            this.body = body;
+            final StringBuilder headers = new StringBuilder("Content-Disposition: ").append(contentDisposition)
+                                                                                     .append("\r\n");
+            if (body.getContentType() != null) {
+                headers.append("Content-Type: ").append(body.getContentType()).append("\r\n");
+            }
+            if (body.getContentLength() != UNKNOWN_LENGTH) {
+                headers.append("Content-Length: ").append(body.getContentLength()).append("\r\n");
+            }
+            this.headerBytes = headers.append("\r\n").toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        public static Part formData(@NonNull String name, @NonNull String value) {
+            return new Part(disposition(name, null), TransportBodies.of(value, null));
+        }
+
+        public static Part formData(@NonNull String name, String fileName, @NonNull TransportBody body) {
+            return new Part(disposition(name, fileName), body);
+        }
+
+        private static String disposition(String name, String fileName) {
+            final StringBuilder disposition = new StringBuilder("form-data; name=");
+            appendQuoted(disposition, name);
+            if (fileName != null) {
+                disposition.append("; filename=");
+                appendQuoted(disposition, fileName);
+            }
+            return disposition.toString();
+        }
+
+        private static void appendQuoted(StringBuilder target, String value) {
+            target.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                final char character = value.charAt(i);
+                switch (character) {
+                    case '\n':
+                        target.append("%0A");
+                        break;
+                    case '\r':
+                        target.append("%0D");
+                        break;
+                    case '"':
+                        target.append("%22");
+                        break;
+                    default:
+                        target.append(character);
+                }
+            }
+            target.append('"');
+        }
+    }
+
+    public static final class Builder {
+
+        private final List<Part> parts = new ArrayList<>();
+        private String boundary;
+
+        private Builder() {
+        }
+
+        public Builder boundary(@NonNull String boundary) {
+            this.boundary = boundary;
+            return this;
+        }
+
+        public Builder addPart(@NonNull Part part) {
+            parts.add(part);
+            return this;
+        }
+
+        public Builder addFormDataPart(String name, String value) {
+            return addPart(Part.formData(name, value));
+        }
+
+        public Builder addFormDataPart(String name, String fileName, TransportBody body) {
+            return addPart(Part.formData(name, fileName, body));
+        }
+
+        public MultipartForm build() {
+            if (parts.isEmpty()) {
+                throw new IllegalStateException("A multipart form needs at least one part");
+            }
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            return new MultipartForm(boundary != null ? boundary
+                    : Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong()), parts);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.flexudy.education.client.service.transport;
+
+import com.flexudy.education.client.service.HttpClientConfig;
+import com.flexudy.education.client.service.compression.CompressionInterceptor;
+import com.flexudy.education.client.service.network.AddressResolver;
+import com.google.common.annotations.VisibleForTesting;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public final class OkHttpTransport implements HttpTransport {
+
+    @Getter(value = AccessLevel.PACKAGE)
+    @VisibleForTesting
+    private final OkHttpClient client;
+
+    private volatile boolean closed;
+
+    public OkHttpTransport(@NonNull OkHttpClient client) {
+        this.client = client;
+    }
+
+    public OkHttpTransport(@NonNull HttpClientConfig httpClientConfig, @NonNull AddressResolver addressResolver) {
+        this(newHttpClient(httpClientConfig, addressResolver));
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        if (closed) {
+            throw new IOException("The transport is closed");
+        }
+        try {
+            return new OkHttpResponse(newCall(request).execute());
+        } catch (IOException ex) {
+            releaseConnectionsIfClosed();
+            throw ex;
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+        final CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+        if (closed) {
+            result.completeExceptionally(new IOException("The transport is closed"));
+            return result;
+        }
+        newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException ex) {
+                releaseConnectionsIfClosed();
+                result.completeExceptionally(ex);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                result.complete(new OkHttpResponse(response));
+            }
+        });
+        return result;
+    }
+
+    private Call newCall(TransportRequest request) {
+        final Call call = client.newCall(toRequest(request));
+        request.getRequestTimeout().ifPresent(requestTimeout -> call.timeout().timeout(
+                requestTimeout.getTimeout().toMillis(), TimeUnit.MILLISECONDS));
+        return call;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        client.dispatcher().cancelAll();
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    // A call that raced with close() may still have returned its connection to the pool
+    private void releaseConnectionsIfClosed() {
+        if (closed) {
+            client.connectionPool().evictAll();
+        }
+    }
+
+    private static Request toRequest(TransportRequest request) {
+        final Request.Builder builder = new Request.Builder().url(request.getUrl().toString());
+        request.getHeaders().forEach(builder::header);
+        request.getCallTimeouts().ifPresent(timeouts -> builder.tag(CallTimeouts.class, timeouts));
+        return builder.method(request.getMethod(), request.getBody().map(OkHttpBody::new).orElse(null)).build();
+    }
+
+    private static OkHttpClient newHttpClient(HttpClientConfig httpClientConfig, AddressResolver addressResolver) {
+        final OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .writeTimeout(httpClientConfig.getWriteTimeoutSeconds(), TimeUnit.SECONDS)
+                .readTimeout(httpClientConfig.getReadTimeoutSeconds(), TimeUnit.SECONDS)
+                .connectTimeout(httpClientConfig.getConnectTimeoutSeconds(), TimeUnit.SECONDS)
+                .dns(addressResolver::lookup);
+        httpClientConfig.getRequestCompressionCodec().ifPresent(codec -> builder.addInterceptor(
+                new CompressionInterceptor(codec, httpClientConfig.getCompressionThresholdBytes())));
+        if (httpClientConfig.getAdaptiveTimeoutConfig().isPresent()) {
+            builder.addInterceptor(new CallTimeoutsInterceptor());
+        }
+        return builder.build();
+    }
+
+    private static final class OkHttpBody extends RequestBody {
+
+        private final TransportBody body;
+        private final MediaType contentType;
+
+        private OkHttpBody(TransportBody body) {
+            this.body = body;
+            this.contentType = body.getContentType() == null ? null : MediaType.get(body.getContentType());
+        }
+
+        @Override
+        public MediaType contentType() {
+            return contentType;
+        }
+
+        @Override
+        public long contentLength() {
+            return body.getContentLength();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            body.writeTo(sink);
+        }
+    }
+
+    private final class OkHttpResponse implements TransportResponse {
+
+        private final Response response;
+
+        private OkHttpResponse(Response response) {
+            this.response = response;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.code();
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return response.header(name);
+        }
+
+        @Override
+        public InputStream getBody() {
+            return response.body().byteStream();
+        }
+
+        @Override
+        public String getBodyAsString() throws IOException {
+            return response.body().string();
+        }
+
+        @Override
+        public void close() {
+            response.close();
+            releaseConnectionsIfClosed();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.flexudy.education.client.service.transport;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.time.Duration;
+
+/**
+ * A request option that bounds the whole call, from sending the request to reading the response headers.
+ */
+@Getter
+public final class RequestTimeout {
+
+    private final Duration timeout;
+
+    private RequestTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public static TransportRequest apply(@NonNull TransportRequest request, @NonNull Duration timeout) {
+        return request.toBuilder().requestTimeout(new RequestTimeout(timeout)).build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.flexudy.education.client.service.transport;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TransportBodies {
+
+    public static TransportBody of(@NonNull byte[] content, String contentType) {
+        return new TransportBody() {
+            @Override
+            public String getContentType() {
+                return contentType;
+            }
+
+            @Override
+            public long getContentLength() {
+                return content.length;
+            }
+
+            @Override
+            public void writeTo(WritableByteChannel channel) throws IOException {
+                writeFully(channel, ByteBuffer.wrap(content));
+            }
+        };
+    }
+
+    public static TransportBody of(@NonNull String content, String contentType) {
+        return of(content.getBytes(StandardCharsets.UTF_8), contentType);
+    }
+
+    public static void writeFully(@NonNull WritableByteChannel channel, @NonNull ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
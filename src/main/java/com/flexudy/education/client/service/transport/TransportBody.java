@@ -0,0 +1,25 @@
+package com.flexudy.education.client.service.transport;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A request body as the client hands it to a transport. Bodies can be written more than once, for example when a
+ * transport retries a request.
+ */
+public interface TransportBody {
+
+    long UNKNOWN_LENGTH = -1;
+
+    /**
+     * Returns the media type of the body, or {@code null} if it has none.
+     */
+    String getContentType();
+
+    /**
+     * Returns the number of bytes {@link #writeTo(WritableByteChannel)} writes, or {@link #UNKNOWN_LENGTH}.
+     */
+    long getContentLength();
+
+    void writeTo(WritableByteChannel channel) throws IOException;
+}
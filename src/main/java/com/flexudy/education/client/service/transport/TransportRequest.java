@@ -0,0 +1,57 @@
+package com.flexudy.education.client.service.transport;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A request as the client hands it to a transport. Headers are kept in an immutable map that request copies share.
+ */
+@Builder(toBuilder = true)
+@Getter
+public final class TransportRequest {
+
+    public static final String GET = "GET";
+    public static final String HEAD = "HEAD";
+    public static final String POST = "POST";
+
+    @NonNull
+    private final String method;
+
+    @NonNull
+    private final URI url;
+
+    private final Map<String, String> headers;
+    private final TransportBody body;
+    private final RequestTimeout requestTimeout;
+    private final CallTimeouts callTimeouts;
+
+    public Map<String, String> getHeaders() {
+        return Optional.ofNullable(headers).orElse(Map.of());
+    }
+
+    public String getHeader(@NonNull String name) {
+        for (Map.Entry<String, String> header : getHeaders().entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    public Optional<TransportBody> getBody() {
+        return Optional.ofNullable(body);
+    }
+
+    public Optional<RequestTimeout> getRequestTimeout() {
+        return Optional.ofNullable(requestTimeout);
+    }
+
+    public Optional<CallTimeouts> getCallTimeouts() {
+        return Optional.ofNullable(callTimeouts);
+    }
+}
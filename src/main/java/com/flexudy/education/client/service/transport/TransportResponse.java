@@ -0,0 +1,28 @@
+package com.flexudy.education.client.service.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+public interface TransportResponse extends Closeable {
+
+    int getStatusCode();
+
+    String getHeader(String name);
+
+    InputStream getBody();
+
+    default boolean isSuccessful() {
+        return getStatusCode() >= 200 && getStatusCode() < 300;
+    }
+
+    default String getBodyAsString() throws IOException {
+        try (InputStream body = getBody()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    void close();
+}
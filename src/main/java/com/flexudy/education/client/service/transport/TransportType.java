@@ -0,0 +1,5 @@
+package com.flexudy.education.client.service.transport;
+
+public enum TransportType {
+    OKHTTP, JDK
+}
@@ -0,0 +1,40 @@
+package com.flexudy.education.client.data;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flexudy.education.client.data.common.JobId;
+import com.flexudy.education.client.data.common.JobProgress;
+import com.flexudy.education.client.data.quiz.ClozeQuestion;
+import com.flexudy.education.client.data.quiz.OpenQuestion;
+import com.flexudy.education.client.data.quiz.WHQuestion;
+import com.flexudy.education.client.data.summary.Summary;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NativeImageConfigTest {
+
+    private static final String REFLECT_CONFIG =
+            "/META-INF/native-image/com.flexudy.education/flexudy-client/reflect-config.json";
+
+    @Test
+    public void testReflectConfigListsEveryDeserializedResponseType() throws IOException {
+        final List<String> registeredTypes = new ArrayList<>();
+        try (InputStream inputStream = getClass().getResourceAsStream(REFLECT_CONFIG)) {
+            for (JsonNode entry : new ObjectMapper().readTree(inputStream)) {
+                registeredTypes.add(entry.get("name").asText());
+            }
+        }
+
+        assertThat(registeredTypes).containsAll(Stream.of(ClozeQuestion.class, WHQuestion.class, OpenQuestion.class,
+                                                          Summary.class, JobId.class, JobProgress.class)
+                                                      .map(Class::getName).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,107 @@
+package com.flexudy.education.client.data.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flexudy.education.client.data.quiz.ClozeQuestion;
+import com.flexudy.education.client.data.quiz.OpenQuestion;
+import com.flexudy.education.client.data.quiz.WHQuestion;
+import com.flexudy.education.client.data.summary.Summary;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BinaryResultCodecsTest {
+
+    private static final List<ClozeQuestion> CLOZE_QUESTIONS = List.of(new ClozeQuestion("The capital of France is @_Paris_@"),
+                                                                       new ClozeQuestion("Die Hauptstadt ist @_Z\u00FCrich_@"));
+    private static final WHQuestion WH_QUESTION = new WHQuestion("What is the capital of the UAE?", "Abu Dhabi");
+    private static final OpenQuestion OPEN_QUESTION = new OpenQuestion("Describe a centric?", null);
+    private static final Summary SUMMARY = new Summary(List.of("This is a summary", "This is another fact"));
+
+    @Test
+    public void testClozeQuestionListRoundTrip() throws IOException {
+        final ResultCodec<List<ClozeQuestion>> codec = BinaryResultCodecs.listOf(BinaryResultCodecs.CLOZE_QUESTION);
+
+        final byte[] encoded = codec.encode(CLOZE_QUESTIONS);
+
+        assertThat(codec.decode(encoded)).isEqualTo(CLOZE_QUESTIONS);
+        assertThat(encoded.length).isLessThan(new ObjectMapper().writeValueAsBytes(CLOZE_QUESTIONS).length);
+    }
+
+    @Test
+    public void testWHQuestionRoundTrip() {
+        assertThat(BinaryResultCodecs.WH_QUESTION.decode(BinaryResultCodecs.WH_QUESTION.encode(WH_QUESTION)))
+                .isEqualTo(WH_QUESTION);
+    }
+
+    @Test
+    public void testOpenQuestionRoundTripWithNullField() {
+        assertThat(BinaryResultCodecs.OPEN_QUESTION.decode(BinaryResultCodecs.OPEN_QUESTION.encode(OPEN_QUESTION)))
+                .isEqualTo(OPEN_QUESTION);
+    }
+
+    @Test
+    public void testSummaryRoundTrip() throws IOException {
+        final byte[] encoded = BinaryResultCodecs.SUMMARY.encode(SUMMARY);
+
+        assertThat(BinaryResultCodecs.SUMMARY.decode(encoded)).isEqualTo(SUMMARY);
+        assertThat(BinaryResultCodecs.SUMMARY.decode(BinaryResultCodecs.SUMMARY.encode(new Summary(null))).getFacts())
+                .isNull();
+        assertThat(encoded.length).isLessThan(new ObjectMapper().writeValueAsBytes(SUMMARY).length);
+    }
+
+    @Test
+    public void testDecodeWithUnsupportedVersion() {
+        final byte[] encoded = BinaryResultCodecs.WH_QUESTION.encode(WH_QUESTION);
+        encoded[0] = 42;
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryResultCodecs.WH_QUESTION.decode(encoded));
+    }
+
+    @Test
+    public void testDecodeTruncatedInput() {
+        final byte[] encoded = BinaryResultCodecs.SUMMARY.encode(SUMMARY);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryResultCodecs.SUMMARY.decode(Arrays.copyOf(encoded, encoded.length - 3)));
+    }
+
+    @Test
+    public void testDecodeRejectsInvalidLengthsBeforeAllocating() {
+        // A list claiming Integer.MAX_VALUE elements, and a string claiming a negative length
+        final byte[] hugeList = {BinaryResultCodecs.FORMAT_VERSION, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                                 0x07, 0x01};
+        final byte[] negativeString = {BinaryResultCodecs.FORMAT_VERSION, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+                                       (byte) 0x80, 0x08};
+        final byte[] hugeString = {BinaryResultCodecs.FORMAT_VERSION, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                                   (byte) 0xFF, 0x07, 'a'};
+
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryResultCodecs.listOf(BinaryResultCodecs.CLOZE_QUESTION).decode(hugeList));
+        assertThrows(IllegalArgumentException.class, () -> BinaryResultCodecs.CLOZE_QUESTION.decode(negativeString));
+        assertThrows(IllegalArgumentException.class, () -> BinaryResultCodecs.CLOZE_QUESTION.decode(hugeString));
+    }
+
+    @Test
+    public void testLongStringRoundTrip() {
+        final ClozeQuestion question = new ClozeQuestion("@_Paris_@ ".repeat(20_000));
+
+        assertThat(BinaryResultCodecs.CLOZE_QUESTION.decode(BinaryResultCodecs.CLOZE_QUESTION.encode(question)))
+                .isEqualTo(question);
+    }
+
+    @Test
+    public void testJsonRoundTripUsesConstructors() throws IOException {
+        final ObjectMapper objectMapper = new ObjectMapper();
+
+        assertThat(objectMapper.readValue(objectMapper.writeValueAsString(WH_QUESTION), WHQuestion.class))
+                .isEqualTo(WH_QUESTION);
+        assertThat(objectMapper.readValue(objectMapper.writeValueAsString(OPEN_QUESTION), OpenQuestion.class))
+                .isEqualTo(OPEN_QUESTION);
+        assertThat(objectMapper.readValue(objectMapper.writeValueAsString(SUMMARY), Summary.class)).isEqualTo(SUMMARY);
+    }
+}
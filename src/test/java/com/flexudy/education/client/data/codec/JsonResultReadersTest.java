@@ -0,0 +1,90 @@
+package com.flexudy.education.client.data.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flexudy.education.client.data.common.JobId;
+import com.flexudy.education.client.data.common.JobProgress;
+import com.flexudy.education.client.data.quiz.ClozeQuestion;
+import com.flexudy.education.client.data.quiz.OpenQuestion;
+import com.flexudy.education.client.data.quiz.WHQuestion;
+import com.flexudy.education.client.data.summary.Summary;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonResultReadersTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    public void testReadersMatchObjectMapper() throws IOException {
+        final String clozeQuestions = "[{\"questionAnswer\":\"The capital of France is @_Paris_@\"}," +
+                "{\"questionAnswer\":\"Die Hauptstadt ist @_Z\\u00FCrich_@\"}]";
+        final String whQuestions = "[{\"question\":\"What is the capital of the UAE?\",\"answer\":\"Abu Dhabi\"}]";
+        final String openQuestions = "[{\"question\":\"Describe a centric?\",\"passage\":null}]";
+        final String summary = "{\"summary\":[\"This is a summary\",\"This is another fact\"]}";
+
+        assertThat(JsonResultReaders.CLOZE_QUESTIONS.read(toStream(clozeQuestions)))
+                .isEqualTo(OBJECT_MAPPER.readValue(clozeQuestions, new TypeReference<List<ClozeQuestion>>() {}));
+        assertThat(JsonResultReaders.WH_QUESTIONS.read(toStream(whQuestions)))
+                .isEqualTo(OBJECT_MAPPER.readValue(whQuestions, new TypeReference<List<WHQuestion>>() {}));
+        assertThat(JsonResultReaders.OPEN_QUESTIONS.read(toStream(openQuestions)))
+                .isEqualTo(OBJECT_MAPPER.readValue(openQuestions, new TypeReference<List<OpenQuestion>>() {}));
+        assertThat(JsonResultReaders.SUMMARY.read(toStream(summary)))
+                .isEqualTo(OBJECT_MAPPER.readValue(summary, Summary.class));
+        assertThat(JsonResultReaders.SUMMARY.read(toStream("{\"summary\":null}")).getFacts()).isNull();
+    }
+
+    @Test
+    public void testUnknownPropertiesAreSkipped() throws IOException {
+        final List<WHQuestion> questions = JsonResultReaders.WH_QUESTIONS.read(toStream(
+                "[{\"question\":\"Where?\",\"score\":{\"value\":[1,2]},\"answer\":\"Here\"}]"));
+
+        assertThat(questions).containsExactly(new WHQuestion("Where?", "Here"));
+    }
+
+    @Test
+    public void testNumericJobIdIsReadAsText() throws IOException {
+        final JobId jobId = JsonResultReaders.JOB_ID.read(toStream("{\"jobId\":42}"));
+
+        assertThat(jobId.getJobId()).isEqualTo("42");
+    }
+
+    @Test
+    public void testJobIdCarriesProgressHints() throws IOException {
+        final JobId jobId = JsonResultReaders.JOB_ID.read(toStream(
+                "{\"jobId\":\"7\",\"queuePosition\":3,\"etaSeconds\":1.5,\"progress\":null}"));
+
+        assertThat(jobId.getJobId()).isEqualTo("7");
+        assertThat(jobId.getJobProgress()).isEqualTo(new JobProgress(3, 1.5, null));
+    }
+
+    @Test
+    public void testJobProgressIsRead() throws IOException {
+        final JobProgress progress = JsonResultReaders.JOB_PROGRESS.read(toStream(
+                "{\"status\":\"running\",\"progress\":0.25}"));
+
+        assertThat(progress).isEqualTo(new JobProgress(null, null, 0.25));
+        assertThrows(JsonProcessingException.class, () -> JsonResultReaders.JOB_PROGRESS.read(toStream(
+                "{\"etaSeconds\":\"soon\"}")));
+    }
+
+    @Test
+    public void testMalformedJsonIsRejected() {
+        assertThrows(JsonProcessingException.class, () -> JsonResultReaders.CLOZE_QUESTIONS.read(toStream("{}")));
+        assertThrows(JsonProcessingException.class, () -> JsonResultReaders.JOB_ID.read(toStream("{\"jobId\":{}}")));
+        assertThrows(JsonProcessingException.class, () -> JsonResultReaders.SUMMARY.read(toStream("{\"summary\":[")));
+    }
+
+    private static InputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,155 @@
+package com.flexudy.education.client.data.codec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flexudy.education.client.data.quiz.ClozeQuestion;
+import com.flexudy.education.client.data.quiz.OpenQuestion;
+import com.flexudy.education.client.data.quiz.WHQuestion;
+import com.flexudy.education.client.data.summary.Summary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ResultSinksTest {
+
+    private static final List<ClozeQuestion> CLOZE_QUESTIONS = List.of(new ClozeQuestion("The capital of France is @_Paris_@"),
+                                                                       new ClozeQuestion("Die Hauptstadt ist @_Z\u00FCrich_@"));
+    private static final WHQuestion WH_QUESTION = new WHQuestion("Say \"hi\",\nthen\tleave?", "C:\\ \u0001");
+    private static final OpenQuestion OPEN_QUESTION = new OpenQuestion("Describe a centric?", null);
+    private static final Summary SUMMARY = new Summary(List.of("This is a summary", "This is another fact"));
+
+    @Test
+    public void testJsonLinesEscapesValues() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ResultSink<WHQuestion> sink = new JsonLinesSink<>(Channels.newChannel(output), ExportSchemas.WH_QUESTION, 16)) {
+            sink.write(WH_QUESTION);
+            sink.write(WH_QUESTION);
+            assertThat(sink.getRowCount()).isEqualTo(2);
+        }
+
+        final String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        final JsonNode row = new ObjectMapper().readTree(lines[0]);
+        assertThat(row.get("question").asText()).isEqualTo(WH_QUESTION.getQuestion());
+        assertThat(row.get("answer").asText()).isEqualTo(WH_QUESTION.getAnswer());
+    }
+
+    @Test
+    public void testJsonLinesWritesNullsAndMultiByteCharacters() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ResultSink<ClozeQuestion> sink = new JsonLinesSink<>(Channels.newChannel(output), ExportSchemas.CLOZE_QUESTION,
+                                                                  16)) {
+            sink.writeAll(CLOZE_QUESTIONS);
+        }
+        try (ResultSink<OpenQuestion> sink = new JsonLinesSink<>(Channels.newChannel(output), ExportSchemas.OPEN_QUESTION)) {
+            sink.write(OPEN_QUESTION);
+        }
+
+        final String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(new ObjectMapper().readTree(lines[1]).get("answer").asText()).isEqualTo("Z\u00FCrich");
+        assertThat(new ObjectMapper().readTree(lines[1]).get("question").asText())
+                .isEqualTo("Die Hauptstadt ist ______");
+        assertThat(new ObjectMapper().readTree(lines[2]).get("passage").isNull()).isTrue();
+    }
+
+    @Test
+    public void testCsvQuotesFieldsAndWritesOneRowPerFact(@TempDir Path directory) throws IOException {
+        final Path questions = directory.resolve("questions.csv");
+        try (ResultSink<WHQuestion> sink = ResultSinks.csv(questions, ExportSchemas.WH_QUESTION)) {
+            sink.write(WH_QUESTION);
+        }
+        final Path summaries = directory.resolve("summaries.csv");
+        try (ResultSink<Summary> sink = ResultSinks.csv(summaries, ExportSchemas.SUMMARY)) {
+            sink.write(SUMMARY);
+            assertThat(sink.getRowCount()).isEqualTo(2);
+        }
+
+        assertThat(Files.readString(questions)).isEqualTo("question,answer\r\n\"Say \"\"hi\"\",\nthen\tleave?\",C:\\ \u0001\r\n");
+        assertThat(Files.readString(summaries)).isEqualTo("fact\r\nThis is a summary\r\nThis is another fact\r\n");
+    }
+
+    @Test
+    public void testColumnarRoundTripInRowGroups() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ResultSink<ClozeQuestion> sink = new ColumnarSink<>(Channels.newChannel(output), ExportSchemas.CLOZE_QUESTION,
+                                                                 3)) {
+            for (int i = 0; i < 4; i++) {
+                sink.writeAll(CLOZE_QUESTIONS);
+            }
+        }
+
+        try (ColumnarReader reader = new ColumnarReader(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())))) {
+            assertThat(reader.getColumns()).containsExactly("question", "answer", "questionAnswer");
+            final List<String[]> rows = new ArrayList<>();
+            List<String[]> rowGroup;
+            while ((rowGroup = reader.readRowGroup(Set.of("answer"))) != null) {
+                assertThat(rowGroup.size()).isLessThanOrEqualTo(3);
+                rows.addAll(rowGroup);
+            }
+            assertThat(rows).hasSize(8);
+            assertThat(rows.get(1)).containsExactly(null, "Z\u00FCrich", null);
+            assertThat(reader.readRowGroup()).isNull();
+        }
+    }
+
+    @Test
+    public void testColumnarReaderRejectsOtherFormats() {
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarReader(Channels.newChannel(
+                new ByteArrayInputStream("question,answer\r\n".getBytes(StandardCharsets.UTF_8)))));
+    }
+
+    @Test
+    public void testColumnarReaderRejectsImplausibleRowGroups() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(ColumnarSink.MAGIC);
+        output.write(new byte[]{BinaryResultCodecs.FORMAT_VERSION, 0x01, 0x02, 'a'});
+        // Integer.MAX_VALUE rows in a one byte column block
+        output.write(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0x01, 0x00});
+
+        try (ColumnarReader reader = new ColumnarReader(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())))) {
+            assertThat(reader.getColumns()).containsExactly("a");
+            assertThrows(IOException.class, reader::readRowGroup);
+        }
+    }
+
+    @Test
+    public void testConcurrentWritersKeepRowsIntact(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve("questions.jsonl");
+        final ExecutorService writers = Executors.newFixedThreadPool(4);
+        try (ResultSink<WHQuestion> sink = ResultSinks.jsonLines(path, ExportSchemas.WH_QUESTION)) {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(writers.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        sink.write(WH_QUESTION);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            writers.shutdown();
+        }
+
+        final List<String> lines = Files.readAllLines(path);
+        assertThat(lines).hasSize(8000).containsOnly(lines.get(0));
+    }
+}
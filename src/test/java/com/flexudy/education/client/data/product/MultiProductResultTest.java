@@ -0,0 +1,42 @@
+package com.flexudy.education.client.data.product;
+
+import com.flexudy.education.client.data.summary.Summary;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MultiProductResultTest {
+
+    private static final Summary SUMMARY = new Summary(List.of("Paris is the capital of France."));
+
+    @Test
+    public void testResultsWithEquivalentFailuresAreEqual() {
+        final MultiProductResult first = new MultiProductResult(Map.of(Product.SUMMARY, SUMMARY),
+                                                                Map.of(Product.CLOZE_QUIZ,
+                                                                       new IllegalStateException("Job 1 failed")));
+        final MultiProductResult second = new MultiProductResult(Map.of(Product.SUMMARY, SUMMARY),
+                                                                 Map.of(Product.CLOZE_QUIZ,
+                                                                        new IllegalStateException("Job 1 failed")));
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+    }
+
+    @Test
+    public void testResultsWithDifferentFailuresAreNotEqual() {
+        final MultiProductResult failed = new MultiProductResult(Map.of(Product.SUMMARY, SUMMARY),
+                                                                 Map.of(Product.CLOZE_QUIZ,
+                                                                        new IllegalStateException("Job 1 failed")));
+
+        assertThat(failed).isNotEqualTo(new MultiProductResult(Map.of(Product.SUMMARY, SUMMARY),
+                                                               Map.of(Product.CLOZE_QUIZ,
+                                                                      new IllegalArgumentException("Job 1 failed"))));
+        assertThat(failed).isNotEqualTo(new MultiProductResult(Map.of(Product.SUMMARY, SUMMARY),
+                                                               Map.of(Product.WH_QUIZ,
+                                                                      new IllegalStateException("Job 1 failed"))));
+        assertThat(failed).isNotEqualTo(new MultiProductResult(Map.of(Product.SUMMARY, SUMMARY), Map.of()));
+    }
+}
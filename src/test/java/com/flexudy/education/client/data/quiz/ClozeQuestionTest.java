@@ -4,6 +4,11 @@ import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ClozeQuestionTest {
@@ -15,6 +20,14 @@ public class ClozeQuestionTest {
     private static final String CLOZE_QUESTION_CUSTOM_BLANKED = "The capital of France is " + CUSTOM_BLANK_SYMBOL;
     private static final String CLOZE_QUESTION_ANSWER = "Paris";
 
+    private static final Pattern QUESTION_URN_PATTERN = Pattern.compile("(@_)((?!_@|@_).)*(_@)");
+    private static final Pattern WRAP_TEXT_PATTERN = Pattern.compile("(-\n).");
+    private static final Pattern NEXT_LINE_PATTERN = Pattern.compile("\n");
+    private static final List<String> EDGE_CASE_QUESTIONS = List.of("", "@_", "_@", "@__@", "@_@", "@_@_x_@",
+            "@_x@_@ and @_y_@", "@_a\nb_@ and @_c_@", "@_a\rb_@", "  Leading @_x_@ trailing  ",
+            "Hyphen-\nated @_word_@", "Hyphen-\n\nbreak", "-\n-\nX", "@_x_@_@_y_@", "@_@x_@", "@__x_@",
+            "@_x__@", "The\u00A0capital @_of_@\u00A0", "Tab\tand\nnew\r\nline @_Paris_@.");
+
     private ClozeQuestion clozeQuestion;
 
     @BeforeEach
@@ -41,4 +54,57 @@ public class ClozeQuestionTest {
         assertThat(clozeQuestion.getAnswer()).isEqualTo(StringUtils.EMPTY);
     }
 
+    @Test
+    public void testClozeQuestionWithMultipleBlanks() {
+        this.clozeQuestion = new ClozeQuestion("The capital of @_France_@ is @_Paris_@");
+
+        assertThat(clozeQuestion.getQuestion()).isEqualTo("The capital of ______ is ______");
+        assertThat(clozeQuestion.getAnswer()).isEqualTo("France");
+        assertThat(clozeQuestion.getAnswers()).containsExactly("France", "Paris");
+    }
+
+    @Test
+    public void testClozeQuestionIsParsedOnce() {
+        assertThat(clozeQuestion.getQuestion()).isSameAs(clozeQuestion.getQuestion());
+        assertThat(clozeQuestion.getAnswer()).isSameAs(clozeQuestion.getAnswer());
+    }
+
+    @Test
+    public void testClozeQuestionMatchesRegexImplementation() {
+        EDGE_CASE_QUESTIONS.forEach(this::assertMatchesRegexImplementation);
+
+        final Random random = new Random(42);
+        final char[] alphabet = {'@', '_', '-', '\n', ' ', 'a', 'b', '\r'};
+        for (int i = 0; i < 10_000; i++) {
+            final char[] text = new char[random.nextInt(20)];
+            for (int j = 0; j < text.length; j++) {
+                text[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            assertMatchesRegexImplementation(new String(text));
+        }
+    }
+
+    private void assertMatchesRegexImplementation(String questionAnswer) {
+        final ClozeQuestion question = new ClozeQuestion(questionAnswer);
+
+        assertThat(question.getQuestion()).as(questionAnswer).isEqualTo(regexQuestion(questionAnswer, "______"));
+        assertThat(question.getQuestion(CUSTOM_BLANK_SYMBOL)).as(questionAnswer)
+                                                            .isEqualTo(regexQuestion(questionAnswer, CUSTOM_BLANK_SYMBOL));
+        assertThat(question.getAnswer()).as(questionAnswer).isEqualTo(regexAnswer(questionAnswer));
+    }
+
+    private static String regexQuestion(String questionAnswer, String blankSymbol) {
+        final String displayQuestion = QUESTION_URN_PATTERN.matcher(questionAnswer).replaceAll(blankSymbol);
+        final String unwrapped = WRAP_TEXT_PATTERN.matcher(displayQuestion).replaceAll(StringUtils.EMPTY);
+        return StringUtils.normalizeSpace(NEXT_LINE_PATTERN.matcher(unwrapped).replaceAll(StringUtils.SPACE));
+    }
+
+    private static String regexAnswer(String questionAnswer) {
+        final Matcher matcher = QUESTION_URN_PATTERN.matcher(questionAnswer);
+        if (matcher.find()) {
+            return questionAnswer.substring(matcher.start(), matcher.end()).replace("@_", StringUtils.EMPTY)
+                                 .replace("_@", StringUtils.EMPTY);
+        }
+        return StringUtils.EMPTY;
+    }
 }
@@ -0,0 +1,54 @@
+package com.flexudy.education.client.exception;
+
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FlexudyApiExceptionTest {
+
+    private static final String ENDPOINT = "/api/v1/summary/queue/results";
+
+    @Test
+    public void testForStatus() {
+        assertThat(forStatus(HttpStatus.SC_BAD_REQUEST)).isExactlyInstanceOf(BadRequestException.class);
+        assertThat(forStatus(HttpStatus.SC_UNPROCESSABLE_ENTITY)).isExactlyInstanceOf(BadRequestException.class);
+        assertThat(forStatus(HttpStatus.SC_UNAUTHORIZED)).isExactlyInstanceOf(UnauthorizedException.class);
+        assertThat(forStatus(HttpStatus.SC_FORBIDDEN)).isExactlyInstanceOf(ForbiddenException.class);
+        assertThat(forStatus(HttpStatus.SC_PAYMENT_REQUIRED)).isExactlyInstanceOf(ForbiddenException.class);
+        assertThat(forStatus(HttpStatus.SC_REQUEST_TIMEOUT)).isExactlyInstanceOf(ApiTimeoutException.class);
+        assertThat(forStatus(HttpStatus.SC_GATEWAY_TIMEOUT)).isExactlyInstanceOf(ApiTimeoutException.class);
+        assertThat(forStatus(FlexudyApiException.SC_TOO_MANY_REQUESTS)).isExactlyInstanceOf(RateLimitedException.class);
+        assertThat(forStatus(HttpStatus.SC_SERVICE_UNAVAILABLE)).isExactlyInstanceOf(ServerUnavailableException.class);
+        assertThat(forStatus(HttpStatus.SC_INTERNAL_SERVER_ERROR)).isExactlyInstanceOf(FlexudyApiException.class);
+    }
+
+    @Test
+    public void testRetryable() {
+        assertThat(forStatus(FlexudyApiException.SC_TOO_MANY_REQUESTS).isRetryable()).isTrue();
+        assertThat(forStatus(HttpStatus.SC_BAD_GATEWAY).isRetryable()).isTrue();
+        assertThat(forStatus(HttpStatus.SC_GATEWAY_TIMEOUT).isRetryable()).isTrue();
+        assertThat(forStatus(HttpStatus.SC_UNAUTHORIZED).isRetryable()).isFalse();
+        assertThat(forStatus(HttpStatus.SC_INTERNAL_SERVER_ERROR).isRetryable()).isFalse();
+    }
+
+    @Test
+    public void testCarriesMetadataWithoutStackTrace() {
+        final FlexudyApiException exception = FlexudyApiException.forStatus("Slow down", 429, ENDPOINT,
+                                                                            Duration.ofSeconds(30), "1");
+
+        assertThat(exception).hasMessage("Slow down");
+        assertThat(exception.getStatusCode()).isEqualTo(429);
+        assertThat(exception.getEndpoint()).isEqualTo(ENDPOINT);
+        assertThat(exception.getRetryAfter()).contains(Duration.ofSeconds(30));
+        assertThat(exception.getJobId()).contains("1");
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(new FlexudyApiException("Failed", 500, ENDPOINT).getRetryAfter()).isEmpty();
+    }
+
+    private static FlexudyApiException forStatus(int statusCode) {
+        return FlexudyApiException.forStatus("Failed", statusCode, ENDPOINT, null, null);
+    }
+}
@@ -0,0 +1,394 @@
+package com.flexudy.education.client.service;
+
+import com.flexudy.education.client.data.common.CommonRequestData.SimpleAsyncRequestData;
+import com.flexudy.education.client.data.common.CommonRequestData.SimpleCommonRequestData;
+import com.flexudy.education.client.data.summary.Summary;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.apache.http.HttpStatus;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ServerSocketFactory;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs thousands of concurrent calls and jobs against a local gateway and checks that the client keeps its threads,
+ * connections and heap bounded, and releases all of them when closed. Run with {@code mvn test -Pstress}.
+ */
+@Tag("stress")
+public class FlexudyClientStressTest {
+
+    private static final String LICENSE_KEY = "abc";
+    private static final Pattern MARKER = Pattern.compile("request-\\d+");
+
+    private static final int CALLERS = 32;
+    private static final int SYNC_CALLS = 2_000;
+    private static final int QUEUED_JOBS = 1_000;
+
+    private static final int MAX_CLIENT_THREADS = 32;
+    private static final long MAX_HEAP_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    private MockWebServer server;
+    private GatewayDispatcher gateway;
+    private TrackingServerSocketFactory serverSockets;
+    private FlexudyClient client;
+    private ExecutorService callers;
+    private ThreadSampler threadSampler;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.gateway = new GatewayDispatcher();
+        this.serverSockets = new TrackingServerSocketFactory();
+        this.server = new MockWebServer();
+        server.setDispatcher(gateway);
+        server.setServerSocketFactory(serverSockets);
+        server.start();
+        this.client = FlexudyClient.builder().licenseKey(LICENSE_KEY).baseUrl(server.url("/").toString()).build();
+        this.callers = Executors.newFixedThreadPool(CALLERS, new ThreadFactoryBuilder().setNameFormat("stress-caller-%d")
+                                                                                       .build());
+        this.threadSampler = new ThreadSampler();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        threadSampler.close();
+        callers.shutdownNow();
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void testConcurrentSyncCalls() throws Exception {
+        final long heapBefore = usedHeap();
+
+        final List<Future<Summary>> results = submitAll(SYNC_CALLS, i -> () -> client.generateSummary(
+                SimpleCommonRequestData.builder().textContent(marker(i)).build()));
+
+        for (int i = 0; i < SYNC_CALLS; i++) {
+            assertThat(results.get(i).get(1, TimeUnit.MINUTES).getFacts()).containsExactly(marker(i));
+        }
+        assertThat(gateway.requestCount.get()).isEqualTo(SYNC_CALLS);
+        assertThat(gateway.connectionCount.get()).isLessThan(SYNC_CALLS / 4);
+        assertThat(threadSampler.getMaxClientThreads()).isLessThanOrEqualTo(MAX_CLIENT_THREADS);
+        results.clear();
+        assertThat(usedHeap() - heapBefore).isLessThan(MAX_HEAP_GROWTH_BYTES);
+        assertReleasedOnClose();
+    }
+
+    @Test
+    public void testConcurrentQueuedJobs() throws Exception {
+        final long heapBefore = usedHeap();
+
+        final List<Future<JobHandle<Summary>>> handles = submitAll(QUEUED_JOBS, i -> () -> client.submitSummaryJob(
+                SimpleAsyncRequestData.builder().jobPollingWaitInterval(0).textContent(marker(i)).build()));
+
+        for (int i = 0; i < QUEUED_JOBS; i++) {
+            final JobHandle<Summary> handle = handles.get(i).get(1, TimeUnit.MINUTES);
+            assertThat(handle.get(1, TimeUnit.MINUTES).getFacts()).containsExactly(marker(i));
+            assertThat(handle.getStatus()).isEqualTo(JobStatus.DONE);
+            assertThat(handle.getPollCount()).isEqualTo(2);
+        }
+        assertThat(threadSampler.getMaxClientThreads()).isLessThanOrEqualTo(MAX_CLIENT_THREADS);
+        handles.clear();
+        assertThat(usedHeap() - heapBefore).isLessThan(MAX_HEAP_GROWTH_BYTES);
+        assertReleasedOnClose();
+    }
+
+    @Test
+    public void testDrainCompletesOnlyAfterAllJobs() throws Exception {
+        final List<Future<JobHandle<Summary>>> handles = submitAll(QUEUED_JOBS, i -> () -> client.submitSummaryJob(
+                SimpleAsyncRequestData.builder().jobPollingWaitInterval(0).textContent(marker(i)).build()));
+        final List<JobHandle<Summary>> submitted = new ArrayList<>();
+        for (Future<JobHandle<Summary>> handle : handles) {
+            submitted.add(handle.get(1, TimeUnit.MINUTES));
+        }
+
+        assertThat(client.drain(Duration.ofMinutes(1))).isTrue();
+
+        assertThat(submitted).allSatisfy(handle -> assertThat(handle.isDone()).isTrue());
+        assertThrows(IllegalStateException.class, () -> client.generateSummary(SimpleCommonRequestData.builder()
+                .textContent(marker(0)).build()));
+    }
+
+    @Test
+    public void testCloseRacingWithNewWork() throws Exception {
+        final CountDownLatch firstResults = new CountDownLatch(CALLERS);
+        final AtomicInteger rejected = new AtomicInteger();
+        final List<Future<Object>> results = submitAll(SYNC_CALLS, i -> () -> {
+            try {
+                final Object result = i % 2 == 0
+                        ? client.generateSummary(SimpleCommonRequestData.builder().textContent(marker(i)).build())
+                        : client.submitSummaryJob(SimpleAsyncRequestData.builder().jobPollingWaitInterval(0)
+                                                                        .textContent(marker(i)).build());
+                firstResults.countDown();
+                return result;
+            } catch (IllegalStateException ex) {
+                rejected.incrementAndGet();
+                return ex;
+            }
+        });
+        assertThat(firstResults.await(1, TimeUnit.MINUTES)).isTrue();
+
+        client.close();
+
+        for (Future<Object> result : results) {
+            final Object outcome = result.get(1, TimeUnit.MINUTES);
+            if (outcome instanceof JobHandle) {
+                final JobHandle<?> handle = (JobHandle<?>) outcome;
+                assertThat(handle.isDone()).isTrue();
+                assertThat(handle.getStatus()).isIn(JobStatus.DONE, JobStatus.FAILED);
+            }
+        }
+        assertThat(rejected.get()).isPositive();
+        assertThat(client.getState()).isEqualTo(ClientState.CLOSED);
+        assertReleasedOnClose();
+    }
+
+    private <T> List<Future<T>> submitAll(int count, IntFunction<Callable<T>> task) {
+        return IntStream.range(0, count).mapToObj(i -> callers.submit(task.apply(i))).collect(Collectors.toList());
+    }
+
+    private void assertReleasedOnClose() throws InterruptedException {
+        client.close();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((!clientThreads(false).isEmpty() || serverSockets.openConnections() > 0)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(clientThreads(false)).isEmpty();
+        assertThat(serverSockets.acceptedConnections()).isPositive();
+        assertThat(serverSockets.openConnections()).isZero();
+    }
+
+    private static List<String> clientThreads(boolean flexudyOnly) {
+        return Thread.getAllStackTraces().entrySet().stream()
+                     .filter(thread -> thread.getKey().isAlive() && !isIdlePoolThread(thread.getValue()))
+                     .map(thread -> thread.getKey().getName())
+                     .filter(name -> name.startsWith("flexudy-") || !flexudyOnly && name.startsWith("OkHttp"))
+                     .collect(Collectors.toList());
+    }
+
+    // OkHttp's TaskRunner threads are shared by the whole JVM and linger for a minute after their last task
+    private static boolean isIdlePoolThread(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            if (frame.getClassName().equals("java.util.concurrent.ThreadPoolExecutor")
+                    && frame.getMethodName().equals("getTask")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String marker(int index) {
+        return "request-" + index;
+    }
+
+    private static final class ThreadSampler implements AutoCloseable {
+
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        private final AtomicInteger maxClientThreads = new AtomicInteger();
+
+        private ThreadSampler() {
+            sampler.scheduleAtFixedRate(() -> maxClientThreads.accumulateAndGet(clientThreads(false).size(), Math::max),
+                                        0, 10, TimeUnit.MILLISECONDS);
+        }
+
+        private int getMaxClientThreads() {
+            return maxClientThreads.get();
+        }
+
+        @Override
+        public void close() {
+            sampler.shutdownNow();
+        }
+    }
+
+    /**
+     * Records the connections the gateway accepts. A connection counts as closed once the server closed it or saw the
+     * client go away, since the server does not close a socket whose peer reset it mid-response.
+     */
+    private static final class TrackingServerSocketFactory extends ServerSocketFactory {
+
+        private final List<TrackingSocket> accepted = new CopyOnWriteArrayList<>();
+
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new ServerSocket() {
+                @Override
+                public Socket accept() throws IOException {
+                    final TrackingSocket socket = new TrackingSocket();
+                    implAccept(socket);
+                    accepted.add(socket);
+                    return socket;
+                }
+            };
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress address) {
+            throw new UnsupportedOperationException();
+        }
+
+        private int acceptedConnections() {
+            return accepted.size();
+        }
+
+        private long openConnections() {
+            return accepted.stream().filter(socket -> !socket.isClosed() && !socket.peerClosed).count();
+        }
+    }
+
+    private static final class TrackingSocket extends Socket {
+
+        private volatile boolean peerClosed;
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public int read() throws IOException {
+                    return track(() -> super.read());
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) throws IOException {
+                    return track(() -> super.read(bytes, offset, length));
+                }
+            };
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            return new FilterOutputStream(super.getOutputStream()) {
+                @Override
+                public void write(byte[] bytes, int offset, int length) throws IOException {
+                    track(() -> {
+                        out.write(bytes, offset, length);
+                        return 0;
+                    });
+                }
+            };
+        }
+
+        private int track(IoCall call) throws IOException {
+            try {
+                final int result = call.run();
+                if (result < 0) {
+                    peerClosed = true;
+                }
+                return result;
+            } catch (IOException ex) {
+                peerClosed = true;
+                throw ex;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoCall {
+        int run() throws IOException;
+    }
+
+    private static final class GatewayDispatcher extends Dispatcher {
+
+        private final AtomicLong jobIds = new AtomicLong();
+        private final AtomicInteger requestCount = new AtomicInteger();
+        private final AtomicInteger connectionCount = new AtomicInteger();
+        private final ConcurrentMap<String, String> jobMarkers = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Boolean> polledJobs = new ConcurrentHashMap<>();
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            requestCount.incrementAndGet();
+            if (request.getSequenceNumber() == 0) {
+                connectionCount.incrementAndGet();
+            }
+            switch (request.getRequestUrl().encodedPath()) {
+                case "/api/v1/summary/generate":
+                    return summary(HttpStatus.SC_OK, findMarker(request));
+                case "/api/v1/summary/queue":
+                    final String jobId = Long.toString(jobIds.incrementAndGet());
+                    jobMarkers.put(jobId, findMarker(request));
+                    return new MockResponse().setResponseCode(HttpStatus.SC_CREATED)
+                                             .setBody(new JSONObject().put("jobId", jobId).toString());
+                case "/api/v1/summary/queue/results":
+                    final String polledJobId = request.getRequestUrl().queryParameter("jobId");
+                    if (polledJobs.putIfAbsent(polledJobId, Boolean.TRUE) == null) {
+                        return new MockResponse().setResponseCode(HttpStatus.SC_NOT_FOUND);
+                    }
+                    return summary(HttpStatus.SC_OK, jobMarkers.remove(polledJobId));
+                default:
+                    return new MockResponse().setResponseCode(HttpStatus.SC_NOT_FOUND);
+            }
+        }
+
+        private static MockResponse summary(int statusCode, String fact) {
+            return new MockResponse().setResponseCode(statusCode)
+                                     .setBody(new JSONObject().put("summary", List.of(fact)).toString());
+        }
+
+        private static String findMarker(RecordedRequest request) {
+            final Matcher matcher = MARKER.matcher(request.getBody().readUtf8());
+            if (!matcher.find()) {
+                throw new IllegalStateException("The request carries no marker");
+            }
+            return matcher.group();
+        }
+    }
+}
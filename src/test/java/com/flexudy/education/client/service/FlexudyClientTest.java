@@ -6,11 +6,42 @@ import com.flexudy.education.client.data.common.CommonRequestData;
 import com.flexudy.education.client.data.common.CommonRequestData.SimpleAsyncRequestData;
 import com.flexudy.education.client.data.common.CommonRequestData.SimpleCommonRequestData;
 import com.flexudy.education.client.data.common.ContentType;
+import com.flexudy.education.client.data.common.JobProgress;
+import com.flexudy.education.client.data.product.MultiProductResult;
+import com.flexudy.education.client.data.product.Product;
 import com.flexudy.education.client.data.quiz.ClozeQuestion;
 import com.flexudy.education.client.data.quiz.OpenQuestion;
 import com.flexudy.education.client.data.quiz.WHQuestion;
 import com.flexudy.education.client.data.summary.Summary;
+import com.flexudy.education.client.exception.FlexudyApiException;
+import com.flexudy.education.client.exception.RateLimitedException;
+import com.flexudy.education.client.exception.ServerUnavailableException;
+import com.flexudy.education.client.exception.TransportTimeoutException;
+import com.flexudy.education.client.service.admission.ByteBudget;
+import com.flexudy.education.client.service.buffer.DirectBufferPool;
+import com.flexudy.education.client.service.buffer.SpoolingConfig;
+import com.flexudy.education.client.service.chunking.ChunkingConfig;
+import com.flexudy.education.client.service.chunking.UrlBatchingConfig;
+import com.flexudy.education.client.service.incremental.ParagraphCache;
+import com.flexudy.education.client.service.journal.JobJournal;
+import com.flexudy.education.client.service.journal.JournalEntry;
+import com.flexudy.education.client.service.journal.RecoveredJob;
+import com.flexudy.education.client.service.network.AddressResolver;
+import com.flexudy.education.client.service.network.CachingAddressResolver;
+import com.flexudy.education.client.service.routing.RoutingConfig;
+import com.flexudy.education.client.service.timeout.AdaptiveTimeoutConfig;
+import com.flexudy.education.client.service.transport.HttpTransport;
+import com.flexudy.education.client.service.transport.JdkHttpTransport;
+import com.flexudy.education.client.service.transport.OkHttpTransport;
+import com.flexudy.education.client.service.transport.TransportRequest;
+import com.flexudy.education.client.service.transport.TransportResponse;
+import com.flexudy.education.client.service.transport.TransportType;
 import okhttp3.*;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
+import okio.Timeout;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.validator.UrlValidator;
 import org.apache.http.HttpStatus;
@@ -18,15 +49,31 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
 import static com.flexudy.education.client.data.common.CommonRequestData.SimpleAsyncRequestData.fromCommonRequestData;
 import static com.flexudy.education.client.service.network.Environment.PRODUCTION;
@@ -95,7 +142,7 @@ public class FlexudyClientTest {
         this.objectMapper = mock(ObjectMapper.class);
         this.urlValidator = mock(UrlValidator.class);
 
-        doReturn(okHttpClient).when(client).newHttpClient();
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
         when(okHttpClient.newCall(any(Request.class))).thenReturn(call);
     }
 
@@ -123,13 +170,29 @@ public class FlexudyClientTest {
     }
 
     @Test
-    public void testCreateHttpClient() {
-        when(client.newHttpClient()).thenCallRealMethod();
-        final OkHttpClient httpClient = client.newHttpClient();
+    public void testTransportResolvesThroughConfiguredAddressResolver() {
+        final List<InetAddress> loopback = List.of(InetAddress.getLoopbackAddress());
+        final AddressResolver standIn = hostname -> loopback;
+        final FlexudyClient standInClient = FlexudyClient.builder().licenseKey(LICENSE_KEY)
+                                                         .httpClientConfig(HttpClientConfig.builder()
+                                                                                           .addressResolver(standIn)
+                                                                                           .build())
+                                                         .build();
+
+        assertThat(standInClient.getAddressResolver()).isSameAs(standIn);
+        assertThat(FlexudyClient.builder().licenseKey(LICENSE_KEY).build().getAddressResolver())
+                .isInstanceOf(CachingAddressResolver.class);
+    }
+
+    @Test
+    public void testHttpClientIsReusedAcrossRequests() throws IOException {
+        stubResponse(SUMMARY_FACTS_JSON, SUMMARY_FACTS_JSON);
+
+        client.generateSummary(TEXT_REQUEST_DATA);
+        client.generateSummary(TEXT_REQUEST_DATA);
 
-        assertThat(httpClient.connectTimeoutMillis()).isEqualTo(SECONDS.toMillis(DEFAULT_CONNECT_TIMEOUT_SECONDS));
-        assertThat(httpClient.readTimeoutMillis()).isEqualTo(SECONDS.toMillis(DEFAULT_READ_TIMEOUT_SECONDS));
-        assertThat(httpClient.writeTimeoutMillis()).isEqualTo(SECONDS.toMillis(DEFAULT_WRITE_TIMEOUT_SECONDS));
+        verify(client, times(1)).newTransport();
+        verify(okHttpClient, times(2)).newCall(any(Request.class));
     }
 
     @Test
@@ -206,7 +269,7 @@ public class FlexudyClientTest {
     @Test
     public void testGenerateClozeQuizWithInvalidLicenseKey() throws IOException {
         final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(StringUtils.EMPTY).build());
-        doReturn(okHttpClient).when(client).newHttpClient();
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
         when(okHttpClient.newCall(any(Request.class))).thenReturn(call);
         stubResponse(new int[]{HttpStatus.SC_UNAUTHORIZED}, StringUtils.EMPTY);
         final RuntimeException exception = assertThrows(RuntimeException.class,
@@ -217,9 +280,32 @@ public class FlexudyClientTest {
     @Test
     public void testGenerateClozeQuizWithNoSubscription() throws IOException {
         stubResponse(new int[]{HttpStatus.SC_FORBIDDEN}, StringUtils.EMPTY);
-        final RuntimeException exception = assertThrows(RuntimeException.class,
+        final FlexudyApiException exception = assertThrows(FlexudyApiException.class,
                 () -> client.generateClozeQuiz(FILE_REQUEST_DATA));
         assertThat(exception.getMessage()).isEqualTo(FlexudyClient.HTTP_FORBIDDEN_MESSAGE);
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.SC_FORBIDDEN);
+        assertThat(exception.getEndpoint()).isEqualTo("/api/v1/cloze-quiz/generate");
+    }
+
+    @Test
+    public void testGenerateSummaryWhenRateLimited() throws IOException {
+        when(call.execute()).thenReturn(createResponse(FlexudyApiException.SC_TOO_MANY_REQUESTS, StringUtils.EMPTY)
+                                                .newBuilder().header("Retry-After", "30").build());
+
+        final RateLimitedException exception = assertThrows(RateLimitedException.class,
+                () -> client.generateSummary(URL_REQUEST_DATA));
+        assertThat(exception.getRetryAfter()).contains(Duration.ofSeconds(30));
+        assertThat(exception.isRetryable()).isTrue();
+    }
+
+    @Test
+    public void testGenerateSummaryWithTimeout() throws IOException {
+        when(call.execute()).thenThrow(new SocketTimeoutException());
+
+        final TransportTimeoutException exception = assertThrows(TransportTimeoutException.class,
+                () -> client.generateSummary(URL_REQUEST_DATA));
+        assertThat(exception).isInstanceOf(IllegalStateException.class);
+        assertThat(exception.getEndpoint()).isEqualTo("/api/v1/summary/generate");
     }
 
     @Test
@@ -339,16 +425,114 @@ public class FlexudyClientTest {
     }
 
     @Test
-    public void testSubmitClozeQuizWithInterruptedException() throws IOException, InterruptedException {
-        stubResponse(JOB_ID_JSON, ClOZE_QUESTION_JSON_ARRAY);
+    public void testCancelSubmittedClozeQuizJob() throws IOException {
+        stubResponse(new int[]{HttpStatus.SC_CREATED, HttpStatus.SC_NOT_FOUND},
+                     new JSONObject().put("jobId", 1).put("etaSeconds", 5).toString(), StringUtils.EMPTY);
 
-        final AsyncRequestData asyncRequestData = SimpleAsyncRequestData.builder().jobPollingWaitInterval(0)
+        final AsyncRequestData asyncRequestData = SimpleAsyncRequestData.builder().jobPollingWaitInterval(1)
+                                                                        .textContent(UUID.randomUUID().toString())
+                                                                        .build();
+        final JobHandle<List<ClozeQuestion>> handle = client.submitClozeQuizJob(asyncRequestData);
+        assertThat(handle.getJobId()).isEqualTo("1");
+        assertThat(handle.getStatus()).isEqualTo(JobStatus.QUEUED);
+
+        assertThat(handle.cancel(true)).isTrue();
+        assertThat(handle.cancel(true)).isFalse();
+        assertThat(handle.isCancelled()).isTrue();
+        assertThat(handle.getStatus()).isEqualTo(JobStatus.CANCELLED);
+        assertThrows(CancellationException.class, handle::get);
+        final Duration elapsedAtCancellation = handle.getElapsed();
+        verify(okHttpClient, after(1500).times(1)).newCall(any(Request.class));
+        assertThat(handle.getPollCount()).isZero();
+        assertThat(handle.getElapsed()).isEqualTo(elapsedAtCancellation);
+    }
+
+    @Test
+    public void testSmallJobIsProbedImmediately() throws Exception {
+        stubResponse(JOB_ID_JSON, SUMMARY_FACTS_JSON);
+
+        final JobHandle<Summary> handle = client.submitSummaryJob(fromCommonRequestData(TEXT_REQUEST_DATA));
+
+        assertThat(handle.get(2, SECONDS).getFacts()).isNotEmpty();
+        assertThat(handle.getPollCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testServerHintsScheduleTheNextPoll() throws Exception {
+        final Response pending = createResponse(HttpStatus.SC_ACCEPTED,
+                new JSONObject().put("queuePosition", 2).put("progress", 0.5).toString())
+                .newBuilder().header("Retry-After", "0").build();
+        when(call.execute()).thenReturn(createResponse(HttpStatus.SC_CREATED,
+                                                       new JSONObject().put("jobId", 1).put("etaSeconds", 0.2).toString()),
+                                        pending, createResponse(HttpStatus.SC_OK, SUMMARY_FACTS_JSON));
+
+        final JobHandle<Summary> handle = client.submitSummaryJob(SimpleAsyncRequestData.builder()
+                                                                                        .jobPollingWaitInterval(60)
+                                                                                        .textContent(RAW_CLOZE_QUESTION)
+                                                                                        .build());
+        assertThat(handle.getProgress()).hasValue(new JobProgress(null, 0.2, null));
+
+        assertThat(handle.get(5, SECONDS).getFacts()).isNotEmpty();
+        assertThat(handle.getPollCount()).isEqualTo(2);
+        assertThat(handle.getProgress()).hasValue(new JobProgress(2, null, 0.5));
+    }
+
+    @Test
+    public void testSubmitClozeQuizPastDeadline() throws IOException {
+        when(call.timeout()).thenReturn(new Timeout());
+        stubResponse(new int[]{HttpStatus.SC_CREATED, HttpStatus.SC_NOT_FOUND}, JOB_ID_JSON, StringUtils.EMPTY);
+
+        final AsyncRequestData asyncRequestData = SimpleAsyncRequestData.builder().jobPollingWaitInterval(1)
+                                                                        .jobDeadline(Duration.ofMillis(1500))
                                                                         .textContent(UUID.randomUUID().toString())
                                                                         .build();
-        doThrow(new InterruptedException()).when(client).sleep(0);
+        final JobHandle<List<ClozeQuestion>> handle = client.submitClozeQuizJob(asyncRequestData);
+        assertThat(handle.getDeadline()).isPresent();
+
+        final ExecutionException thrownException = assertThrows(ExecutionException.class, handle::get);
+        assertThat(thrownException.getCause()).isInstanceOf(TimeoutException.class);
+        assertThat(handle.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(handle.getPollCount()).isPositive();
+        assertThat(Instant.now()).isAfterOrEqualTo(handle.getDeadline().get());
+    }
+
+    @Test
+    public void testFirstPollHintIsCappedByTheDeadline() throws IOException {
+        when(call.timeout()).thenReturn(new Timeout());
+        stubResponse(new JSONObject().put("jobId", 1).put("etaSeconds", 3600).toString());
+
+        final JobHandle<Summary> handle = client.submitSummaryJob(SimpleAsyncRequestData.builder()
+                                                                                        .jobPollingWaitInterval(1)
+                                                                                        .jobDeadline(Duration.ofMillis(500))
+                                                                                        .textContent(RAW_CLOZE_QUESTION)
+                                                                                        .build());
+
         final ExecutionException thrownException = assertThrows(ExecutionException.class,
-                () -> client.submitClozeQuizJob(asyncRequestData).get());
-        assertThat(thrownException.getCause()).isInstanceOf(IllegalStateException.class);
+                                                                () -> handle.get(5, SECONDS));
+        assertThat(thrownException.getCause()).isInstanceOf(TimeoutException.class);
+        assertThat(handle.getElapsed()).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void testJobDeadlineStopsAHangingPoll() throws Exception {
+        final MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setResponseCode(HttpStatus.SC_CREATED).setBody(JOB_ID_JSON));
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        server.start();
+        try (FlexudyClient serverClient = FlexudyClient.builder().licenseKey(LICENSE_KEY)
+                                                       .baseUrl(server.url("/").toString()).build()) {
+            final JobHandle<Summary> handle = serverClient.submitSummaryJob(SimpleAsyncRequestData.builder()
+                    .jobPollingWaitInterval(1).jobDeadline(Duration.ofMillis(1500)).textContent(RAW_CLOZE_QUESTION)
+                    .build());
+
+            final ExecutionException thrownException = assertThrows(ExecutionException.class,
+                                                                    () -> handle.get(10, SECONDS));
+            assertThat(thrownException.getCause()).isInstanceOf(TimeoutException.class);
+            assertThat(handle.getPollCount()).isEqualTo(1);
+            assertThat(handle.getElapsed()).isLessThan(Duration.ofSeconds(5));
+        } finally {
+            server.shutdown();
+        }
     }
 
     @Test
@@ -361,7 +545,7 @@ public class FlexudyClientTest {
 
         assertThrows(TimeoutException.class, () -> client.submitClozeQuizJob(asyncRequestData).get( 5, SECONDS));
 
-        verify(okHttpClient, times(5)).newCall(requestArgumentCaptor.capture());
+        verify(okHttpClient, times(6)).newCall(requestArgumentCaptor.capture());
         final List<Request> clozeQuizPushPullRequests = requestArgumentCaptor.getAllValues();
 
         final Request submitJobRequest = clozeQuizPushPullRequests.get(0);
@@ -385,6 +569,21 @@ public class FlexudyClientTest {
         assertThat(thrownException.getCause()).isInstanceOf(RuntimeException.class);
     }
 
+    @Test
+    public void testRetrieveClozeQuizResultsWhenServerUnavailable() throws IOException {
+        stubResponse(new int[]{HttpStatus.SC_CREATED, HttpStatus.SC_SERVICE_UNAVAILABLE}, JOB_ID_JSON, StringUtils.EMPTY);
+
+        final AsyncRequestData asyncRequestData = SimpleAsyncRequestData.builder().jobPollingWaitInterval(0)
+                .textContent(UUID.randomUUID().toString()).build();
+
+        final ExecutionException thrownException = assertThrows(ExecutionException.class,
+                () -> client.submitClozeQuizJob(asyncRequestData).get());
+        assertThat(thrownException.getCause()).isInstanceOf(ServerUnavailableException.class);
+        final ServerUnavailableException cause = (ServerUnavailableException) thrownException.getCause();
+        assertThat(cause.getJobId()).contains("1");
+        assertThat(cause.getEndpoint()).isEqualTo("/api/v1/cloze-quiz/queue/results");
+    }
+
     @Test
     public void testSubmitWHQuiz() throws IOException, ExecutionException, InterruptedException, TimeoutException {
         stubResponse(JOB_ID_JSON, WH_QUESTION_JSON_ARRAY);
@@ -503,6 +702,543 @@ public class FlexudyClientTest {
         assertThat(whQuizPostRequest.header(FlexudyClient.LICENSE_KEY_HEADER_PARAM)).isEqualTo(LICENSE_KEY);
     }
 
+    @Test
+    public void testGenerateSummaryWithinUploadBudget() throws IOException {
+        final ByteBudget uploadBudget = ByteBudget.builder().maxBytes(1024L).windowBytes(16).build();
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY).uploadBudget(uploadBudget)
+                                                      .build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
+        final List<Long> usedBytesDuringCall = new ArrayList<>();
+        when(call.execute()).thenAnswer(invocation -> {
+            usedBytesDuringCall.add(uploadBudget.getUsedBytes());
+            return createResponse(HttpStatus.SC_OK, SUMMARY_FACTS_JSON);
+        });
+
+        final Summary summary = client.generateSummary(SimpleCommonRequestData.builder()
+                .files(List.of(toInputStream(RAW_CLOZE_QUESTION, defaultCharset()))).build());
+
+        assertThat(summary.getFacts()).containsOnly(SUMMARY_FACT);
+        assertThat(usedBytesDuringCall).containsExactly((long) RAW_CLOZE_QUESTION.getBytes(defaultCharset()).length);
+        assertThat(uploadBudget.getUsedBytes()).isZero();
+    }
+
+    @Test
+    public void testSubmitSummaryExceedingUploadBudget() {
+        final ByteBudget uploadBudget = ByteBudget.builder().maxBytes(8L).build();
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY).uploadBudget(uploadBudget)
+                                                      .build());
+
+        assertThrows(IllegalArgumentException.class, () -> client.submitSummaryJob(SimpleAsyncRequestData.builder()
+                .files(List.of(toInputStream(RAW_CLOZE_QUESTION, defaultCharset()))).build()));
+        assertThat(uploadBudget.getUsedBytes()).isZero();
+        verify(client, never()).newTransport();
+    }
+
+    @Test
+    public void testGenerateSummaryWithPooledBuffers() throws IOException {
+        final DirectBufferPool bufferPool = DirectBufferPool.builder().segmentBytes(16).build();
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY).bufferPool(bufferPool).build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
+        final ArgumentCaptor<Request> requestArgumentCaptor = ArgumentCaptor.forClass(Request.class);
+        final List<String> sentBodies = new ArrayList<>();
+        when(okHttpClient.newCall(requestArgumentCaptor.capture())).thenAnswer(invocation -> {
+            final Buffer sink = new Buffer();
+            requestArgumentCaptor.getValue().body().writeTo(sink);
+            sentBodies.add(sink.readUtf8());
+            return call;
+        });
+        stubResponse(SUMMARY_FACTS_JSON);
+
+        final Summary summary = client.generateSummary(SimpleCommonRequestData.builder()
+                .files(List.of(toInputStream(RAW_CLOZE_QUESTION, defaultCharset()))).build());
+
+        assertThat(summary.getFacts()).containsOnly(SUMMARY_FACT);
+        assertThat(sentBodies).hasSize(1);
+        assertThat(sentBodies.get(0)).contains(RAW_CLOZE_QUESTION);
+        assertThat(bufferPool.getPooledSegments()).isEqualTo(bufferPool.getAllocatedSegments());
+    }
+
+    @Test
+    public void testGenerateProductsFromSingleUpload() throws IOException {
+        final Map<String, String> responses = Map.of("/api/v1/summary/generate", SUMMARY_FACTS_JSON,
+                                                     "/api/v1/cloze-quiz/generate", ClOZE_QUESTION_JSON_ARRAY,
+                                                     "/api/v1/wh-quiz/generate", WH_QUESTION_JSON_ARRAY,
+                                                     "/api/v1/open-quiz/generate", OPEN_QUESTION_JSON_ARRAY);
+        stubResponsesByPath(responses, HttpStatus.SC_OK);
+
+        final MultiProductResult result = client.generateProducts(SimpleCommonRequestData.builder()
+                .files(List.of(toInputStream(RAW_CLOZE_QUESTION, defaultCharset()))).build(), EnumSet.allOf(Product.class));
+
+        assertThat(result.isComplete()).isTrue();
+        assertThat(result.getSucceededProducts()).containsExactlyInAnyOrder(Product.values());
+        assertThat(result.getSummary().get().getFacts()).containsOnly(SUMMARY_FACT);
+        assertThat(result.getClozeQuestions().get().get(0).getAnswer()).isEqualTo(CLOZE_QUESTION_ANSWER);
+        assertThat(result.getWHQuestions().get().get(0).getQuestion()).isEqualTo(WH_QUESTION_TEXT);
+        assertThat(result.getOpenQuestions().get().get(0).getQuestion()).isEqualTo(OPEN_QUESTION_TEXT);
+        verify(client, times(1)).toByteArray(any(InputStream.class));
+        verify(okHttpClient, times(4)).newCall(any(Request.class));
+    }
+
+    @Test
+    public void testGenerateProductsWithPartialFailure() throws IOException {
+        stubResponsesByPath(Map.of("/api/v1/cloze-quiz/generate", ClOZE_QUESTION_JSON_ARRAY), HttpStatus.SC_OK);
+
+        final MultiProductResult result = client.generateProducts(URL_REQUEST_DATA,
+                                                                  EnumSet.of(Product.CLOZE_QUIZ, Product.SUMMARY));
+
+        assertThat(result.isComplete()).isFalse();
+        assertThat(result.getClozeQuestions()).isPresent();
+        assertThat(result.getSummary()).isEmpty();
+        assertThat(result.getFailures()).containsOnlyKeys(Product.SUMMARY);
+        assertThat(result.getFailure(Product.SUMMARY).get()).hasMessageContaining("Status Code: 500");
+        assertThrows(IllegalArgumentException.class, () -> client.generateProducts(URL_REQUEST_DATA, Set.of()));
+    }
+
+    @Test
+    public void testGenerateProductsFromSpooledUpload(@TempDir Path directory) throws IOException {
+        final SpoolingConfig spoolingConfig = SpoolingConfig.builder().thresholdBytes(8L).directory(directory).build();
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY).spoolingConfig(spoolingConfig)
+                                                      .build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
+        stubResponsesByPath(Map.of("/api/v1/summary/generate", SUMMARY_FACTS_JSON,
+                                   "/api/v1/cloze-quiz/generate", ClOZE_QUESTION_JSON_ARRAY), HttpStatus.SC_OK);
+
+        final MultiProductResult result = client.generateProducts(SimpleCommonRequestData.builder()
+                .files(List.of(toInputStream(RAW_CLOZE_QUESTION, defaultCharset()))).build(),
+                EnumSet.of(Product.SUMMARY, Product.CLOZE_QUIZ));
+
+        assertThat(result.isComplete()).isTrue();
+        final ArgumentCaptor<Request> requestArgumentCaptor = ArgumentCaptor.forClass(Request.class);
+        verify(okHttpClient, times(2)).newCall(requestArgumentCaptor.capture());
+        for (Request request : requestArgumentCaptor.getAllValues()) {
+            assertThrows(IOException.class, () -> request.body().writeTo(new Buffer()));
+        }
+        verify(client, never()).toByteArray(any(InputStream.class));
+        try (Stream<Path> spoolFiles = Files.list(directory)) {
+            assertThat(spoolFiles).isEmpty();
+        }
+    }
+
+    @Test
+    public void testGenerateClozeQuizInChunks() throws IOException {
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY)
+                                                      .chunkingConfig(ChunkingConfig.builder()
+                                                                                    .maxChunkCharacters(RAW_CLOZE_QUESTION.length())
+                                                                                    .build())
+                                                      .build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
+        final String otherQuestions = new JSONArray().put(new JSONObject().put("questionAnswer", "The capital of the UAE is @_Abu Dhabi_@"))
+                                                     .put(new JSONObject().put("questionAnswer", RAW_CLOZE_QUESTION)).toString();
+        stubResponse(ClOZE_QUESTION_JSON_ARRAY, otherQuestions);
+
+        final List<ClozeQuestion> questions = client.generateClozeQuiz(SimpleCommonRequestData.builder()
+                .textContent(RAW_CLOZE_QUESTION + "\n\n" + RAW_CLOZE_QUESTION).build());
+
+        assertThat(questions).hasSize(2);
+        assertThat(questions).extracting(ClozeQuestion::getAnswer).containsExactlyInAnyOrder(CLOZE_QUESTION_ANSWER, "Abu Dhabi");
+        verify(okHttpClient, times(2)).newCall(any(Request.class));
+    }
+
+    @Test
+    public void testContentUrlsAreNormalizedAndDeduplicated() throws IOException {
+        stubResponse(ClOZE_QUESTION_JSON_ARRAY);
+        final ArgumentCaptor<Request> requestArgumentCaptor = ArgumentCaptor.forClass(Request.class);
+
+        client.generateClozeQuiz(SimpleCommonRequestData.builder()
+                .contentUrls(List.of("HTTPS://Flexudy.com:443/docs/../quiz#intro", "https://flexudy.com/quiz",
+                                     "https://flexudy.com/summary")).build());
+
+        verify(okHttpClient).newCall(requestArgumentCaptor.capture());
+        final Buffer body = new Buffer();
+        requestArgumentCaptor.getValue().body().writeTo(body);
+        assertThat(body.readUtf8()).contains("https://flexudy.com/quiz,https://flexudy.com/summary\r\n");
+    }
+
+    @Test
+    public void testGenerateClozeQuizInUrlBatches() throws IOException {
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY)
+                                                      .urlBatchingConfig(UrlBatchingConfig.builder()
+                                                                                          .maxUrlsPerRequest(1)
+                                                                                          .build())
+                                                      .build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
+        final String otherQuestions = new JSONArray().put(new JSONObject().put("questionAnswer", "The capital of the UAE is @_Abu Dhabi_@"))
+                                                     .toString();
+        stubResponse(ClOZE_QUESTION_JSON_ARRAY, otherQuestions);
+
+        final List<ClozeQuestion> questions = client.generateClozeQuiz(SimpleCommonRequestData.builder()
+                .contentUrls(List.of("https://flexudy.com/paris", "https://flexudy.com/uae", "https://FLEXUDY.com/uae"))
+                .build());
+
+        assertThat(questions).extracting(ClozeQuestion::getAnswer).containsExactlyInAnyOrder(CLOZE_QUESTION_ANSWER, "Abu Dhabi");
+        verify(okHttpClient, times(2)).newCall(any(Request.class));
+    }
+
+    @Test
+    public void testGenerateSummaryInChunks() throws IOException {
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY)
+                                                      .chunkingConfig(ChunkingConfig.builder()
+                                                                                    .maxChunkCharacters(RAW_CLOZE_QUESTION.length())
+                                                                                    .parallelism(1)
+                                                                                    .build())
+                                                      .build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
+        stubResponse(SUMMARY_FACTS_JSON, new JSONObject().put("summary", List.of("Another fact")).toString());
+
+        final Summary summary = client.generateSummary(SimpleCommonRequestData.builder()
+                .textContent(RAW_CLOZE_QUESTION + "\n\n" + RAW_CLOZE_QUESTION).build());
+
+        assertThat(summary.getFacts()).containsExactly(SUMMARY_FACT, "Another fact");
+    }
+
+    @Test
+    public void testSubmitSummaryIsJournaledUntilCompleted(@TempDir Path directory) throws Exception {
+        final JobJournal journal = JobJournal.open(directory.resolve("jobs.journal"));
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY).jobJournal(journal).build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
+        stubResponse(new int[]{HttpStatus.SC_CREATED, HttpStatus.SC_NOT_FOUND, HttpStatus.SC_OK},
+                     JOB_ID_JSON, StringUtils.EMPTY, SUMMARY_FACTS_JSON);
+        final AsyncRequestData asyncRequestData = SimpleAsyncRequestData.builder().jobPollingWaitInterval(1)
+                                                                        .textContent(RAW_CLOZE_QUESTION).build();
+
+        final JobHandle<Summary> futureSummary = client.submitSummaryJob(asyncRequestData);
+        assertThat(journal.getPendingEntries()).hasSize(1);
+        final JournalEntry entry = journal.getPendingEntries().get(0);
+        assertThat(entry.getEndpoint()).isEqualTo("/api/v1/summary/queue");
+        assertThat(entry.getJobId()).isEqualTo("1");
+
+        assertThat(futureSummary.get(1, MINUTES).getFacts()).containsOnly(SUMMARY_FACT);
+        assertThat(journal.getPendingEntries()).isEmpty();
+    }
+
+    @Test
+    public void testResumePendingJobs(@TempDir Path directory) throws Exception {
+        when(call.timeout()).thenReturn(new Timeout());
+        final JobJournal journal = JobJournal.open(directory.resolve("jobs.journal"));
+        journal.recordSubmitted(new JournalEntry("/api/v1/cloze-quiz/queue", "7", "abc", Instant.now()));
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY).jobJournal(journal).build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
+        stubResponse(ClOZE_QUESTION_JSON_ARRAY);
+        final ArgumentCaptor<Request> requestArgumentCaptor = ArgumentCaptor.forClass(Request.class);
+
+        final List<RecoveredJob> recoveredJobs = client.resumePendingJobs();
+
+        assertThat(recoveredJobs).hasSize(1);
+        assertThat(client.resumePendingJobs()).isSameAs(recoveredJobs);
+        assertThat((List<ClozeQuestion>) recoveredJobs.get(0).getResult().get(1, MINUTES)).hasSize(1);
+        verify(okHttpClient).newCall(requestArgumentCaptor.capture());
+        assertThat(requestArgumentCaptor.getValue().url().toString())
+                .isEqualTo("https://gateway.flexudy.com/api/v1/cloze-quiz/queue/results?jobId=7");
+        assertThat(journal.getPendingEntries()).isEmpty();
+    }
+
+    @Test
+    public void testExpiredRecoveredJobFailsAndIsDiscarded(@TempDir Path directory) throws Exception {
+        when(call.timeout()).thenReturn(new Timeout());
+        final JobJournal journal = JobJournal.builder().path(directory.resolve("jobs.journal"))
+                                             .maxJobAge(Duration.ofSeconds(1)).build();
+        journal.recordSubmitted(new JournalEntry("/api/v1/cloze-quiz/queue", "7", "abc", Instant.now()));
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY).jobJournal(journal).build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
+        stubResponse(new int[]{HttpStatus.SC_NOT_FOUND}, StringUtils.EMPTY);
+
+        final List<RecoveredJob> recoveredJobs = client.resumePendingJobs();
+
+        final ExecutionException exception = assertThrows(ExecutionException.class,
+                                                          () -> recoveredJobs.get(0).getResult().get(1, MINUTES));
+        assertThat(exception).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(recoveredJobs.get(0).getResult().getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(journal.getPendingEntries()).isEmpty();
+    }
+
+    @Test
+    public void testTransportSelection() {
+        final FlexudyClient jdkClient = FlexudyClient.builder().licenseKey(LICENSE_KEY)
+                                                     .httpClientConfig(builder().transportType(TransportType.JDK).build())
+                                                     .build();
+
+        assertThat(client.newTransport()).isInstanceOf(OkHttpTransport.class);
+        try (HttpTransport transport = jdkClient.newTransport()) {
+            assertThat(transport).isInstanceOf(JdkHttpTransport.class);
+        }
+    }
+
+    @Test
+    public void testLowFootprintClientAvoidsObjectMapperAndUrlValidator() throws Exception {
+        final FlexudyClient client = new FlexudyClient(LICENSE_KEY, null, null, null, null, null, null, null, null, null,
+                                                       null, null, true, null, null, null, null) {
+            @Override
+            ObjectMapper newObjectMapper() {
+                throw new AssertionError("The low footprint mode must not create an ObjectMapper");
+            }
+
+            @Override
+            HttpTransport newTransport() {
+                return new OkHttpTransport(okHttpClient);
+            }
+        };
+        stubResponse(ClOZE_QUESTION_JSON_ARRAY, JOB_ID_JSON, SUMMARY_FACTS_JSON);
+
+        assertThat(client.isLowFootprint()).isTrue();
+        assertThat(client.generateClozeQuiz(URL_REQUEST_DATA)).extracting(ClozeQuestion::getAnswer)
+                                                             .containsExactly(CLOZE_QUESTION_ANSWER);
+        assertThat(client.submitSummaryJob(SimpleAsyncRequestData.builder().jobPollingWaitInterval(0)
+                                                                 .textContent(RAW_CLOZE_QUESTION).build())
+                         .get(1, MINUTES).getFacts()).containsOnly(SUMMARY_FACT);
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> client.generateClozeQuiz(SimpleCommonRequestData.builder().contentUrls(List.of("http")).build()));
+        assertThat(exception.getMessage()).isEqualTo("http is not a valid URL");
+    }
+
+    @Test
+    public void testStartWarmsUpTheResolvedHost() throws IOException {
+        stubResponse(StringUtils.EMPTY);
+        final ArgumentCaptor<Request> requestArgumentCaptor = ArgumentCaptor.forClass(Request.class);
+
+        assertThat(client.start()).isSameAs(client);
+
+        verify(okHttpClient).newCall(requestArgumentCaptor.capture());
+        assertThat(requestArgumentCaptor.getValue().method()).isEqualTo("HEAD");
+        assertThat(requestArgumentCaptor.getValue().url().toString()).isEqualTo("https://gateway.flexudy.com/");
+        assertThat(client.getState()).isEqualTo(ClientState.RUNNING);
+    }
+
+    @Test
+    public void testStartToleratesWarmUpFailures() throws IOException {
+        when(call.execute()).thenThrow(new SocketTimeoutException("connect timed out"));
+
+        client.start();
+
+        assertThat(client.getState()).isEqualTo(ClientState.RUNNING);
+    }
+
+    @Test
+    public void testDrainRejectsNewWork() {
+        assertThat(client.drain(Duration.ZERO)).isTrue();
+
+        assertThat(client.getState()).isEqualTo(ClientState.DRAINING);
+        assertThrows(IllegalStateException.class, () -> client.generateSummary(TEXT_REQUEST_DATA));
+        assertThrows(IllegalStateException.class, () -> client.submitSummaryJob(fromCommonRequestData(TEXT_REQUEST_DATA)));
+        assertThrows(IllegalStateException.class, () -> client.start());
+        verify(client, never()).newTransport();
+    }
+
+    @Test
+    public void testDrainWaitsForOutstandingJobs() throws Exception {
+        stubResponse(new int[]{HttpStatus.SC_CREATED, HttpStatus.SC_NOT_FOUND, HttpStatus.SC_OK},
+                     JOB_ID_JSON, StringUtils.EMPTY, SUMMARY_FACTS_JSON);
+        final JobHandle<Summary> futureSummary = client.submitSummaryJob(SimpleAsyncRequestData.builder()
+                .jobPollingWaitInterval(1).textContent(RAW_CLOZE_QUESTION).build());
+
+        assertThat(client.drain(Duration.ofMinutes(1))).isTrue();
+
+        assertThat(futureSummary.isDone()).isTrue();
+        assertThat(futureSummary.get().getFacts()).containsOnly(SUMMARY_FACT);
+    }
+
+    @Test
+    public void testDrainKeepsUnfinishedJobsJournaled(@TempDir Path directory) throws IOException {
+        final JobJournal journal = JobJournal.open(directory.resolve("jobs.journal"));
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY).jobJournal(journal).build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
+        stubResponse(new int[]{HttpStatus.SC_CREATED, HttpStatus.SC_NOT_FOUND}, JOB_ID_JSON, StringUtils.EMPTY);
+        final JobHandle<Summary> futureSummary = client.submitSummaryJob(SimpleAsyncRequestData.builder()
+                .jobPollingWaitInterval(60).textContent(RAW_CLOZE_QUESTION).build());
+
+        assertThat(client.drain(Duration.ofMillis(100))).isFalse();
+
+        assertThat(futureSummary.getStatus()).isEqualTo(JobStatus.FAILED);
+        final ExecutionException exception = assertThrows(ExecutionException.class, futureSummary::get);
+        assertThat(exception.getCause()).isInstanceOf(IllegalStateException.class);
+        assertThat(journal.getPendingEntries()).extracting(JournalEntry::getJobId).containsExactly("1");
+    }
+
+    @Test
+    public void testCloseStopsAcceptingWork() {
+        client.close();
+        client.close();
+
+        assertThat(client.getState()).isEqualTo(ClientState.CLOSED);
+        assertThrows(IllegalStateException.class, () -> client.generateClozeQuiz(TEXT_REQUEST_DATA));
+        assertThrows(IllegalStateException.class, () -> client.resumePendingJobs());
+    }
+
+    @Test
+    public void testRouteSmallRequestToTheSyncEndpoint() throws Exception {
+        final RecordingTransport transport = new RecordingTransport(new OkHttpTransport(okHttpClient));
+        doReturn(transport).when(client).newTransport();
+        when(call.timeout()).thenReturn(new Timeout());
+        stubResponse(ClOZE_QUESTION_JSON_ARRAY);
+
+        final JobHandle<List<ClozeQuestion>> handle = client.routeClozeQuiz(fromCommonRequestData(TEXT_REQUEST_DATA));
+
+        assertThat(handle.isDone()).isTrue();
+        assertThat(handle.getJobId()).isNull();
+        assertThat(handle.get()).extracting(ClozeQuestion::getAnswer).containsExactly(CLOZE_QUESTION_ANSWER);
+        assertThat(transport.requests).hasSize(1);
+        assertThat(transport.requests.get(0).getUrl().getRawPath()).isEqualTo("/api/v1/cloze-quiz/generate");
+        assertThat(transport.requests.get(0).getRequestTimeout()).isPresent();
+        assertThat(client.getLatencyTracker().getSampleCount("/api/v1/cloze-quiz/generate")).isEqualTo(1);
+    }
+
+    @Test
+    public void testUrlRequestStillRoutesSyncAfterASuccessfulUrlCall() throws Exception {
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY)
+                .routingConfig(RoutingConfig.builder().latencyBudget(Duration.ofMillis(500)).build()).build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
+        when(call.timeout()).thenReturn(new Timeout());
+        when(call.execute()).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return createResponse(HttpStatus.SC_OK, SUMMARY_FACTS_JSON);
+        });
+        final ArgumentCaptor<Request> requestArgumentCaptor = ArgumentCaptor.forClass(Request.class);
+
+        client.routeSummary(fromCommonRequestData(URL_REQUEST_DATA));
+        final JobHandle<Summary> handle = client.routeSummary(fromCommonRequestData(URL_REQUEST_DATA));
+
+        assertThat(handle.isDone()).isTrue();
+        verify(okHttpClient, times(2)).newCall(requestArgumentCaptor.capture());
+        assertThat(requestArgumentCaptor.getAllValues()).extracting(request -> request.url().encodedPath())
+                .containsOnly("/api/v1/summary/generate");
+        assertThat(client.getLatencyTracker().estimate("/api/v1/summary/generate",
+                                                       RoutingConfig.DEFAULT_URL_WEIGHT_BYTES))
+                .hasValueSatisfying(estimate -> assertThat(estimate).isLessThan(Duration.ofMillis(500)));
+    }
+
+    @Test
+    public void testRouteLargeRequestToTheQueue() throws Exception {
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY)
+                .routingConfig(RoutingConfig.builder().maxSyncInputBytes(8L).build()).build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
+        stubResponse(JOB_ID_JSON, SUMMARY_FACTS_JSON);
+        final ArgumentCaptor<Request> requestArgumentCaptor = ArgumentCaptor.forClass(Request.class);
+
+        final JobHandle<Summary> handle = client.routeSummary(SimpleAsyncRequestData.builder().jobPollingWaitInterval(0)
+                                                                                   .textContent(RAW_CLOZE_QUESTION).build());
+
+        assertThat(handle.get(1, MINUTES).getFacts()).containsOnly(SUMMARY_FACT);
+        assertThat(handle.getJobId()).isEqualTo("1");
+        verify(okHttpClient, times(2)).newCall(requestArgumentCaptor.capture());
+        assertThat(requestArgumentCaptor.getAllValues().get(0).url().encodedPath()).isEqualTo("/api/v1/summary/queue");
+    }
+
+    @Test
+    public void testRouteFallsBackToTheQueueWhenTheSyncCallTimesOut() throws Exception {
+        when(call.timeout()).thenReturn(new Timeout());
+        when(call.execute()).thenThrow(new SocketTimeoutException())
+                            .thenReturn(createResponse(HttpStatus.SC_CREATED, JOB_ID_JSON),
+                                        createResponse(HttpStatus.SC_OK, WH_QUESTION_JSON_ARRAY));
+        final ArgumentCaptor<Request> requestArgumentCaptor = ArgumentCaptor.forClass(Request.class);
+
+        final JobHandle<List<WHQuestion>> handle = client.routeWHQuiz(SimpleAsyncRequestData.builder()
+                .jobPollingWaitInterval(0).textContent(RAW_CLOZE_QUESTION).build());
+
+        assertThat(handle.get(1, MINUTES)).extracting(WHQuestion::getAnswer).containsExactly(WH_QUESTION_ANSWER);
+        verify(okHttpClient, times(3)).newCall(requestArgumentCaptor.capture());
+        assertThat(requestArgumentCaptor.getAllValues()).extracting(request -> request.url().encodedPath())
+                .containsExactly("/api/v1/wh-quiz/generate", "/api/v1/wh-quiz/queue",
+                                 "/api/v1/wh-quiz/queue/results");
+        assertThat(client.getLatencyTracker().estimate("/api/v1/wh-quiz/generate", 1))
+                .hasValueSatisfying(estimate -> assertThat(estimate).isGreaterThan(Duration.ZERO));
+    }
+
+    @Test
+    public void testIncrementalRegenerationOnlySendsChangedParagraphs() {
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY)
+                .paragraphCache(ParagraphCache.builder().minParagraphCharacters(0).maxPackCharacters(20).build())
+                .build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
+        final List<String> sentParagraphs = new CopyOnWriteArrayList<>();
+        when(okHttpClient.newCall(any(Request.class))).thenAnswer(invocation -> {
+            final Buffer body = new Buffer();
+            invocation.<Request>getArgument(0).body().writeTo(body);
+            final String paragraph = Stream.of("First", "Second", "Third", "Edited")
+                                           .filter(body.readUtf8()::contains).findFirst().orElseThrow();
+            sentParagraphs.add(paragraph);
+            final Call paragraphCall = mock(Call.class);
+            when(paragraphCall.execute()).thenReturn(createResponse(HttpStatus.SC_OK, new JSONObject()
+                    .put("summary", List.of(paragraph + " fact")).toString()));
+            return paragraphCall;
+        });
+
+        assertThat(client.generateSummary(SimpleCommonRequestData.builder()
+                .textContent("First paragraph.\n\nSecond paragraph.\n\nThird paragraph.").build()).getFacts())
+                .containsExactly("First fact", "Second fact", "Third fact");
+        assertThat(sentParagraphs).containsExactlyInAnyOrder("First", "Second", "Third");
+
+        sentParagraphs.clear();
+        assertThat(client.generateSummary(SimpleCommonRequestData.builder()
+                .textContent("First paragraph.\n\nEdited paragraph.\n\nThird  paragraph.").build()).getFacts())
+                .containsExactly("First fact", "Edited fact", "Third fact");
+        assertThat(sentParagraphs).containsExactly("Edited");
+    }
+
+    @Test
+    public void testIncrementalGenerationPacksParagraphsAndMergesRepeatsOnce() throws Exception {
+        final ParagraphCache paragraphCache = ParagraphCache.builder().minParagraphCharacters(0).build();
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY).paragraphCache(paragraphCache)
+                                                      .build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(client).newTransport();
+        stubResponse(new int[]{HttpStatus.SC_OK}, SUMMARY_FACTS_JSON);
+        final ArgumentCaptor<Request> requestArgumentCaptor = ArgumentCaptor.forClass(Request.class);
+        final String text = "First paragraph.\n\nSecond paragraph.\n\nFirst paragraph.";
+
+        assertThat(client.generateSummary(SimpleCommonRequestData.builder().textContent(text).build()).getFacts())
+                .containsExactly(SUMMARY_FACT);
+
+        verify(okHttpClient).newCall(requestArgumentCaptor.capture());
+        final Buffer body = new Buffer();
+        requestArgumentCaptor.getValue().body().writeTo(body);
+        assertThat(body.readUtf8()).contains("First paragraph.\n\nSecond paragraph.")
+                                   .doesNotContain("Second paragraph.\n\nFirst paragraph.");
+
+        final FlexudyClient localClient = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY)
+                                                           .paragraphCache(paragraphCache)
+                                                           .baseUrl("http://localhost:8080").build());
+        doReturn(new OkHttpTransport(okHttpClient)).when(localClient).newTransport();
+        stubResponse(new int[]{HttpStatus.SC_OK}, SUMMARY_FACTS_JSON);
+        localClient.generateSummary(SimpleCommonRequestData.builder().textContent(text).build());
+        verify(okHttpClient, times(2)).newCall(any(Request.class));
+    }
+
+    @Test
+    public void testAdaptiveTimeoutsAndCallDeadlineAreAttachedToCalls() throws Exception {
+        final FlexudyClient client = spy(FlexudyClient.builder().licenseKey(LICENSE_KEY).httpClientConfig(
+                builder().adaptiveTimeoutConfig(AdaptiveTimeoutConfig.builder().build()).callDeadlineSeconds(30L)
+                         .build()).build());
+        final RecordingTransport transport = new RecordingTransport(new OkHttpTransport(okHttpClient));
+        doReturn(transport).when(client).newTransport();
+        when(call.timeout()).thenReturn(new Timeout());
+        stubResponse(SUMMARY_FACTS_JSON, JOB_ID_JSON);
+
+        client.generateSummary(TEXT_REQUEST_DATA);
+        final JobHandle<Summary> handle = client.submitSummaryJob(SimpleAsyncRequestData.builder()
+                .jobPollingWaitInterval(60).textContent(RAW_CLOZE_QUESTION).build());
+
+        assertThat(transport.requests).hasSize(2);
+        final TransportRequest request = transport.requests.get(0);
+        assertThat(request.getCallTimeouts().get().getReadTimeout())
+                .isEqualTo(Duration.ofSeconds(DEFAULT_READ_TIMEOUT_SECONDS));
+        assertThat(request.getCallTimeouts().get().getWriteTimeout())
+                .isLessThan(Duration.ofSeconds(DEFAULT_WRITE_TIMEOUT_SECONDS));
+        assertThat(request.getRequestTimeout().get().getTimeout()).isBetween(Duration.ZERO, Duration.ofSeconds(30));
+        assertThat(client.getLatencyTracker().getSampleCount("/api/v1/summary/generate")).isZero();
+        assertThat(handle.getDeadline()).hasValueSatisfying(deadline -> assertThat(deadline)
+                .isBefore(Instant.now().plusSeconds(31)));
+        handle.cancel(true);
+    }
+
+    private void stubResponsesByPath(Map<String, String> responseBodies, int statusCode) {
+        when(okHttpClient.newCall(any(Request.class))).thenAnswer(invocation -> {
+            final String body = responseBodies.get(invocation.<Request>getArgument(0).url().encodedPath());
+            final Call productCall = mock(Call.class);
+            when(productCall.execute()).thenReturn(body == null
+                    ? createResponse(HttpStatus.SC_INTERNAL_SERVER_ERROR, StringUtils.EMPTY)
+                    : createResponse(statusCode, body));
+            return productCall;
+        });
+    }
+
     private void stubResponse(String... expectedResponseBodies) throws IOException {
         final int[] statusCodes = new int[expectedResponseBodies.length];
         Arrays.fill(statusCodes, HttpStatus.SC_CREATED);
@@ -524,4 +1260,30 @@ public class FlexudyClientTest {
                                                          .body(create(json, APPLICATION_JSON_MEDIA_TYPE)).build();
     }
 
+    private static final class RecordingTransport implements HttpTransport {
+
+        private final HttpTransport delegate;
+        private final List<TransportRequest> requests = new CopyOnWriteArrayList<>();
+
+        private RecordingTransport(HttpTransport delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public TransportResponse execute(TransportRequest request) throws IOException {
+            requests.add(request);
+            return delegate.execute(request);
+        }
+
+        @Override
+        public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+            requests.add(request);
+            return delegate.executeAsync(request);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package com.flexudy.education.client.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParallelDispatcherTest {
+
+    private final ParallelDispatcher dispatcher = new ParallelDispatcher(2);
+
+    @AfterEach
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void testThreadCountIsBounded() {
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        final List<Integer> inputs = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+
+        final List<Integer> results = dispatcher.dispatch(inputs, inputs.size(), input -> {
+            threadNames.add(Thread.currentThread().getName());
+            sleep(10);
+            return input * 2;
+        });
+
+        assertThat(results).containsExactlyElementsOf(inputs.stream().map(input -> input * 2)
+                                                            .collect(Collectors.toList()));
+        assertThat(threadNames.stream().filter(name -> name.startsWith("flexudy-dispatcher-")))
+                .hasSizeLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void testNestedDispatchDoesNotDeadlock() {
+        final List<Integer> inputs = List.of(1, 2, 3, 4);
+
+        final List<Integer> results = dispatcher.dispatch(inputs, inputs.size(), outer -> dispatcher
+                .dispatch(inputs, inputs.size(), inner -> {
+                    sleep(5);
+                    return outer * inner;
+                })
+                .stream().mapToInt(Integer::intValue).sum());
+
+        assertThat(results).containsExactly(10, 20, 30, 40);
+    }
+
+    @Test
+    public void testFailurePropagates() {
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.dispatch(List.of(1, 2), 2, input -> {
+            throw new IllegalArgumentException("Invalid input " + input);
+        }));
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.dispatch(List.of(1), 0, input -> input));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.flexudy.education.client.service;
+
+import com.flexudy.education.client.data.common.JobProgress;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PollScheduleTest {
+
+    private static final long POLL_INTERVAL_MILLIS = 10_000;
+    private static final Duration ELAPSED = Duration.ofSeconds(6);
+
+    @Test
+    public void testRetryAfterTakesPrecedence() {
+        assertThat(PollSchedule.hintedDelayMillis(new JobProgress(1, 30.0, 0.5), Duration.ofSeconds(2), ELAPSED,
+                                                  POLL_INTERVAL_MILLIS)).hasValue(2_000);
+        assertThat(PollSchedule.hintedDelayMillis(null, Duration.ZERO, ELAPSED, POLL_INTERVAL_MILLIS))
+                .hasValue(PollSchedule.MIN_HINTED_DELAY_MILLIS);
+    }
+
+    @Test
+    public void testEtaIsUsedEvenBeyondThePollInterval() {
+        assertThat(PollSchedule.hintedDelayMillis(new JobProgress(null, 1.5, null), null, ELAPSED,
+                                                  POLL_INTERVAL_MILLIS)).hasValue(1_500);
+        assertThat(PollSchedule.hintedDelayMillis(new JobProgress(null, 30.0, 0.9), null, ELAPSED,
+                                                  POLL_INTERVAL_MILLIS)).hasValue(30_000);
+    }
+
+    @Test
+    public void testRemainingTimeIsExtrapolatedFromProgress() {
+        assertThat(PollSchedule.hintedDelayMillis(new JobProgress(null, null, 0.75), null, ELAPSED,
+                                                  POLL_INTERVAL_MILLIS)).hasValue(2_000);
+        assertThat(PollSchedule.hintedDelayMillis(new JobProgress(null, null, 0.1), null, ELAPSED,
+                                                  POLL_INTERVAL_MILLIS)).hasValue(POLL_INTERVAL_MILLIS);
+    }
+
+    @Test
+    public void testNoTimingHintKeepsThePollInterval() {
+        assertThat(PollSchedule.hintedDelayMillis(null, null, ELAPSED, POLL_INTERVAL_MILLIS)).isEmpty();
+        assertThat(PollSchedule.hintedDelayMillis(new JobProgress(4, null, null), null, ELAPSED,
+                                                  POLL_INTERVAL_MILLIS)).isEmpty();
+        assertThat(PollSchedule.hintedDelayMillis(new JobProgress(null, null, 1.0), null, ELAPSED,
+                                                  POLL_INTERVAL_MILLIS)).isEmpty();
+    }
+}
@@ -0,0 +1,51 @@
+package com.flexudy.education.client.service;
+
+import com.flexudy.education.client.service.transport.TransportBodies;
+import com.flexudy.education.client.service.transport.TransportRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RequestTemplateTest {
+
+    private static final String BASE_URL = "https://gateway.flexudy.com";
+    private static final String LICENSE_KEY = "abc";
+
+    private final RequestTemplate template = new RequestTemplate(BASE_URL, "/api/v1/cloze-quiz/queue", LICENSE_KEY);
+
+    @Test
+    public void testCreateWithNullLicenseKey() {
+        assertThrows(NullPointerException.class, () -> new RequestTemplate(BASE_URL, "/api", null));
+    }
+
+    @Test
+    public void testCreateWithInvalidBaseUrl() {
+        assertThrows(IllegalArgumentException.class, () -> new RequestTemplate("gateway.flexudy.com", "/api",
+                                                                                LICENSE_KEY));
+        assertThrows(IllegalArgumentException.class, () -> new RequestTemplate("ftp://gateway.flexudy.com", "/api",
+                                                                                LICENSE_KEY));
+    }
+
+    @Test
+    public void testPost() {
+        final TransportRequest request = template.post(TransportBodies.of("{}", "application/json"));
+
+        assertThat(request.getMethod()).isEqualTo("POST");
+        assertThat(request.getUrl().toString()).isEqualTo("https://gateway.flexudy.com/api/v1/cloze-quiz/queue");
+        assertThat(request.getHeader(FlexudyClient.LICENSE_KEY_HEADER_PARAM)).isEqualTo(LICENSE_KEY);
+        assertThat(request.getBody()).isPresent();
+    }
+
+    @Test
+    public void testGetDoesNotModifyTemplate() {
+        final TransportRequest request = template.get("jobId", "1 2");
+
+        assertThat(request.getMethod()).isEqualTo("GET");
+        assertThat(request.getUrl().toString())
+                .isEqualTo("https://gateway.flexudy.com/api/v1/cloze-quiz/queue?jobId=1+2");
+        assertThat(request.getHeader(FlexudyClient.LICENSE_KEY_HEADER_PARAM)).isEqualTo(LICENSE_KEY);
+        assertThat(template.getRequest().getUrl().toString())
+                .isEqualTo("https://gateway.flexudy.com/api/v1/cloze-quiz/queue");
+    }
+}
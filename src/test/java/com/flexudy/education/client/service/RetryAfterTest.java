@@ -0,0 +1,34 @@
+package com.flexudy.education.client.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RetryAfterTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2015-10-21T07:28:00Z"), ZoneOffset.UTC);
+
+    @Test
+    public void testParseDelaySeconds() {
+        assertThat(RetryAfter.parse("120", CLOCK)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(RetryAfter.parse(" 0 ", CLOCK)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void testParseHttpDate() {
+        assertThat(RetryAfter.parse("Wed, 21 Oct 2015 07:29:00 GMT", CLOCK)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(RetryAfter.parse("Wed, 21 Oct 2015 07:27:00 GMT", CLOCK)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void testParseInvalidValues() {
+        assertThat(RetryAfter.parse(null, CLOCK)).isNull();
+        assertThat(RetryAfter.parse("soon", CLOCK)).isNull();
+        assertThat(RetryAfter.parse("99999999999999999999", CLOCK)).isNull();
+    }
+}
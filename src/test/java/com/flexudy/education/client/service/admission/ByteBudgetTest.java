@@ -0,0 +1,128 @@
+package com.flexudy.education.client.service.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ByteBudgetTest {
+
+    private static final byte[] CONTENT = "The capital of France is Paris.".getBytes();
+
+    @Test
+    public void testCreateWithInvalidBudget() {
+        assertThrows(IllegalArgumentException.class, () -> ByteBudget.of(0));
+        assertThrows(IllegalArgumentException.class, () -> ByteBudget.builder().maxBytes(10L).windowBytes(0).build());
+    }
+
+    @Test
+    public void testReadReservesContentUntilClosed() throws IOException {
+        final ByteBudget budget = ByteBudget.builder().maxBytes(1024L).windowBytes(8).build();
+
+        try (ByteBudget.Reservation reservation = budget.newReservation()) {
+            assertThat(reservation.read(new ByteArrayInputStream(CONTENT))).isEqualTo(CONTENT);
+            assertThat(reservation.read(new ByteArrayInputStream(new byte[0]))).isEmpty();
+            assertThat(reservation.getReservedBytes()).isEqualTo(CONTENT.length);
+            assertThat(budget.getUsedBytes()).isEqualTo(CONTENT.length);
+            assertThat(budget.getAvailableBytes()).isEqualTo(1024L - CONTENT.length);
+        }
+        assertThat(budget.getUsedBytes()).isZero();
+    }
+
+    @Test
+    public void testUploadLargerThanBudgetIsRejected() {
+        final ByteBudget budget = ByteBudget.builder().maxBytes(16L).windowBytes(8).build();
+
+        try (ByteBudget.Reservation reservation = budget.newReservation()) {
+            assertThrows(IllegalArgumentException.class, () -> reservation.read(new ByteArrayInputStream(CONTENT)));
+        }
+        assertThat(budget.getUsedBytes()).isZero();
+    }
+
+    @Test
+    public void testReadChargesTheCopiedContents() {
+        final ByteBudget budget = ByteBudget.builder().maxBytes(48L).windowBytes(8).build();
+
+        try (ByteBudget.Reservation reservation = budget.newReservation()) {
+            assertThrows(IllegalArgumentException.class, () -> reservation.read(new ByteArrayInputStream(CONTENT)));
+        }
+        assertThat(budget.getUsedBytes()).isZero();
+    }
+
+    @Test
+    public void testRejectWhenExhausted() throws IOException {
+        final ByteBudget budget = ByteBudget.builder().maxBytes(64L).windowBytes(32)
+                                            .overflowPolicy(OverflowPolicy.REJECT).build();
+
+        try (ByteBudget.Reservation first = budget.newReservation();
+             ByteBudget.Reservation second = budget.newReservation()) {
+            first.read(new ByteArrayInputStream(CONTENT));
+            assertThrows(IllegalStateException.class, () -> second.read(new ByteArrayInputStream(CONTENT)));
+        }
+        assertThat(budget.getUsedBytes()).isZero();
+    }
+
+    @Test
+    public void testWaitUntilReleased() throws Exception {
+        final ByteBudget budget = ByteBudget.builder().maxBytes(64L).windowBytes(32).build();
+        final ByteBudget.Reservation first = budget.newReservation();
+        first.read(new ByteArrayInputStream(CONTENT));
+
+        final CompletableFuture<byte[]> waiting = CompletableFuture.supplyAsync(() -> {
+            try (ByteBudget.Reservation second = budget.newReservation()) {
+                return second.read(new ByteArrayInputStream(CONTENT));
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        while (budget.getWaitingReservations() == 0) {
+            Thread.onSpinWait();
+        }
+        assertThat(waiting).isNotDone();
+
+        first.close();
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo(CONTENT);
+        assertThat(budget.getUsedBytes()).isZero();
+    }
+
+    @Test
+    public void testWaitingReservationHandsBackItsWindows() throws Exception {
+        final ByteBudget budget = ByteBudget.builder().maxBytes(32L).windowBytes(8).build();
+        final ByteBudget.Reservation first = budget.newReservation();
+        final ByteBudget.Reservation second = budget.newReservation();
+        first.reserve(16);
+        second.reserve(16);
+
+        final CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> first.reserve(8));
+        while (budget.getWaitingReservations() == 0) {
+            Thread.onSpinWait();
+        }
+        second.reserve(8);
+        assertThat(waiting).isNotDone();
+
+        second.close();
+        waiting.get(5, TimeUnit.SECONDS);
+        assertThat(first.getReservedBytes()).isEqualTo(24);
+        assertThat(budget.getUsedBytes()).isEqualTo(24);
+        first.close();
+        assertThat(budget.getUsedBytes()).isZero();
+    }
+
+    @Test
+    public void testWaitTimesOut() throws IOException {
+        final ByteBudget budget = ByteBudget.builder().maxBytes(64L).windowBytes(32).maxWaitMillis(50L).build();
+
+        try (ByteBudget.Reservation first = budget.newReservation();
+             ByteBudget.Reservation second = budget.newReservation()) {
+            first.read(new ByteArrayInputStream(CONTENT));
+            assertThrows(IllegalStateException.class, () -> second.read(new ByteArrayInputStream(CONTENT)));
+            assertThat(budget.getWaitingReservations()).isZero();
+        }
+        assertThat(budget.getUsedBytes()).isZero();
+    }
+}
@@ -0,0 +1,149 @@
+package com.flexudy.education.client.service.buffer;
+
+import com.flexudy.education.client.service.admission.ByteBudget;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.Okio;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PooledContentTest {
+
+    private static final byte[] CONTENT = StringUtils.repeat("The capital of France is Paris. ", 10).getBytes();
+
+    @Test
+    public void testCreatePoolWithInvalidSegmentSize() {
+        assertThrows(IllegalArgumentException.class, () -> DirectBufferPool.builder().segmentBytes(0).build());
+    }
+
+    @Test
+    public void testPoolReusesReleasedSegments() {
+        final DirectBufferPool pool = DirectBufferPool.builder().segmentBytes(16).maxPooledSegments(1).build();
+        final ByteBuffer first = pool.acquire();
+        final ByteBuffer second = pool.acquire();
+
+        pool.release(first);
+        pool.release(second);
+
+        assertThat(pool.getPooledSegments()).isEqualTo(1);
+        assertThat(pool.acquire()).isSameAs(first);
+        assertThat(pool.getAllocatedSegments()).isEqualTo(2);
+        assertThrows(IllegalArgumentException.class, () -> pool.release(ByteBuffer.allocate(16)));
+    }
+
+    @Test
+    public void testRequestBodyIsRepeatable() throws IOException {
+        final DirectBufferPool pool = DirectBufferPool.builder().segmentBytes(64).build();
+
+        try (PooledContent content = PooledContent.read(new ByteArrayInputStream(CONTENT), pool, null)) {
+            assertThat(content.getSize()).isEqualTo(CONTENT.length);
+            for (int i = 0; i < 2; i++) {
+                final Buffer sink = new Buffer();
+                content.toTransportBody(null).writeTo(sink);
+                assertThat(sink.readByteArray()).isEqualTo(CONTENT);
+            }
+        }
+        assertThat(pool.getPooledSegments()).isEqualTo((CONTENT.length / 64) + 1);
+    }
+
+    @Test
+    public void testConcurrentWritesProceedAndCloseWaitsForThem() throws Exception {
+        final byte[] content = StringUtils.repeat("The capital of France is Paris. ", 4096).getBytes();
+        final DirectBufferPool pool = DirectBufferPool.builder().segmentBytes(1024).build();
+        final PooledContent pooledContent = PooledContent.read(new ByteArrayInputStream(content), pool, null);
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch unblock = new CountDownLatch(1);
+        final BufferedSink blockingSink = Okio.buffer(new ForwardingSink(new Buffer()) {
+            @Override
+            public void write(Buffer source, long byteCount) throws IOException {
+                writing.countDown();
+                try {
+                    unblock.await();
+                } catch (InterruptedException ex) {
+                    throw new InterruptedIOException();
+                }
+                super.write(source, byteCount);
+            }
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<?> blockedWrite = executor.submit(() -> {
+                pooledContent.toTransportBody(null).writeTo(blockingSink);
+                return null;
+            });
+            assertThat(writing.await(5, SECONDS)).isTrue();
+
+            final Buffer sink = new Buffer();
+            pooledContent.toTransportBody(null).writeTo(sink);
+            assertThat(sink.size()).isEqualTo(content.length);
+
+            final Future<?> close = executor.submit(pooledContent::close);
+            assertThrows(TimeoutException.class, () -> close.get(100, MILLISECONDS));
+            assertThat(pool.getPooledSegments()).isZero();
+
+            unblock.countDown();
+            blockedWrite.get(5, SECONDS);
+            close.get(5, SECONDS);
+            assertThat(pool.getPooledSegments()).isEqualTo((content.length / 1024) + 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testReadReservesBudget() throws IOException {
+        final DirectBufferPool pool = DirectBufferPool.builder().segmentBytes(64).build();
+        final ByteBudget budget = ByteBudget.of(1024);
+
+        try (ByteBudget.Reservation reservation = budget.newReservation();
+             PooledContent content = PooledContent.read(new ByteArrayInputStream(CONTENT), pool, reservation)) {
+            assertThat(budget.getUsedBytes()).isEqualTo(content.getSize());
+        }
+        assertThat(budget.getUsedBytes()).isZero();
+    }
+
+    @Test
+    public void testFailedReadReturnsSegments() {
+        final DirectBufferPool pool = DirectBufferPool.builder().segmentBytes(8).build();
+        final InputStream failingStream = new InputStream() {
+            private int remaining = 20;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- <= 0) {
+                    throw new IOException("Connection reset");
+                }
+                return 'a';
+            }
+        };
+
+        assertThrows(IOException.class, () -> PooledContent.read(failingStream, pool, null));
+        assertThat(pool.getPooledSegments()).isEqualTo(3);
+    }
+
+    @Test
+    public void testReleasedContentCannotBeSent() throws IOException {
+        final PooledContent content = PooledContent.read(new ByteArrayInputStream(CONTENT),
+                                                         DirectBufferPool.builder().build(), null);
+        content.close();
+
+        assertThrows(IllegalStateException.class, () -> content.toTransportBody(null));
+    }
+}
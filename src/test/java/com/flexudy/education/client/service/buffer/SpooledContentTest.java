@@ -0,0 +1,128 @@
+package com.flexudy.education.client.service.buffer;
+
+import com.flexudy.education.client.service.admission.ByteBudget;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.Okio;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SpooledContentTest {
+
+    private static final byte[] CONTENT = StringUtils.repeat("The capital of France is Paris. ", 100).getBytes();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testSmallContentStaysInMemory() throws IOException {
+        final SpoolingConfig config = SpoolingConfig.builder().thresholdBytes((long) CONTENT.length)
+                                                    .directory(directory).build();
+
+        try (SpooledContent content = SpooledContent.read(new ByteArrayInputStream(CONTENT), config, null)) {
+            assertThat(content.isSpooled()).isFalse();
+            assertThat(content.getSize()).isEqualTo(CONTENT.length);
+            assertThat(writeBody(content)).isEqualTo(CONTENT);
+        }
+        assertThat(listSpoolFiles()).isZero();
+    }
+
+    @Test
+    public void testLargeContentIsSpooledAndRepeatable() throws IOException {
+        final SpoolingConfig config = SpoolingConfig.builder().thresholdBytes(100L).directory(directory).build();
+        final ByteBudget budget = ByteBudget.of(1024);
+
+        try (ByteBudget.Reservation reservation = budget.newReservation();
+             SpooledContent content = SpooledContent.read(new ByteArrayInputStream(CONTENT), config, reservation)) {
+            assertThat(content.isSpooled()).isTrue();
+            assertThat(content.getSize()).isEqualTo(CONTENT.length);
+            assertThat(listSpoolFiles()).isEqualTo(1);
+            assertThat(budget.getUsedBytes()).isZero();
+            assertThat(writeBody(content)).isEqualTo(CONTENT);
+            assertThat(writeBody(content)).isEqualTo(CONTENT);
+        }
+        assertThat(listSpoolFiles()).isZero();
+    }
+
+    @Test
+    public void testCloseWaitsForSendsInProgress() throws Exception {
+        final byte[] largeContent = StringUtils.repeat("The capital of France is Paris. ", 1000).getBytes();
+        final SpoolingConfig config = SpoolingConfig.builder().thresholdBytes(100L).directory(directory).build();
+        final SpooledContent content = SpooledContent.read(new ByteArrayInputStream(largeContent), config, null);
+        final Thread closer = new Thread(content::close);
+        final Buffer sink = new Buffer();
+        final BufferedSink closingSink = Okio.buffer(new ForwardingSink(sink) {
+            @Override
+            public void write(Buffer source, long byteCount) throws IOException {
+                if (closer.getState() == Thread.State.NEW) {
+                    closer.start();
+                    while (closer.getState() != Thread.State.WAITING) {
+                        Thread.onSpinWait();
+                    }
+                    assertThat(listSpoolFiles()).isEqualTo(1);
+                }
+                super.write(source, byteCount);
+            }
+        });
+
+        content.toTransportBody(null).writeTo(closingSink);
+        closingSink.flush();
+        closer.join(5000);
+
+        assertThat(closer.isAlive()).isFalse();
+        assertThat(sink.readByteArray()).isEqualTo(largeContent);
+        assertThat(listSpoolFiles()).isZero();
+    }
+
+    @Test
+    public void testFailedSpoolDeletesFile() throws IOException {
+        final SpoolingConfig config = SpoolingConfig.builder().thresholdBytes(10L).directory(directory).build();
+        final InputStream failingStream = new InputStream() {
+            private int remaining = 100;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- <= 0) {
+                    throw new IOException("Connection reset");
+                }
+                return 'a';
+            }
+        };
+
+        assertThrows(IOException.class, () -> SpooledContent.read(failingStream, config, null));
+        assertThat(listSpoolFiles()).isZero();
+    }
+
+    @Test
+    public void testReleasedContentCannotBeSent() throws IOException {
+        final SpoolingConfig config = SpoolingConfig.builder().thresholdBytes(100L).directory(directory).build();
+        final SpooledContent content = SpooledContent.read(new ByteArrayInputStream(CONTENT), config, null);
+        content.close();
+
+        assertThrows(IllegalStateException.class, () -> content.toTransportBody(null));
+    }
+
+    private static byte[] writeBody(SpooledContent content) throws IOException {
+        final Buffer sink = new Buffer();
+        content.toTransportBody(null).writeTo(sink);
+        return sink.readByteArray();
+    }
+
+    private long listSpoolFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.flexudy.education.client.service.chunking;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TextChunkerTest {
+
+    private static final String SENTENCE = "The capital of France is Paris. ";
+
+    @Test
+    public void testCreateWithInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TextChunker(0));
+    }
+
+    @Test
+    public void testShortTextIsNotChunked() {
+        final TextChunker chunker = new TextChunker(100);
+
+        assertThat(chunker.isChunkable(SENTENCE)).isFalse();
+        assertThat(chunker.isChunkable(null)).isFalse();
+        assertThat(chunker.split(SENTENCE)).containsExactly(SENTENCE.trim());
+    }
+
+    @Test
+    public void testSplitOnParagraphBoundaries() {
+        final String firstParagraph = StringUtils.repeat(SENTENCE, 2).trim();
+        final String secondParagraph = "The capital of the UAE is Abu Dhabi.";
+        final TextChunker chunker = new TextChunker(firstParagraph.length() + 10);
+
+        final List<String> chunks = chunker.split(firstParagraph + "\n\n" + secondParagraph);
+
+        assertThat(chunks).containsExactly(firstParagraph, secondParagraph);
+    }
+
+    @Test
+    public void testSplitOnSentenceBoundaries() {
+        final TextChunker chunker = new TextChunker(SENTENCE.length() * 3 - 1);
+
+        final List<String> chunks = chunker.split(StringUtils.repeat(SENTENCE, 7));
+
+        assertThat(chunks).hasSize(4);
+        assertThat(chunks).allSatisfy(chunk -> {
+            assertThat(chunk.length()).isLessThanOrEqualTo(SENTENCE.length() * 3 - 1);
+            assertThat(chunk).startsWith("The capital").endsWith("Paris.");
+        });
+        assertThat(String.join(" ", chunks)).isEqualTo(StringUtils.repeat(SENTENCE, 7).trim());
+    }
+
+    @Test
+    public void testSplitTextWithoutBoundaries() {
+        final TextChunker chunker = new TextChunker(10);
+
+        final List<String> chunks = chunker.split(StringUtils.repeat("a", 25));
+
+        assertThat(chunks).containsExactly(StringUtils.repeat("a", 10), StringUtils.repeat("a", 10),
+                                           StringUtils.repeat("a", 5));
+    }
+}
@@ -0,0 +1,118 @@
+package com.flexudy.education.client.service.compression;
+
+import okhttp3.*;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.GzipSink;
+import okio.GzipSource;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static com.flexudy.education.client.service.compression.CompressionInterceptor.ACCEPT_ENCODING_HEADER;
+import static com.flexudy.education.client.service.compression.CompressionInterceptor.CONTENT_ENCODING_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressionInterceptorTest {
+
+    private static final String TEXT_CONTENT = StringUtils.repeat("The capital of France is Paris. ", 2000);
+    private static final String SMALL_TEXT_CONTENT = "The capital of France is Paris.";
+    private static final long THRESHOLD_BYTES = 1024;
+
+    private MockWebServer server;
+    private OkHttpClient httpClient;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.server = new MockWebServer();
+        this.server.start();
+        this.httpClient = new OkHttpClient.Builder()
+                .addInterceptor(new CompressionInterceptor(new GzipCompressionCodec(), THRESHOLD_BYTES)).build();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testLargeRequestBodyIsCompressed() throws IOException, InterruptedException {
+        server.enqueue(new MockResponse().setBody("[]"));
+
+        final RequestBody body = new MultipartBody.Builder().setType(MultipartBody.FORM)
+                                                            .addFormDataPart("textContent", TEXT_CONTENT).build();
+        final long uncompressedLength = body.contentLength();
+        execute(body);
+
+        final RecordedRequest recordedRequest = server.takeRequest();
+        assertThat(recordedRequest.getHeader(CONTENT_ENCODING_HEADER)).isEqualTo("gzip");
+        assertThat(recordedRequest.getBodySize()).isLessThan(uncompressedLength / 10);
+
+        final Buffer decompressed = new Buffer();
+        decompressed.writeAll(new GzipSource(recordedRequest.getBody()));
+        assertThat(decompressed.size()).isEqualTo(uncompressedLength);
+        assertThat(decompressed.readUtf8()).contains(TEXT_CONTENT);
+    }
+
+    @Test
+    public void testSmallRequestBodyIsNotCompressed() throws IOException, InterruptedException {
+        server.enqueue(new MockResponse().setBody("[]"));
+
+        final RequestBody body = RequestBody.create(SMALL_TEXT_CONTENT, MediaType.get("text/plain"));
+        execute(body);
+
+        final RecordedRequest recordedRequest = server.takeRequest();
+        assertThat(recordedRequest.getHeader(CONTENT_ENCODING_HEADER)).isNull();
+        assertThat(recordedRequest.getBody().readUtf8()).isEqualTo(SMALL_TEXT_CONTENT);
+    }
+
+    @Test
+    public void testCompressedResponseIsDecompressed() throws IOException, InterruptedException {
+        final Buffer compressedBody = new Buffer();
+        try (GzipSink gzipSink = new GzipSink(compressedBody)) {
+            final Buffer plainBody = new Buffer().writeUtf8(TEXT_CONTENT);
+            gzipSink.write(plainBody, plainBody.size());
+        }
+        server.enqueue(new MockResponse().setHeader(CONTENT_ENCODING_HEADER, "gzip").setBody(compressedBody));
+
+        try (Response response = httpClient.newCall(new Request.Builder().url(server.url("/")).build()).execute()) {
+            assertThat(response.header(CONTENT_ENCODING_HEADER)).isNull();
+            assertThat(response.body().string()).isEqualTo(TEXT_CONTENT);
+        }
+        assertThat(server.takeRequest().getHeader(ACCEPT_ENCODING_HEADER)).isEqualTo("gzip");
+    }
+
+    @Test
+    public void testEncodedHeadResponseIsNotDecompressed() throws IOException {
+        server.enqueue(new MockResponse().setHeader(CONTENT_ENCODING_HEADER, "gzip").setHeader("Content-Length", 20));
+
+        try (Response response = httpClient.newCall(new Request.Builder().url(server.url("/")).head().build())
+                                           .execute()) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.header(CONTENT_ENCODING_HEADER)).isEqualTo("gzip");
+            assertThat(response.body().string()).isEmpty();
+        }
+    }
+
+    @Test
+    public void testEncodedNoContentResponseIsNotDecompressed() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(204).setHeader(CONTENT_ENCODING_HEADER, "gzip"));
+
+        try (Response response = httpClient.newCall(new Request.Builder().url(server.url("/")).build()).execute()) {
+            assertThat(response.code()).isEqualTo(204);
+            assertThat(response.body().string()).isEmpty();
+        }
+    }
+
+    private void execute(RequestBody body) throws IOException {
+        try (Response response = httpClient.newCall(new Request.Builder().url(server.url("/")).post(body).build())
+                                           .execute()) {
+            assertThat(response.isSuccessful()).isTrue();
+        }
+    }
+}
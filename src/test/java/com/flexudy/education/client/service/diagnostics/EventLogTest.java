@@ -0,0 +1,78 @@
+package com.flexudy.education.client.service.diagnostics;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EventLogTest {
+
+    private static final String PATH = "/api/v1/summary/generate";
+
+    @Test
+    public void testCreateWithInvalidSampleRate() {
+        assertThrows(IllegalArgumentException.class, () -> new EventLog(NOPLogger.NOP_LOGGER, 0));
+    }
+
+    @Test
+    public void testRecordStructuredEvent() {
+        final Logger logger = debugLogger();
+
+        new EventLog(logger, 1).record(ClientEvent.REQUEST_SUCCEEDED, PATH, 200, 15L);
+
+        verify(logger).debug("event=request.succeeded path={} status={} durationMs={}", PATH, 200L, 15L);
+    }
+
+    @Test
+    public void testRoutineEventsAreSampled() {
+        final Logger logger = debugLogger();
+        final EventLog events = new EventLog(logger, 10);
+
+        for (int i = 0; i < 100; i++) {
+            events.record(ClientEvent.JOB_POLLED, "1", i);
+            events.record(ClientEvent.REQUEST_FAILED, PATH, 500, 1L);
+        }
+
+        verify(logger, times(10)).debug(eq(ClientEvent.JOB_POLLED.getPattern()), anyString(), any());
+        verify(logger, times(100)).debug(eq(ClientEvent.REQUEST_FAILED.getPattern()), anyString(), any(), any());
+    }
+
+    @Test
+    public void testDisabledEventsDoNotAllocate() {
+        final com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final EventLog events = new EventLog(NOPLogger.NOP_LOGGER, 1);
+        final long threadId = Thread.currentThread().getId();
+        recordEvents(events, 10_000);
+
+        final long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        recordEvents(events, 100_000);
+        final long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertThat(allocated).isLessThan(1024);
+    }
+
+    private static void recordEvents(EventLog events, int count) {
+        for (int i = 0; i < count; i++) {
+            events.record(ClientEvent.REQUEST_SUCCEEDED, PATH, 200, i);
+            events.record(ClientEvent.JOB_PENDING, PATH, i);
+        }
+    }
+
+    private static Logger debugLogger() {
+        final Logger logger = mock(Logger.class);
+        when(logger.isDebugEnabled()).thenReturn(true);
+        return logger;
+    }
+}
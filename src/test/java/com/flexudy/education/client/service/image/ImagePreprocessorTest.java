@@ -0,0 +1,138 @@
+package com.flexudy.education.client.service.image;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ImagePreprocessorTest {
+
+    private static final int MAX_DIMENSION = 500;
+
+    private final ImagePreprocessor preprocessor = new ImagePreprocessor(ImagePreprocessingConfig.builder()
+                                                                                                 .maxDimension(MAX_DIMENSION)
+                                                                                                 .build());
+
+    @Test
+    public void testCreateWithInvalidQuality() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ImagePreprocessor(ImagePreprocessingConfig.builder().quality(1.5f).build()));
+    }
+
+    @Test
+    public void testLargeImageIsDownscaledInColor() throws IOException {
+        final byte[] original = newImage(2000, 1000, false);
+
+        final byte[] processed = preprocessor.process(original);
+
+        assertThat(processed.length).isLessThan(original.length);
+        final BufferedImage image = ImageIO.read(new ByteArrayInputStream(processed));
+        assertThat(image.getWidth()).isEqualTo(MAX_DIMENSION);
+        assertThat(image.getHeight()).isEqualTo(MAX_DIMENSION / 2);
+        assertThat(image.getColorModel().getNumComponents()).isEqualTo(3);
+    }
+
+    @Test
+    public void testGrayscaleIsConfigurableAndDetected() throws IOException {
+        final ImagePreprocessor grayscalePreprocessor = new ImagePreprocessor(
+                ImagePreprocessingConfig.builder().maxDimension(MAX_DIMENSION).grayscale(true).build());
+
+        assertThat(decode(grayscalePreprocessor.process(newImage(2000, 1000, false))).getType())
+                .isEqualTo(BufferedImage.TYPE_BYTE_GRAY);
+        assertThat(decode(preprocessor.process(newImage(2000, 1000, true))).getType())
+                .isEqualTo(BufferedImage.TYPE_BYTE_GRAY);
+    }
+
+    @Test
+    public void testExifOrientationIsApplied() throws IOException {
+        final byte[] original = withExifOrientation(newJpeg(1200, 600), 6);
+
+        final BufferedImage image = decode(preprocessor.process(original));
+
+        assertThat(image.getWidth()).isEqualTo(MAX_DIMENSION / 2);
+        assertThat(image.getHeight()).isEqualTo(MAX_DIMENSION);
+        // The top-left corner of the upright image is the bottom-left corner of the stored one, which is red
+        assertThat(new Color(image.getRGB(5, 5)).getRed()).isGreaterThan(200);
+        assertThat(ExifOrientation.read(newJpeg(10, 10))).isEqualTo(ExifOrientation.NORMAL);
+    }
+
+    @Test
+    public void testLargeImagesAreDecodedWithSubsampling() {
+        assertThat(ImagePreprocessor.subsampling(2000, 1000, MAX_DIMENSION)).isEqualTo(4);
+        assertThat(ImagePreprocessor.subsampling(1999, 1000, MAX_DIMENSION)).isEqualTo(3);
+        assertThat(ImagePreprocessor.subsampling(400, 300, MAX_DIMENSION)).isEqualTo(1);
+    }
+
+    @Test
+    public void testUnsupportedContentIsUploadedAsIs() {
+        final byte[] original = "The capital of France is Paris".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(preprocessor.process(original)).isSameAs(original);
+    }
+
+    private static byte[] newImage(int width, int height, boolean gray) throws IOException {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = image.createGraphics();
+        for (int x = 0; x < width; x += 10) {
+            graphics.setColor(gray ? new Color(x % 256, x % 256, x % 256)
+                                   : new Color(x % 256, (x * 7) % 256, (x * 13) % 256));
+            graphics.fillRect(x, 0, 10, height);
+        }
+        graphics.dispose();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] newJpeg(int width, int height) throws IOException {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, height / 2, width / 2, height / 2);
+        graphics.dispose();
+        final ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        final ImageWriteParam params = writer.getDefaultWriteParam();
+        params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        params.setCompressionQuality(1.0f);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(image, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] withExifOrientation(byte[] jpeg, int orientation) {
+        // APP1 segment holding a big-endian TIFF header and one IFD entry with the orientation tag
+        final byte[] app1 = {(byte) 0xFF, (byte) 0xE1, 0x00, 0x22, 'E', 'x', 'i', 'f', 0x00, 0x00,
+                             'M', 'M', 0x00, 0x2A, 0x00, 0x00, 0x00, 0x08,
+                             0x00, 0x01, 0x01, 0x12, 0x00, 0x03, 0x00, 0x00, 0x00, 0x01, 0x00, (byte) orientation,
+                             0x00, 0x00, 0x00, 0x00, 0x00, 0x00};
+        final byte[] result = new byte[jpeg.length + app1.length];
+        System.arraycopy(jpeg, 0, result, 0, 2);
+        System.arraycopy(app1, 0, result, 2, app1.length);
+        System.arraycopy(jpeg, 2, result, 2 + app1.length, jpeg.length - 2);
+        return result;
+    }
+
+    private static BufferedImage decode(byte[] image) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(image));
+    }
+}
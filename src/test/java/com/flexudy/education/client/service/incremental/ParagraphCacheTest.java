@@ -0,0 +1,48 @@
+package com.flexudy.education.client.service.incremental;
+
+import com.flexudy.education.client.data.common.ContentType;
+import com.flexudy.education.client.service.network.Environment;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParagraphCacheTest {
+
+    private static final String BASE_URL = "https://gateway.flexudy.com/";
+    private static final String ENDPOINT = "/api/v1/summary/generate";
+    private static final Paragraph PARAGRAPH = ParagraphSplitter.toParagraph("The capital of France is Paris.");
+
+    @Test
+    public void testResultsAreKeyedByServerEndpointContentTypeAndParagraph() {
+        final ParagraphCache cache = ParagraphCache.builder().build();
+        cache.put(Environment.PRODUCTION, BASE_URL, ENDPOINT, null, PARAGRAPH, List.of("Paris"));
+
+        assertThat(cache.<List<String>>get(Environment.PRODUCTION, BASE_URL, ENDPOINT, null, PARAGRAPH))
+                .contains(List.of("Paris"));
+        assertThat(cache.get(Environment.PRODUCTION, BASE_URL, ENDPOINT, ContentType.IMAGE, PARAGRAPH)).isEmpty();
+        assertThat(cache.get(Environment.PRODUCTION, BASE_URL, "/api/v1/wh-quiz/generate", null, PARAGRAPH)).isEmpty();
+        assertThat(cache.get(Environment.PRODUCTION, BASE_URL, ENDPOINT, null,
+                             ParagraphSplitter.toParagraph("Another paragraph."))).isEmpty();
+        assertThat(cache.get(Environment.PRODUCTION, "http://localhost:8080/", ENDPOINT, null, PARAGRAPH)).isEmpty();
+        assertThat(cache.get(Environment.SANDBOX, BASE_URL, ENDPOINT, null, PARAGRAPH)).isEmpty();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(5);
+
+        cache.invalidateAll();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        final ParagraphCache cache = ParagraphCache.builder().maxParagraphs(1L).build();
+        cache.put(Environment.PRODUCTION, BASE_URL, ENDPOINT, null, PARAGRAPH, "first");
+        cache.put(Environment.PRODUCTION, BASE_URL, ENDPOINT, null, ParagraphSplitter.toParagraph("Another paragraph."),
+                  "second");
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThrows(IllegalArgumentException.class, () -> ParagraphCache.builder().parallelism(0).build());
+    }
+}
@@ -0,0 +1,74 @@
+package com.flexudy.education.client.service.incremental;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParagraphSplitterTest {
+
+    @Test
+    public void testSplitAtBlankLines() {
+        final List<Paragraph> paragraphs = new ParagraphSplitter(0, 100).split("  First paragraph.\nStill first.\n\n"
+                                                                              + "Second paragraph.\r\n \r\nThird.\n\n\n");
+
+        assertThat(paragraphs).extracting(Paragraph::getText)
+                              .containsExactly("First paragraph.\nStill first.", "Second paragraph.", "Third.");
+        assertThat(paragraphs).extracting(Paragraph::getHash).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void testHashIgnoresWhitespaceChanges() {
+        final ParagraphSplitter splitter = new ParagraphSplitter(0, 100);
+
+        assertThat(splitter.split("The capital of  France\nis Paris.").get(0).getHash())
+                .isEqualTo(splitter.split("The capital of France is Paris.").get(0).getHash())
+                .isNotEqualTo(splitter.split("The capital of France is Lyon.").get(0).getHash());
+    }
+
+    @Test
+    public void testShortParagraphsAreJoinedWithTheNextOne() {
+        final List<Paragraph> paragraphs = new ParagraphSplitter(20, 100).split("Title\n\nA paragraph long enough.\n\nEnd");
+
+        assertThat(paragraphs).extracting(Paragraph::getText).containsExactly("Title\n\nA paragraph long enough.", "End");
+        assertThrows(IllegalArgumentException.class, () -> new ParagraphSplitter(-1, 100));
+    }
+
+    @Test
+    public void testPackingJoinsParagraphsUpToTheMaximumSize() {
+        final ParagraphSplitter splitter = new ParagraphSplitter(0, 20_000);
+        final List<Paragraph> paragraphs = splitter.split(
+                "First paragraph.\n\nSecond paragraph.\n\nFirst paragraph.\n\nThird paragraph.");
+
+        final List<Paragraph> packs = splitter.pack(paragraphs);
+
+        assertThat(packs).extracting(Paragraph::getText)
+                         .containsExactly("First paragraph.\n\nSecond paragraph.\n\nThird paragraph.");
+        assertThat(new ParagraphSplitter(0, 20).pack(paragraphs)).extracting(Paragraph::getText)
+                .containsExactly("First paragraph.", "Second paragraph.", "Third paragraph.");
+        assertThrows(IllegalArgumentException.class, () -> new ParagraphSplitter(0, 0));
+    }
+
+    @Test
+    public void testEditOnlyChangesNearbyPacks() {
+        final ParagraphSplitter splitter = new ParagraphSplitter(0, 2000);
+        final List<String> blocks = IntStream.range(0, 200)
+                                             .mapToObj(i -> "Paragraph " + i + " about the capital of France, Paris.")
+                                             .collect(Collectors.toList());
+        final List<Paragraph> original = splitter.pack(splitter.split(String.join("\n\n", blocks)));
+        blocks.set(100, "An edited paragraph about Lyon.");
+        final List<Paragraph> edited = splitter.pack(splitter.split(String.join("\n\n", blocks)));
+
+        assertThat(original).hasSizeLessThan(blocks.size() / 10)
+                            .allSatisfy(pack -> assertThat(pack.getText().length()).isLessThanOrEqualTo(2000));
+        final List<String> changedHashes = edited.stream().map(Paragraph::getHash)
+                                                 .filter(hash -> original.stream().noneMatch(pack -> pack.getHash()
+                                                                                                         .equals(hash)))
+                                                 .collect(Collectors.toList());
+        assertThat(changedHashes).isNotEmpty().hasSizeLessThanOrEqualTo(2);
+    }
+}
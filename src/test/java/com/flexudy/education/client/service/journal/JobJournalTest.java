@@ -0,0 +1,119 @@
+package com.flexudy.education.client.service.journal;
+
+import com.flexudy.education.client.service.transport.MultipartForm;
+import com.flexudy.education.client.service.transport.TransportBodies;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JobJournalTest {
+
+    private static final String ENDPOINT = "/api/v1/summary/queue";
+    private static final Instant SUBMITTED_AT = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    private static final JournalEntry FIRST_ENTRY = new JournalEntry(ENDPOINT, "1", "abc", SUBMITTED_AT);
+    private static final JournalEntry SECOND_ENTRY = new JournalEntry(ENDPOINT, "2", "def", SUBMITTED_AT.plusSeconds(1));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testPendingEntriesSurviveReopen() throws IOException {
+        final Path path = directory.resolve("jobs.journal");
+        try (JobJournal journal = JobJournal.open(path)) {
+            journal.recordSubmitted(FIRST_ENTRY);
+            journal.recordSubmitted(SECOND_ENTRY);
+            journal.recordCompleted(ENDPOINT, "1");
+            assertThat(journal.getPendingEntries()).containsExactly(SECOND_ENTRY);
+        }
+
+        try (JobJournal journal = JobJournal.open(path)) {
+            assertThat(journal.getPendingEntries()).containsExactly(SECOND_ENTRY);
+        }
+    }
+
+    @Test
+    public void testReopenCompactsAndSkipsTornRecords() throws IOException {
+        final Path path = directory.resolve("jobs.journal");
+        try (JobJournal journal = JobJournal.builder().path(path).syncBatchSize(1).build()) {
+            journal.recordSubmitted(FIRST_ENTRY);
+            journal.recordCompleted(ENDPOINT, "1");
+            journal.recordSubmitted(SECOND_ENTRY);
+        }
+        Files.write(path, "S\t/api/v1/summary/queue\t3\tgh".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (JobJournal journal = JobJournal.open(path)) {
+            assertThat(journal.getPendingEntries()).containsExactly(SECOND_ENTRY);
+        }
+        assertThat(Files.readAllLines(path)).hasSize(1);
+    }
+
+    @Test
+    public void testReopenDropsExpiredEntries() throws IOException {
+        final Path path = directory.resolve("jobs.journal");
+        final JournalEntry expiredEntry = new JournalEntry(ENDPOINT, "3", "gh", SUBMITTED_AT.minus(Duration.ofHours(2)));
+        try (JobJournal journal = JobJournal.open(path)) {
+            journal.recordSubmitted(expiredEntry);
+            journal.recordSubmitted(FIRST_ENTRY);
+        }
+
+        try (JobJournal journal = JobJournal.builder().path(path).maxJobAge(Duration.ofHours(1)).build()) {
+            assertThat(journal.getPendingEntries()).containsExactly(FIRST_ENTRY);
+            assertThat(journal.getExpiry(FIRST_ENTRY)).isEqualTo(SUBMITTED_AT.plus(Duration.ofHours(1)));
+        }
+        assertThat(Files.readAllLines(path)).hasSize(1);
+    }
+
+    @Test
+    public void testDiscardedEntriesAreNotReplayed() throws IOException {
+        final Path path = directory.resolve("jobs.journal");
+        try (JobJournal journal = JobJournal.open(path)) {
+            journal.recordSubmitted(FIRST_ENTRY);
+            journal.recordSubmitted(SECOND_ENTRY);
+            assertThat(journal.discard("1")).isTrue();
+            assertThat(journal.discard("1")).isFalse();
+            assertThat(journal.getPendingEntries()).containsExactly(SECOND_ENTRY);
+        }
+
+        try (JobJournal journal = JobJournal.open(path)) {
+            assertThat(journal.getPendingEntries()).containsExactly(SECOND_ENTRY);
+        }
+    }
+
+    @Test
+    public void testFingerprintIgnoresRandomPartNames() {
+        final MultipartForm first = MultipartForm.builder()
+                .addFormDataPart("textContent", "The capital of France is Paris")
+                .addFormDataPart("files", "a1", TransportBodies.of(new byte[]{1, 2, 3}, null)).build();
+        final MultipartForm second = MultipartForm.builder()
+                .addFormDataPart("textContent", "The capital of France is Paris")
+                .addFormDataPart("files", "b2", TransportBodies.of(new byte[]{1, 2, 3}, null)).build();
+        final MultipartForm other = MultipartForm.builder()
+                .addFormDataPart("urls", "The capital of France is Paris")
+                .addFormDataPart("files", "b2", TransportBodies.of(new byte[]{1, 2, 3}, null)).build();
+
+        assertThat(RequestFingerprint.of(first)).isEqualTo(RequestFingerprint.of(second)).hasSize(64);
+        assertThat(RequestFingerprint.of(first)).isNotEqualTo(RequestFingerprint.of(other));
+        assertThat(RequestFingerprint.of(TransportBodies.of("{}", "application/json"))).hasSize(64);
+    }
+
+    @Test
+    public void testFingerprintOfJournaledJobsIsUnchanged() {
+        final MultipartForm body = MultipartForm.builder()
+                .addFormDataPart("contentType", "DOCUMENT")
+                .addFormDataPart("textContent", "The capital of France is Paris")
+                .addFormDataPart("files", "a1", TransportBodies.of(new byte[]{1, 2, 3}, null)).build();
+
+        assertThat(RequestFingerprint.of(body))
+                .isEqualTo("bb3be15c675ffbd3deabef19e7c6085fd64e619b496ad2bc58112ae92a593b30");
+    }
+}
@@ -0,0 +1,201 @@
+package com.flexudy.education.client.service.network;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CachingAddressResolverTest {
+
+    private static final String HOST = "gateway.flexudy.com";
+
+    private FakeTicker ticker;
+    private List<Runnable> refreshes;
+    private AtomicInteger lookups;
+    private List<InetAddress> addresses;
+
+    @BeforeEach
+    public void setUp() throws UnknownHostException {
+        this.ticker = new FakeTicker();
+        this.refreshes = new ArrayList<>();
+        this.lookups = new AtomicInteger();
+        this.addresses = List.of(address("127.0.0.1"));
+    }
+
+    @Test
+    public void testLookupIsCachedUntilExpiry() throws UnknownHostException {
+        final CachingAddressResolver resolver = newResolver(standIn());
+
+        assertThat(resolver.lookup(HOST)).isEqualTo(addresses);
+        ticker.advance(Duration.ofSeconds(40));
+        assertThat(resolver.lookup(HOST)).isEqualTo(addresses);
+        assertThat(lookups.get()).isEqualTo(1);
+
+        ticker.advance(Duration.ofSeconds(20));
+        assertThat(resolver.lookup(HOST)).isEqualTo(addresses);
+        assertThat(lookups.get()).isEqualTo(2);
+        assertThat(refreshes).isEmpty();
+    }
+
+    @Test
+    public void testLookupNearExpiryRefreshesInTheBackground() throws UnknownHostException {
+        final CachingAddressResolver resolver = newResolver(standIn());
+        resolver.lookup(HOST);
+        final List<InetAddress> refreshed = List.of(address("127.0.0.2"));
+        addresses = refreshed;
+
+        ticker.advance(Duration.ofSeconds(55));
+        assertThat(resolver.lookup(HOST)).containsExactly(address("127.0.0.1"));
+        assertThat(resolver.lookup(HOST)).containsExactly(address("127.0.0.1"));
+        assertThat(refreshes).hasSize(1);
+
+        refreshes.get(0).run();
+        assertThat(resolver.lookup(HOST)).isEqualTo(refreshed);
+        ticker.advance(Duration.ofSeconds(10));
+        assertThat(resolver.lookup(HOST)).isEqualTo(refreshed);
+        assertThat(lookups.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFailedRefreshKeepsAddressesUntilExpiry() throws UnknownHostException {
+        final CachingAddressResolver resolver = newResolver(standIn());
+        resolver.lookup(HOST);
+        addresses = null;
+
+        ticker.advance(Duration.ofSeconds(55));
+        resolver.lookup(HOST);
+        refreshes.get(0).run();
+
+        assertThat(resolver.lookup(HOST)).containsExactly(address("127.0.0.1"));
+        assertThat(refreshes).hasSize(2);
+        ticker.advance(Duration.ofSeconds(5));
+        assertThrows(UnknownHostException.class, () -> resolver.lookup(HOST));
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneLookup() throws Exception {
+        final CountDownLatch resolving = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CachingAddressResolver resolver = newResolver(hostname -> {
+            lookups.incrementAndGet();
+            resolving.countDown();
+            awaitQuietly(release);
+            return addresses;
+        });
+        final ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<List<InetAddress>>> results = new ArrayList<>();
+            results.add(callers.submit(() -> resolver.lookup(HOST)));
+            assertThat(resolving.await(10, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 3; i++) {
+                results.add(callers.submit(() -> resolver.lookup(HOST)));
+            }
+            Thread.sleep(50);
+            release.countDown();
+
+            for (Future<List<InetAddress>> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo(addresses);
+            }
+            assertThat(lookups.get()).isEqualTo(1);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvalidateForcesANewLookup() throws UnknownHostException {
+        final CachingAddressResolver resolver = newResolver(standIn());
+        resolver.lookup(HOST);
+
+        resolver.invalidate(HOST);
+        resolver.lookup(HOST);
+
+        assertThat(lookups.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testInterleaveAlternatesAddressFamilies() throws UnknownHostException {
+        final List<InetAddress> resolved = List.of(address("::1"), address("::2"), address("::3"),
+                                                   address("10.0.0.1"), address("10.0.0.2"));
+
+        assertThat(CachingAddressResolver.interleave(resolved)).containsExactly(address("::1"), address("10.0.0.1"),
+                                                                                address("::2"), address("10.0.0.2"),
+                                                                                address("::3"));
+        assertThat(CachingAddressResolver.interleave(List.of())).isEmpty();
+    }
+
+    @Test
+    public void testRefreshAheadMustBeShorterThanTtl() {
+        assertThrows(IllegalArgumentException.class, () -> CachingAddressResolver.builder()
+                                                                                 .ttl(Duration.ofSeconds(10))
+                                                                                 .refreshAhead(Duration.ofSeconds(10))
+                                                                                 .build());
+    }
+
+    @Test
+    public void testRefreshesRunOnADedicatedDaemonThread() throws Exception {
+        final CompletableFuture<Thread> refreshThread = new CompletableFuture<>();
+        CachingAddressResolver.REFRESH_EXECUTOR.execute(() -> refreshThread.complete(Thread.currentThread()));
+
+        final Thread thread = refreshThread.get(10, TimeUnit.SECONDS);
+        assertThat(thread.getName()).isEqualTo("flexudy-dns-refresh");
+        assertThat(thread.isDaemon()).isTrue();
+    }
+
+    private CachingAddressResolver newResolver(AddressResolver resolver) {
+        return new CachingAddressResolver(resolver, Duration.ofSeconds(60), Duration.ofSeconds(10), true, ticker,
+                                          refreshes::add);
+    }
+
+    private AddressResolver standIn() {
+        return hostname -> {
+            lookups.incrementAndGet();
+            if (addresses == null) {
+                throw new UnknownHostException(hostname);
+            }
+            return addresses;
+        };
+    }
+
+    private static InetAddress address(String literal) throws UnknownHostException {
+        return InetAddress.getByName(literal);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class FakeTicker extends Ticker {
+
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+
+        private void advance(Duration duration) {
+            nanos.addAndGet(duration.toNanos());
+        }
+    }
+}
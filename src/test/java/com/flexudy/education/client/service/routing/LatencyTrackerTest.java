@@ -0,0 +1,48 @@
+package com.flexudy.education.client.service.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LatencyTrackerTest {
+
+    private static final String ENDPOINT = "/api/v1/summary/generate";
+
+    @Test
+    public void testEstimateScalesWithInputSize() {
+        final LatencyTracker tracker = new LatencyTracker();
+        assertThat(tracker.estimate(ENDPOINT, 1024)).isEmpty();
+
+        tracker.record(ENDPOINT, 10 * 1024, Duration.ofMillis(100));
+
+        assertThat(tracker.estimate(ENDPOINT, 10 * 1024)).contains(Duration.ofMillis(100));
+        assertThat(tracker.estimate(ENDPOINT, 20 * 1024)).contains(Duration.ofMillis(200));
+        assertThat(tracker.estimate("/api/v1/wh-quiz/generate", 1024)).isEmpty();
+    }
+
+    @Test
+    public void testEstimateIsSmoothed() {
+        final LatencyTracker tracker = new LatencyTracker();
+        tracker.record(ENDPOINT, 1024, Duration.ofMillis(100));
+        tracker.record(ENDPOINT, 1024, Duration.ofMillis(600));
+
+        assertThat(tracker.estimate(ENDPOINT, 1024)).contains(Duration.ofMillis(200));
+        assertThat(tracker.getSampleCount(ENDPOINT)).isEqualTo(2);
+    }
+
+    @Test
+    public void testPercentileOverTheRecentWindow() {
+        final LatencyTracker tracker = new LatencyTracker();
+        for (int i = 1; i <= LatencyTracker.WINDOW_SIZE + 100; i++) {
+            tracker.record(ENDPOINT, 1024, Duration.ofMillis(i));
+        }
+
+        assertThat(tracker.getPercentile(ENDPOINT, 100)).contains(Duration.ofMillis(LatencyTracker.WINDOW_SIZE + 100));
+        assertThat(tracker.getPercentile(ENDPOINT, 1)).contains(Duration.ofMillis(102));
+        assertThat(tracker.getPercentile("/unknown", 50)).isEmpty();
+        assertThrows(IllegalArgumentException.class, () -> tracker.getPercentile(ENDPOINT, 0));
+    }
+}
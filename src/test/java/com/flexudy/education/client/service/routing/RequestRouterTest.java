@@ -0,0 +1,43 @@
+package com.flexudy.education.client.service.routing;
+
+import com.flexudy.education.client.data.common.CommonRequestData.SimpleCommonRequestData;
+import com.flexudy.education.client.data.common.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestRouterTest {
+
+    private static final String ENDPOINT = "/api/v1/cloze-quiz/generate";
+
+    private final LatencyTracker tracker = new LatencyTracker();
+    private final RequestRouter router = new RequestRouter(RoutingConfig.builder().latencyBudget(Duration.ofSeconds(1))
+                                                                        .maxSyncInputBytes(4096L).urlWeightBytes(100L)
+                                                                        .build(), tracker);
+
+    @Test
+    public void testWeigh() {
+        assertThat(router.weigh(SimpleCommonRequestData.builder().textContent("abcd").build(), 10)).isEqualTo(14);
+        assertThat(router.weigh(SimpleCommonRequestData.builder().contentUrls(List.of("https://a.com", "https://b.com"))
+                                                       .build(), 0)).isEqualTo(200);
+        assertThat(router.weigh(SimpleCommonRequestData.builder().contentType(ContentType.IMAGE).build(), 10))
+                .isEqualTo(10L * RoutingConfig.DEFAULT_IMAGE_WEIGHT_FACTOR);
+    }
+
+    @Test
+    public void testChooseByInputSize() {
+        assertThat(router.choose(ENDPOINT, 4096)).isEqualTo(RequestRoute.SYNC);
+        assertThat(router.choose(ENDPOINT, 4097)).isEqualTo(RequestRoute.QUEUED);
+    }
+
+    @Test
+    public void testChooseByObservedLatency() {
+        tracker.record(ENDPOINT, 1024, Duration.ofMillis(500));
+
+        assertThat(router.choose(ENDPOINT, 1024)).isEqualTo(RequestRoute.SYNC);
+        assertThat(router.choose(ENDPOINT, 3 * 1024)).isEqualTo(RequestRoute.QUEUED);
+    }
+}
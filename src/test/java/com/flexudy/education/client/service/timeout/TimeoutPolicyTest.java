@@ -0,0 +1,70 @@
+package com.flexudy.education.client.service.timeout;
+
+import com.flexudy.education.client.service.transport.CallTimeouts;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TimeoutPolicyTest {
+
+    private static final String ENDPOINT = "/api/v1/summary/generate";
+    private static final Duration MAX_WRITE_TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration MAX_READ_TIMEOUT = Duration.ofMinutes(2);
+
+    private final TimeoutPolicy policy = new TimeoutPolicy(AdaptiveTimeoutConfig.builder()
+                                                                                .minTimeout(Duration.ofSeconds(1))
+                                                                                .minSamples(3)
+                                                                                .assumedThroughputBytesPerSecond(1024L)
+                                                                                .build(),
+                                                           MAX_WRITE_TIMEOUT, MAX_READ_TIMEOUT);
+
+    @Test
+    public void testStaticTimeoutsApplyUntilEnoughLatenciesAreObserved() {
+        policy.record(ENDPOINT, 1024, Duration.ofMillis(500));
+
+        final CallTimeouts timeouts = policy.timeoutsFor(ENDPOINT, -1);
+
+        assertThat(timeouts.getWriteTimeout()).isEqualTo(MAX_WRITE_TIMEOUT);
+        assertThat(timeouts.getReadTimeout()).isEqualTo(MAX_READ_TIMEOUT);
+    }
+
+    @Test
+    public void testReadTimeoutFollowsTheLatencyPercentile() {
+        for (int i = 0; i < 3; i++) {
+            policy.record(ENDPOINT, 1024, Duration.ofSeconds(3));
+        }
+
+        assertThat(policy.timeoutsFor(ENDPOINT, 0).getReadTimeout())
+                .isEqualTo(Duration.ofSeconds(3).multipliedBy((long) AdaptiveTimeoutConfig.DEFAULT_SAFETY_FACTOR));
+        for (int i = 0; i < 3; i++) {
+            policy.record("/fast", 1024, Duration.ofMillis(10));
+            policy.record("/slow", 1024, Duration.ofMinutes(5));
+        }
+        assertThat(policy.timeoutsFor("/fast", 0).getReadTimeout()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(policy.timeoutsFor("/slow", 0).getReadTimeout()).isEqualTo(MAX_READ_TIMEOUT);
+    }
+
+    @Test
+    public void testWriteTimeoutScalesWithUploadSizeAndThroughput() {
+        assertThat(policy.timeoutsFor(ENDPOINT, 0).getWriteTimeout()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(policy.timeoutsFor(ENDPOINT, 10 * 1024).getWriteTimeout()).isEqualTo(Duration.ofSeconds(21));
+        assertThat(policy.timeoutsFor(ENDPOINT, 1024 * 1024).getWriteTimeout()).isEqualTo(MAX_WRITE_TIMEOUT);
+
+        policy.record(ENDPOINT, TimeoutPolicy.MIN_THROUGHPUT_SAMPLE_BYTES * 100, Duration.ofSeconds(1));
+
+        assertThat(policy.getBytesPerSecond()).isGreaterThan(1024);
+        assertThat(policy.timeoutsFor(ENDPOINT, 1024 * 1024).getWriteTimeout()).isLessThan(MAX_WRITE_TIMEOUT);
+    }
+
+    @Test
+    public void testSmallUploadsDoNotLowerTheThroughput() {
+        policy.record(ENDPOINT, 1024, Duration.ofSeconds(10));
+
+        assertThat(policy.getBytesPerSecond()).isEqualTo(1024);
+        assertThrows(IllegalArgumentException.class, () -> new TimeoutPolicy(AdaptiveTimeoutConfig.builder()
+                .safetyFactor(0.5).build(), MAX_WRITE_TIMEOUT, MAX_READ_TIMEOUT));
+    }
+}
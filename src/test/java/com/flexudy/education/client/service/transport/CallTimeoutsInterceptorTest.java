@@ -0,0 +1,56 @@
+package com.flexudy.education.client.service.transport;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CallTimeoutsInterceptorTest {
+
+    private MockWebServer server;
+    private OkHttpClient client;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.server = new MockWebServer();
+        this.server.start();
+        this.client = new OkHttpClient.Builder().readTimeout(5, TimeUnit.SECONDS)
+                                                .addInterceptor(new CallTimeoutsInterceptor()).build();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testCallReadTimeoutReplacesTheClientTimeout() {
+        server.enqueue(new MockResponse().setHeadersDelay(1, TimeUnit.SECONDS).setBody("[]"));
+        final TransportRequest request = CallTimeouts.apply(
+                TransportRequest.builder().method(TransportRequest.GET).url(server.url("/generate").uri()).build(),
+                new CallTimeouts(Duration.ofSeconds(1), Duration.ofMillis(100)));
+
+        assertThrows(SocketTimeoutException.class, () -> new OkHttpTransport(client).execute(request));
+    }
+
+    @Test
+    public void testRequestsWithoutCallTimeoutsKeepTheClientTimeouts() throws IOException {
+        server.enqueue(new MockResponse().setHeadersDelay(200, TimeUnit.MILLISECONDS).setBody("[]"));
+
+        try (Response response = client.newCall(new Request.Builder().url(server.url("/generate")).build()).execute()) {
+            assertThat(response.body().string()).isEqualTo("[]");
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.flexudy.education.client.service.transport;
+
+import com.flexudy.education.client.service.HttpClientConfig;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JdkHttpTransportTest {
+
+    private static final String TEXT_CONTENT = StringUtils.repeat("The capital of France is Paris. ", 8000);
+    private static final String TEXT_MEDIA_TYPE = "text/plain";
+
+    private MockWebServer server;
+    private JdkHttpTransport transport;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.server = new MockWebServer();
+        this.server.start();
+        this.transport = new JdkHttpTransport(HttpClientConfig.builder().connectTimeoutSeconds(5L)
+                                                              .writeTimeoutSeconds(0L).readTimeoutSeconds(5L).build());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        transport.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void testExecuteStreamsMultipartBody() throws IOException, InterruptedException {
+        server.enqueue(new MockResponse().setResponseCode(201).setHeader("Retry-After", "3").setBody("[]"));
+        final MultipartForm body = MultipartForm.builder().addFormDataPart("textContent", TEXT_CONTENT).build();
+
+        try (TransportResponse response = transport.execute(request("/generate").method(TransportRequest.POST)
+                                                                                .headers(Map.of("licenseKey", "abc"))
+                                                                                .body(body).build())) {
+            assertThat(response.getStatusCode()).isEqualTo(201);
+            assertThat(response.isSuccessful()).isTrue();
+            assertThat(response.getHeader("Retry-After")).isEqualTo("3");
+            assertThat(response.getBodyAsString()).isEqualTo("[]");
+        }
+
+        final RecordedRequest recordedRequest = server.takeRequest();
+        assertThat(recordedRequest.getMethod()).isEqualTo("POST");
+        assertThat(recordedRequest.getHeader("licenseKey")).isEqualTo("abc");
+        assertThat(recordedRequest.getHeader("Content-Type")).startsWith("multipart/form-data; boundary=");
+        assertThat(recordedRequest.getBodySize()).isEqualTo(body.getContentLength());
+        assertThat(recordedRequest.getBody().readUtf8()).contains(TEXT_CONTENT);
+    }
+
+    @Test
+    public void testExecuteStreamsBodyOfUnknownLength() throws IOException, InterruptedException {
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        try (TransportResponse response = transport.execute(request("/generate").method(TransportRequest.POST)
+                                                                                .body(new StreamingBody(false))
+                                                                                .build())) {
+            assertThat(response.getStatusCode()).isEqualTo(200);
+        }
+
+        assertThat(server.takeRequest().getBody().readUtf8()).isEqualTo(TEXT_CONTENT);
+    }
+
+    @Test
+    public void testExecuteFailsWhenTheBodyCannotBeWritten() {
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        assertThrows(IOException.class, () -> transport.execute(request("/generate").method(TransportRequest.POST)
+                                                                                    .body(new StreamingBody(true))
+                                                                                    .build()));
+    }
+
+    @Test
+    public void testStreamedUploadsAreBounded() throws Exception {
+        final JdkHttpTransport boundedTransport = new JdkHttpTransport(HttpClientConfig.builder().build(), 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        try {
+            final StreamingBody blockedBody = new StreamingBody(false, release);
+            final CompletableFuture<TransportResponse> first = boundedTransport.executeAsync(
+                    request("/generate").method(TransportRequest.POST).body(blockedBody).build());
+            assertThat(blockedBody.writing.await(1, MINUTES)).isTrue();
+            assertThrows(IOException.class, () -> boundedTransport.execute(request("/generate")
+                                                                                   .method(TransportRequest.POST)
+                                                                                   .body(new StreamingBody(false))
+                                                                                   .build()));
+
+            release.countDown();
+            try (TransportResponse response = first.get(1, MINUTES)) {
+                assertThat(response.getStatusCode()).isEqualTo(200);
+                assertThat(response.getBodyAsString()).isEqualTo("{}");
+            }
+        } finally {
+            boundedTransport.close();
+        }
+    }
+
+    @Test
+    public void testExecuteAsync() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        try (TransportResponse response = transport.executeAsync(request("/results").build()).get(1, MINUTES)) {
+            assertThat(response.getStatusCode()).isEqualTo(404);
+            assertThat(response.isSuccessful()).isFalse();
+        }
+        assertThat(server.takeRequest().getMethod()).isEqualTo("GET");
+    }
+
+    @Test
+    public void testTimeoutIsReportedAsInterruptedIOException() {
+        final JdkHttpTransport slowTransport = new JdkHttpTransport(HttpClientConfig.builder().writeTimeoutSeconds(0L)
+                                                                                    .readTimeoutSeconds(1L).build());
+        server.enqueue(new MockResponse().setHeadersDelay(3, TimeUnit.SECONDS).setBody("{}"));
+
+        try {
+            assertThrows(InterruptedIOException.class, () -> slowTransport.execute(request("/results").build()));
+        } finally {
+            slowTransport.close();
+        }
+    }
+
+    private TransportRequest.TransportRequestBuilder request(String path) {
+        return TransportRequest.builder().method(TransportRequest.GET).url(server.url(path).uri());
+    }
+
+    private static final class StreamingBody implements TransportBody {
+
+        private final boolean failing;
+        private final CountDownLatch resume;
+        private final CountDownLatch writing = new CountDownLatch(1);
+
+        private StreamingBody(boolean failing) {
+            this(failing, new CountDownLatch(0));
+        }
+
+        private StreamingBody(boolean failing, CountDownLatch resume) {
+            this.failing = failing;
+            this.resume = resume;
+        }
+
+        @Override
+        public String getContentType() {
+            return TEXT_MEDIA_TYPE;
+        }
+
+        @Override
+        public long getContentLength() {
+            return UNKNOWN_LENGTH;
+        }
+
+        @Override
+        public void writeTo(WritableByteChannel channel) throws IOException {
+            writing.countDown();
+            final byte[] content = TEXT_CONTENT.getBytes(UTF_8);
+            TransportBodies.writeFully(channel, ByteBuffer.wrap(content, 0, content.length / 2));
+            if (failing) {
+                throw new IOException("The source is no longer readable");
+            }
+            try {
+                resume.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while writing the request body");
+            }
+            TransportBodies.writeFully(channel, ByteBuffer.wrap(content, content.length / 2,
+                                                                content.length - content.length / 2));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.flexudy.education.client.service.transport;
+
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MultipartFormTest {
+
+    @Test
+    public void testContentLengthMatchesTheWrittenBytes() throws IOException {
+        final MultipartForm form = MultipartForm.builder().addFormDataPart("contentType", "DOCUMENT")
+                                                .addFormDataPart("files", "a1", TransportBodies.of(new byte[100], null))
+                                                .build();
+        final Buffer buffer = new Buffer();
+
+        form.writeTo(buffer);
+
+        assertThat(buffer.size()).isEqualTo(form.getContentLength());
+        assertThat(form.getContentType()).isEqualTo("multipart/form-data; boundary=" + form.getBoundary());
+    }
+
+    @Test
+    public void testContentLengthIsUnknownWithAPartOfUnknownLength() {
+        final MultipartForm form = MultipartForm.builder().addFormDataPart("files", "a1", new TransportBody() {
+            @Override
+            public String getContentType() {
+                return null;
+            }
+
+            @Override
+            public long getContentLength() {
+                return UNKNOWN_LENGTH;
+            }
+
+            @Override
+            public void writeTo(WritableByteChannel channel) {
+            }
+        }).build();
+
+        assertThat(form.getContentLength()).isEqualTo(TransportBody.UNKNOWN_LENGTH);
+    }
+
+    @Test
+    public void testNamesAreQuoted() {
+        final MultipartForm.Part part = MultipartForm.Part.formData("files", "a\"b\r\n", TransportBodies.of("", null));
+
+        assertThat(part.getContentDisposition()).isEqualTo("form-data; name=\"files\"; filename=\"a%22b%0D%0A\"");
+    }
+
+    @Test
+    public void testEachFormHasItsOwnBoundary() {
+        final MultipartForm.Part part = MultipartForm.Part.formData("contentType", "DOCUMENT");
+
+        assertThat(MultipartForm.builder().addPart(part).build().getBoundary())
+                .isNotEqualTo(MultipartForm.builder().addPart(part).build().getBoundary());
+    }
+
+    @Test
+    public void testBuildWithoutParts() {
+        assertThrows(IllegalStateException.class, () -> MultipartForm.builder().build());
+    }
+}
@@ -0,0 +1,147 @@
+package com.flexudy.education.client.service.transport;
+
+import com.flexudy.education.client.service.HttpClientConfig;
+import com.flexudy.education.client.service.network.AddressResolver;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.flexudy.education.client.service.HttpClientConfig.DEFAULT_CONNECT_TIMEOUT_SECONDS;
+import static com.flexudy.education.client.service.HttpClientConfig.DEFAULT_READ_TIMEOUT_SECONDS;
+import static com.flexudy.education.client.service.HttpClientConfig.DEFAULT_WRITE_TIMEOUT_SECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OkHttpTransportTest {
+
+    private MockWebServer server;
+    private OkHttpTransport transport;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.server = new MockWebServer();
+        this.server.start();
+        this.transport = new OkHttpTransport(HttpClientConfig.builder().build(), AddressResolver.SYSTEM);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        transport.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void testCreateHttpClient() {
+        final OkHttpClient httpClient = transport.getClient();
+
+        assertThat(httpClient.connectTimeoutMillis()).isEqualTo(SECONDS.toMillis(DEFAULT_CONNECT_TIMEOUT_SECONDS));
+        assertThat(httpClient.readTimeoutMillis()).isEqualTo(SECONDS.toMillis(DEFAULT_READ_TIMEOUT_SECONDS));
+        assertThat(httpClient.writeTimeoutMillis()).isEqualTo(SECONDS.toMillis(DEFAULT_WRITE_TIMEOUT_SECONDS));
+    }
+
+    @Test
+    public void testExecuteResolvesThroughGivenAddressResolver() throws IOException {
+        server.enqueue(new MockResponse().setBody("[]"));
+        final List<String> lookups = new ArrayList<>();
+        final AddressResolver standIn = hostname -> {
+            lookups.add(hostname);
+            return List.of(InetAddress.getLoopbackAddress());
+        };
+        final TransportRequest request = TransportRequest.builder().method(TransportRequest.GET)
+                                                         .url(URI.create("http://gateway.flexudy.test:"
+                                                                         + server.getPort() + "/"))
+                                                         .build();
+
+        try (OkHttpTransport standInTransport = new OkHttpTransport(HttpClientConfig.builder().build(), standIn);
+             TransportResponse response = standInTransport.execute(request)) {
+            assertThat(response.getStatusCode()).isEqualTo(200);
+        }
+        assertThat(lookups).containsExactly("gateway.flexudy.test");
+    }
+
+    @Test
+    public void testExecuteSendsMultipartForm() throws IOException, InterruptedException {
+        server.enqueue(new MockResponse().setResponseCode(201).setHeader("Retry-After", "3").setBody("[]"));
+        final MultipartForm body = MultipartForm.builder().boundary("b0undary")
+                                                .addFormDataPart("textContent", "The capital of France is Paris")
+                                                .addFormDataPart("files", "a1", TransportBodies.of(new byte[]{'x'},
+                                                                                                   "text/plain"))
+                                                .build();
+
+        try (TransportResponse response = transport.execute(TransportRequest.builder().method(TransportRequest.POST)
+                                                                            .url(server.url("/generate").uri())
+                                                                            .headers(Map.of("licenseKey", "abc"))
+                                                                            .body(body).build())) {
+            assertThat(response.getStatusCode()).isEqualTo(201);
+            assertThat(response.getHeader("Retry-After")).isEqualTo("3");
+            assertThat(response.getBodyAsString()).isEqualTo("[]");
+        }
+
+        final RecordedRequest recordedRequest = server.takeRequest();
+        assertThat(recordedRequest.getMethod()).isEqualTo("POST");
+        assertThat(recordedRequest.getHeader("licenseKey")).isEqualTo("abc");
+        assertThat(recordedRequest.getHeader("Content-Type")).isEqualTo("multipart/form-data; boundary=b0undary");
+        assertThat(recordedRequest.getBodySize()).isEqualTo(body.getContentLength());
+        assertThat(recordedRequest.getBody().readUtf8()).isEqualTo("--b0undary\r\n"
+                + "Content-Disposition: form-data; name=\"textContent\"\r\n"
+                + "Content-Length: 30\r\n\r\n"
+                + "The capital of France is Paris\r\n"
+                + "--b0undary\r\n"
+                + "Content-Disposition: form-data; name=\"files\"; filename=\"a1\"\r\n"
+                + "Content-Type: text/plain\r\n"
+                + "Content-Length: 1\r\n\r\n"
+                + "x\r\n"
+                + "--b0undary--\r\n");
+    }
+
+    @Test
+    public void testExecuteAsync() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        try (TransportResponse response = transport.executeAsync(TransportRequest.builder()
+                                                                                 .method(TransportRequest.GET)
+                                                                                 .url(server.url("/results").uri())
+                                                                                 .build()).get(1, MINUTES)) {
+            assertThat(response.getStatusCode()).isEqualTo(404);
+        }
+        assertThat(server.takeRequest().getMethod()).isEqualTo("GET");
+    }
+
+    @Test
+    public void testRequestTimeoutBoundsTheCall() {
+        server.enqueue(new MockResponse().setHeadersDelay(3, TimeUnit.SECONDS).setBody("{}"));
+        final TransportRequest request = RequestTimeout.apply(TransportRequest.builder().method(TransportRequest.GET)
+                                                                              .url(server.url("/results").uri())
+                                                                              .build(),
+                                                              Duration.ofMillis(200));
+
+        assertThrows(InterruptedIOException.class, () -> transport.execute(request));
+    }
+
+    @Test
+    public void testExecuteAfterCloseFails() {
+        transport.close();
+
+        assertThrows(IOException.class, () -> transport.execute(TransportRequest.builder()
+                                                                                .method(TransportRequest.GET)
+                                                                                .url(server.url("/results").uri())
+                                                                                .build()));
+        assertThat(server.getRequestCount()).isZero();
+    }
+}